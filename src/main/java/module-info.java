@@ -5,6 +5,11 @@
     exports org.spongepowered.plugin.metadata.builtin.adapter;
     exports org.spongepowered.plugin.metadata.builtin.adapter.model;
     exports org.spongepowered.plugin.metadata.builtin.adapter.version;
+    exports org.spongepowered.plugin.metadata.graph;
+    exports org.spongepowered.plugin.metadata.resolution;
+    exports org.spongepowered.plugin.metadata.registry;
+    exports org.spongepowered.plugin.metadata.verification;
+    exports org.spongepowered.plugin.metadata.reload;
 
     requires transitive com.google.gson;
     requires static transitive org.checkerframework.checker.qual;
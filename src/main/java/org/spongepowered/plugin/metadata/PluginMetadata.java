@@ -134,6 +134,18 @@ public interface PluginMetadata {
      */
     <T> Optional<T> property(String key);
 
+    /**
+     * Gets the {@link T property} by {@link PropertyKey key}, converted with the codec of the key.
+     *
+     * @param key The key
+     * @param <T> The type
+     * @return The property or {@link Optional#empty()} otherwise.
+     * @throws IllegalArgumentException if the property cannot be converted
+     */
+    default <T> Optional<T> property(final PropertyKey<T> key) {
+        return this.<Object>property(key.name()).map(key::decode);
+    }
+
     /**
      * @return The properties as an unmodifiable {@link Map}.
      */
@@ -0,0 +1,170 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * A typed handle to a {@link PluginMetadata#properties() property}, converting the stored value with a codec.
+ * <p>
+ * Property values are stored as whatever was given to the builder, which for parsed metadata is the {@link String}
+ * from the file. Looking a property up through a key converts that value once per metadata instance, subsequent
+ * lookups return the converted value without converting or allocating again. Keys are compared by identity, so they
+ * are intended to be created once and kept in constants; metadata only remembers the conversions of its first few
+ * keys, and converts again on every lookup through any further key.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @param <T> The type
+ */
+public final class PropertyKey<T> {
+    private final String name;
+    private final Class<T> type;
+    private final Function<Object, ? extends T> codec;
+
+    private PropertyKey(final String name, final Class<T> type, final Function<Object, ? extends T> codec) {
+        this.name = name;
+        this.type = type;
+        this.codec = codec;
+    }
+
+    /**
+     * Creates a key.
+     *
+     * @param name The property name
+     * @param type The type
+     * @param codec The conversion from a stored value, throwing if the value cannot be converted
+     * @param <T> The type
+     * @return The key
+     */
+    public static <T> PropertyKey<T> of(final String name, final Class<T> type, final Function<Object, ? extends T> codec) {
+        return new PropertyKey<>(Objects.requireNonNull(name, "name"), Objects.requireNonNull(type, "type"),
+                Objects.requireNonNull(codec, "codec"));
+    }
+
+    public static PropertyKey<String> string(final String name) {
+        return PropertyKey.of(name, String.class, Object::toString);
+    }
+
+    public static PropertyKey<Integer> integer(final String name) {
+        return PropertyKey.of(name, Integer.class, value -> value instanceof Number number
+                ? number.intValue() : Integer.parseInt(value.toString().trim()));
+    }
+
+    public static PropertyKey<Long> longInteger(final String name) {
+        return PropertyKey.of(name, Long.class, value -> value instanceof Number number
+                ? number.longValue() : Long.parseLong(value.toString().trim()));
+    }
+
+    public static PropertyKey<Double> decimal(final String name) {
+        return PropertyKey.of(name, Double.class, value -> value instanceof Number number
+                ? number.doubleValue() : Double.parseDouble(value.toString().trim()));
+    }
+
+    public static PropertyKey<Boolean> bool(final String name) {
+        return PropertyKey.of(name, Boolean.class, value -> {
+            if (value instanceof Boolean bool) {
+                return bool;
+            }
+            final String string = value.toString().trim();
+            if (string.equalsIgnoreCase("true")) {
+                return true;
+            }
+            if (string.equalsIgnoreCase("false")) {
+                return false;
+            }
+            throw new IllegalArgumentException(String.format("'%s' is not a boolean", string));
+        });
+    }
+
+    /**
+     * Creates a key for a list of strings, stored either as a {@link List} or as a comma separated {@link String}.
+     *
+     * @param name The property name
+     * @return The key
+     */
+    @SuppressWarnings("unchecked")
+    public static PropertyKey<List<String>> list(final String name) {
+        return PropertyKey.of(name, (Class<List<String>>) (Class<?>) List.class, value -> {
+            if (value instanceof List<?> list) {
+                return list.stream().map(Object::toString).toList();
+            }
+            final String string = value.toString().trim();
+            if (string.isEmpty()) {
+                return List.of();
+            }
+            final List<String> elements = new ArrayList<>();
+            for (final String element : string.split(",")) {
+                elements.add(element.trim());
+            }
+            return List.copyOf(elements);
+        });
+    }
+
+    /**
+     * @return The property name
+     */
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * @return The type
+     */
+    public Class<T> type() {
+        return this.type;
+    }
+
+    /**
+     * Converts a stored value.
+     *
+     * @param value The stored value
+     * @return The converted value
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    public T decode(final Object value) {
+        Objects.requireNonNull(value, "value");
+        final T decoded;
+        try {
+            decoded = this.codec.apply(value);
+        } catch (final RuntimeException e) {
+            throw new IllegalArgumentException(String.format("Property '%s' value '%s' is not a valid %s", this.name, value,
+                    this.type.getSimpleName()), e);
+        }
+        return this.type.cast(Objects.requireNonNull(decoded, "decoded"));
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", PropertyKey.class.getSimpleName() + "[", "]")
+                .add("name=" + this.name)
+                .add("type=" + this.type.getSimpleName())
+                .toString();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Reads a catalog by splitting it into byte ranges ending at line boundaries, which are read in parallel.
+ * <p>
+ * Each line of a catalog holds a JSON object, either a whole container, recognized by its {@code plugins} member, or
+ * a single plugin. Blank lines are ignored. A context that is tolerant skips the invalid plugin entries of container
+ * records, and the invalid single plugin records, which are {@link ParseContext#reject(int, String, RuntimeException)
+ * rejected} as the first entry of their record. Any other invalid line fails the read with a {@link JsonParseException}
+ * locating it.
+ */
+final class CatalogReader {
+    private static final int MIN_CHUNK = 64 * 1024;
+
+    private final Path path;
+    private final Gson gson;
+    private final ParseContext context;
+
+    private CatalogReader(final Path path, final Gson gson, final ParseContext context) {
+        this.path = path;
+        this.gson = gson;
+        this.context = context;
+    }
+
+    static List<MetadataContainer> read(final Path path, final Gson gson, final ParseContext context, final ForkJoinPool pool) throws IOException {
+        final CatalogReader reader = new CatalogReader(path, gson, context);
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long[] bounds = CatalogReader.split(channel, pool.getParallelism() * 4);
+            final List<List<MetadataContainer>> chunks = pool.submit(() -> IntStream.range(0, bounds.length - 1).parallel()
+                    .mapToObj(i -> reader.chunk(channel, bounds[i], bounds[i + 1]))
+                    .toList()).join();
+            final List<MetadataContainer> containers = new ArrayList<>();
+            chunks.forEach(containers::addAll);
+            return containers;
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Splits a file into about the given number of ranges, moving each boundary past the end of the line it falls in.
+     */
+    private static long[] split(final FileChannel channel, final int count) throws IOException {
+        final long size = channel.size();
+        final long target = Math.max(CatalogReader.MIN_CHUNK, size / Math.max(1, count) + 1);
+        final List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = target;
+        while (position < size) {
+            long end = -1;
+            search:
+            while (position < size) {
+                buffer.clear();
+                final int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        end = position + i + 1;
+                        break search;
+                    }
+                }
+                position += read;
+            }
+            if (end < 0 || end >= size) {
+                break;
+            }
+            bounds.add(end);
+            position = end + target;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private List<MetadataContainer> chunk(final FileChannel channel, final long start, final long end) {
+        final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException(String.format("'%s' was truncated while being read", this.path));
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final byte[] bytes = buffer.array();
+        final List<MetadataContainer> containers = new ArrayList<>();
+        final ParseContext.Scope previous = this.context.enter(this.path);
+        try {
+            int lineStart = 0;
+            // UTF-8 byte order mark
+            if (start == 0 && bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+                lineStart = 3;
+            }
+            while (lineStart < bytes.length) {
+                int lineEnd = lineStart;
+                while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                    lineEnd++;
+                }
+                final String line = new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+                if (!line.isBlank()) {
+                    try {
+                        final @Nullable MetadataContainer record = this.record(line);
+                        if (record != null) {
+                            containers.add(record);
+                        }
+                    } catch (final RuntimeException e) {
+                        throw new JsonParseException(String.format("Invalid record at byte %d of '%s'", start + lineStart, this.path), e);
+                    }
+                }
+                lineStart = lineEnd + 1;
+            }
+        } finally {
+            ParseContext.exit(previous);
+        }
+        return containers;
+    }
+
+    private @Nullable MetadataContainer record(final String line) {
+        final JsonElement element;
+        try (final JsonReader reader = this.context.limits().isUnlimited() ? new JsonReader(new StringReader(line))
+                : new LimitedJsonReader(new StringReader(line), this.context.limits())) {
+            element = JsonParser.parseReader(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonParseException("Expected a single JSON object on the line");
+            }
+        } catch (final IOException e) {
+            throw new JsonParseException(e);
+        }
+        if (!(element instanceof JsonObject object)) {
+            throw new JsonParseException("Expected a JSON object");
+        }
+        if (object.has("plugins")) {
+            return this.gson.fromJson(object, MetadataContainer.class);
+        }
+        final @Nullable StandardPluginMetadata plugin = this.context.readPlugin(0, object,
+                v -> this.gson.fromJson(v, StandardPluginMetadata.Builder.class).build());
+        return plugin == null ? null : new MetadataContainer(InheritableMetadata.none(), List.of(plugin));
+    }
+}
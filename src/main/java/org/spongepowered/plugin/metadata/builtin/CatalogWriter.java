@@ -0,0 +1,100 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Writes a catalog, one record per line as they are given, which {@link MetadataParser#readCatalog(java.nio.file.Path,
+ * java.util.concurrent.ForkJoinPool)} reads back.
+ * <p>
+ * Records are written as compact JSON, in which line breaks only appear escaped, so every record takes a single
+ * line. Appending records to an existing catalog is done by giving a writer positioned at its end.
+ * <p>
+ * This class is thread-safe, records written concurrently never interleave.
+ */
+public final class CatalogWriter implements Closeable, Flushable {
+    private final Writer writer;
+    private final Gson gson;
+
+    CatalogWriter(final Writer writer, final Gson gson) {
+        this.writer = writer;
+        this.gson = gson;
+    }
+
+    /**
+     * Writes a record holding a whole container.
+     *
+     * @param container The container
+     * @throws IOException If the record fails to be written
+     */
+    public synchronized void write(final MetadataContainer container) throws IOException {
+        this.record(Objects.requireNonNull(container, "container"), MetadataContainer.class);
+    }
+
+    /**
+     * Writes a record holding a single plugin. The {@link StandardPluginMetadata#global() global} metadata of the plugin
+     * is written as part of it, so the record stands on its own.
+     *
+     * @param plugin The plugin
+     * @throws IOException If the record fails to be written
+     */
+    public synchronized void write(final StandardPluginMetadata plugin) throws IOException {
+        Objects.requireNonNull(plugin, "plugin");
+        final StandardPluginMetadata standalone = plugin.toBuilder()
+                .global(InheritableMetadata.none())
+                .override(plugin.global().with(plugin.override()))
+                .build();
+        this.record(standalone, StandardPluginMetadata.class);
+    }
+
+    private void record(final Object value, final Class<?> type) throws IOException {
+        // Serialized before anything is written, so that a failing record leaves no partial line behind
+        final StringWriter line = new StringWriter();
+        final JsonWriter json = new JsonWriter(line);
+        json.setIndent("");
+        this.gson.toJson(value, type, json);
+        line.write('\n');
+        this.writer.write(line.toString());
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.writer.close();
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.reflect.TypeToken;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.spongepowered.plugin.metadata.PropertyKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link InheritableMetadata#properties() property} value kept as the JSON it was read from.
+ * <p>
+ * Scalar properties, strings as well as numbers and booleans, are read as a {@link String} as they always were. Nested
+ * objects and arrays are kept as read instead of being flattened to a {@link String}. They are only decoded into a
+ * typed value when asked for and are written back exactly as they were read. The {@link #toString() string form} of a
+ * property is its JSON text, so keys converting from a string, such as {@link PropertyKey#integer(String)}, work with
+ * these values as well. JSON arrays of strings are decoded element by element by {@link #list(String)}.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class JsonProperty {
+    private final JsonElement element;
+    private volatile @MonotonicNonNull String json;
+
+    private JsonProperty(final JsonElement element) {
+        this.element = element;
+    }
+
+    /**
+     * Wraps an element without copying it, the element must not be modified afterwards.
+     *
+     * @param element The element
+     * @return The property
+     */
+    public static JsonProperty of(final JsonElement element) {
+        return new JsonProperty(Objects.requireNonNull(element, "element"));
+    }
+
+    /**
+     * Creates a {@link PropertyKey key} decoding with the {@link MetadataParser#gson() default deserializer}.
+     * <p>
+     * Plain string values are decoded as a JSON string, which the deserializer also accepts for numbers and booleans.
+     *
+     * @param name The property name
+     * @param type The type
+     * @param <T> The type
+     * @return The key
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PropertyKey<T> key(final String name, final TypeToken<T> type) {
+        Objects.requireNonNull(type, "type");
+        return PropertyKey.of(name, (Class<T>) type.getRawType(), value -> {
+            final JsonElement element = value instanceof JsonProperty property ? property.element : new JsonPrimitive(value.toString());
+            return JsonProperty.decode(MetadataParser.gson(), element, type);
+        });
+    }
+
+    public static <T> PropertyKey<T> key(final String name, final Class<T> type) {
+        return JsonProperty.key(name, TypeToken.get(Objects.requireNonNull(type, "type")));
+    }
+
+    /**
+     * Creates a key for a list of strings like {@link PropertyKey#list(String)}, which also decodes JSON arrays.
+     * <p>
+     * The elements of a JSON array are decoded one by one, so they may contain commas. Elements that are not strings
+     * are kept as their JSON text.
+     *
+     * @param name The property name
+     * @return The key
+     */
+    @SuppressWarnings("unchecked")
+    public static PropertyKey<List<String>> list(final String name) {
+        final PropertyKey<List<String>> strings = PropertyKey.list(name);
+        return PropertyKey.of(name, (Class<List<String>>) (Class<?>) List.class, value -> {
+            if (!(value instanceof JsonProperty property)) {
+                return strings.decode(value);
+            }
+            if (!(property.element instanceof JsonArray array)) {
+                throw new IllegalArgumentException(String.format("'%s' is not an array", property));
+            }
+            final List<String> elements = new ArrayList<>(array.size());
+            for (final JsonElement element : array) {
+                elements.add(element.isJsonPrimitive() ? element.getAsString() : element.toString());
+            }
+            return List.copyOf(elements);
+        });
+    }
+
+    private static <T> T decode(final Gson gson, final JsonElement element, final TypeToken<T> type) {
+        final T value = gson.fromJson(element, type);
+        if (value == null) {
+            throw new JsonParseException(String.format("'%s' is not a %s", element, type));
+        }
+        return value;
+    }
+
+    /**
+     * @return A copy of the element
+     */
+    public JsonElement element() {
+        return this.element.deepCopy();
+    }
+
+    /**
+     * Gets the element without copying it, the element must not be modified.
+     *
+     * @return The element
+     */
+    public JsonElement unwrap() {
+        return this.element;
+    }
+
+    /**
+     * Decodes the value with the given deserializer.
+     *
+     * @param gson The deserializer
+     * @param type The type
+     * @param <T> The type
+     * @return The value
+     * @throws JsonParseException if the value cannot be decoded into the type
+     */
+    public <T> T as(final Gson gson, final TypeToken<T> type) {
+        return JsonProperty.decode(Objects.requireNonNull(gson, "gson"), this.element, Objects.requireNonNull(type, "type"));
+    }
+
+    public <T> T as(final Gson gson, final Class<T> type) {
+        return this.as(gson, TypeToken.get(Objects.requireNonNull(type, "type")));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.element.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof JsonProperty other)) {
+            return false;
+        }
+
+        return this.element.equals(other.element);
+    }
+
+    /**
+     * @return The JSON text
+     */
+    @Override
+    public String toString() {
+        String json = this.json;
+        if (json == null) {
+            json = this.element.isJsonPrimitive() ? this.element.getAsString() : this.element.toString();
+            this.json = json;
+        }
+        return json;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A {@link JsonReader} enforcing {@link ParseLimits limits}, checking each structure as it is entered.
+ * <p>
+ * The number of elements or members of every open array and object is tracked on a stack, so a check is a couple of
+ * comparisons per token.
+ */
+final class LimitedJsonReader extends JsonReader {
+    private final ParseLimits limits;
+    // Per open structure, the number of members read so far, negated for arrays
+    private int[] counts = new int[16];
+    private int depth;
+
+    LimitedJsonReader(final Reader reader, final ParseLimits limits) {
+        super(limits.maxDocumentSize() == Long.MAX_VALUE ? reader : new SizeLimitedReader(reader, limits.maxDocumentSize()));
+        this.limits = limits;
+    }
+
+    private void value() {
+        if (this.depth > 0 && this.counts[this.depth - 1] <= 0 && -(--this.counts[this.depth - 1]) > this.limits.maxArrayLength()) {
+            throw new ParseLimitException("maxArrayLength", this.limits.maxArrayLength(), this.getPath());
+        }
+    }
+
+    private void enter(final boolean array) {
+        this.value();
+        if (this.depth >= this.limits.maxDepth()) {
+            throw new ParseLimitException("maxDepth", this.limits.maxDepth(), this.getPath());
+        }
+        if (this.depth == this.counts.length) {
+            this.counts = Arrays.copyOf(this.counts, this.depth * 2);
+        }
+        // Objects start at 1 so that an empty object is never mistaken for an array
+        this.counts[this.depth++] = array ? 0 : 1;
+    }
+
+    private String string(final String value) {
+        if (value.length() > this.limits.maxStringLength()) {
+            throw new ParseLimitException("maxStringLength", this.limits.maxStringLength(), this.getPath());
+        }
+        return value;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        this.enter(true);
+        super.beginArray();
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        super.endArray();
+        this.depth--;
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        this.enter(false);
+        super.beginObject();
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        super.endObject();
+        this.depth--;
+    }
+
+    private void member() {
+        if (this.depth > 0 && this.counts[this.depth - 1]++ > this.limits.maxObjectSize()) {
+            throw new ParseLimitException("maxObjectSize", this.limits.maxObjectSize(), this.getPath());
+        }
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        this.member();
+        return this.string(super.nextName());
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        this.value();
+        return this.string(super.nextString());
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        this.value();
+        return super.nextBoolean();
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        this.value();
+        super.nextNull();
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        this.value();
+        return super.nextDouble();
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        this.value();
+        return super.nextLong();
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        this.value();
+        return super.nextInt();
+    }
+
+    /**
+     * Skips a value token by token, so that the arrays and objects within it are checked as if they were read.
+     * Skipped strings are not materialized, so only the size of the document bounds them.
+     */
+    @Override
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            switch (this.peek()) {
+                case BEGIN_ARRAY -> {
+                    this.beginArray();
+                    depth++;
+                }
+                case BEGIN_OBJECT -> {
+                    this.beginObject();
+                    depth++;
+                }
+                case END_ARRAY -> {
+                    this.endArray();
+                    depth--;
+                }
+                case END_OBJECT -> {
+                    this.endObject();
+                    depth--;
+                }
+                case NAME -> {
+                    this.member();
+                    super.skipValue();
+                }
+                case END_DOCUMENT -> super.skipValue();
+                default -> {
+                    this.value();
+                    super.skipValue();
+                }
+            }
+        } while (depth > 0);
+    }
+
+    private static final class SizeLimitedReader extends FilterReader {
+        private final long max;
+        private long read;
+
+        SizeLimitedReader(final Reader reader, final long max) {
+            super(reader);
+            this.max = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int c = super.read();
+            if (c >= 0) {
+                this.count(1);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            final int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                this.count(count);
+            }
+            return count;
+        }
+
+        private void count(final int count) {
+            this.read += count;
+            if (this.read > this.max) {
+                throw new ParseLimitException("maxDocumentSize", this.max, "character " + this.max);
+            }
+        }
+    }
+}
@@ -26,10 +26,14 @@
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.plugin.metadata.builtin.adapter.InheritableMetadataAdapter;
 import org.spongepowered.plugin.metadata.builtin.adapter.MetadataContainerAdapter;
 import org.spongepowered.plugin.metadata.builtin.adapter.StandardPluginMetadataBuilderDeserializer;
@@ -43,12 +47,18 @@
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 public final class MetadataParser {
     private static final Gson GSON = new GsonBuilder()
@@ -67,8 +77,6 @@ public final class MetadataParser {
             .registerTypeAdapter(StandardPluginMetadata.class, new StandardPluginMetadataSerializer())
             .create();
 
-    private static final Set<String> warnings = new LinkedHashSet<>();
-
     private MetadataParser() {
     }
 
@@ -77,21 +85,31 @@ public static Gson gson() {
     }
 
     /**
-     * Returns all warnings generated by (de)serializers so that the platform may log them when appropriate.
+     * Returns the warnings generated by the read methods not given a {@link ParseContext context}, and by
+     * (de)serializers outside of a read, such as when using {@link #gson()} directly, so that the platform may log them
+     * when appropriate.
      *
      * @return The warnings
+     * @deprecated Warnings are collected per read, pass a {@link ParseContext} to the read methods instead
      */
+    @Deprecated
     public static Set<String> warnings() {
-        return Collections.unmodifiableSet(MetadataParser.warnings);
+        final Set<String> warnings = new LinkedHashSet<>();
+        for (final ParseWarning warning : ParseContext.FALLBACK.warnings()) {
+            warnings.add(warning.message());
+        }
+        return Collections.unmodifiableSet(warnings);
     }
 
     /**
-     * Adds a warning generated by a (de)serializer so that the platform may log it later.
+     * Adds a warning generated by a (de)serializer outside of a read so that the platform may log it later.
      *
      * @param warning The warning
+     * @deprecated Warnings are collected per read, add them to {@link ParseContext#currentOrFallback()} instead
      */
+    @Deprecated
     public static void addWarning(final String warning) {
-        MetadataParser.warnings.add(Objects.requireNonNull(warning));
+        ParseContext.FALLBACK.warn(ParseWarning.OTHER, null, Objects.requireNonNull(warning, "warning"));
     }
 
     /**
@@ -116,14 +134,81 @@ public static MetadataContainer read(final Path path) throws IOException {
      * @throws IOException if the container fails to be read
      */
     public static MetadataContainer read(final Path path, final Gson gson) throws IOException {
+        return MetadataParser.read(path, gson, ParseContext.FALLBACK);
+    }
+
+    /**
+     * Reads a {@link MetadataContainer container} from a given {@link Path path} using the default {@link Gson deserializer}
+     * (retrieved from {@link #gson()}), collecting warnings into the given {@link ParseContext context}.
+     *
+     * @param path The path
+     * @param context The context
+     * @return The container
+     * @throws IOException if the container fails to be read
+     */
+    public static MetadataContainer read(final Path path, final ParseContext context) throws IOException {
+        return MetadataParser.read(path, MetadataParser.gson(), context);
+    }
+
+    /**
+     * Reads a {@link MetadataContainer container} from a given {@link Path path} with configured {@link Gson deserializer},
+     * collecting warnings into the given {@link ParseContext context}.
+     *
+     * @param path The path
+     * @param gson The deserializer
+     * @param context The context
+     * @return The container
+     * @throws IOException if the container fails to be read
+     */
+    public static MetadataContainer read(final Path path, final Gson gson, final ParseContext context) throws IOException {
         Objects.requireNonNull(path, "path");
         Objects.requireNonNull(gson, "gson");
+        Objects.requireNonNull(context, "context");
 
         try (final BufferedReader reader = Files.newBufferedReader(path)) {
-            return gson.fromJson(reader, MetadataContainer.class);
+            if (context.limits().isUnlimited()) {
+                return MetadataParser.read(context, path, () -> gson.fromJson(reader, MetadataContainer.class));
+            }
+            try (final JsonReader jsonReader = new LimitedJsonReader(reader, context.limits())) {
+                return MetadataParser.read(context, path, () -> gson.fromJson(jsonReader, MetadataContainer.class));
+            }
         }
     }
 
+    /**
+     * Reads a {@link MetadataContainer container} from a given {@link Path path}, deserializing its plugins in parallel
+     * on the given {@link ForkJoinPool pool}, using the default {@link Gson deserializer} (retrieved from {@link #gson()}).
+     *
+     * @param path The path
+     * @param pool The pool
+     * @return The container
+     * @throws IOException if the container fails to be read
+     */
+    public static MetadataContainer readParallel(final Path path, final ForkJoinPool pool) throws IOException {
+        return MetadataParser.readParallel(path, MetadataParser.gson(), ParseContext.FALLBACK, pool);
+    }
+
+    /**
+     * Reads a {@link MetadataContainer container} from a given {@link Path path}, deserializing its plugins in parallel
+     * on the given {@link ForkJoinPool pool}, with configured {@link Gson deserializer}, collecting warnings into the
+     * given {@link ParseContext context}.
+     * <p>
+     * The whole file is held in memory while it is read. Documents using lenient JSON syntax and reads with
+     * {@link ParseLimits limits} are read sequentially.
+     *
+     * @param path The path
+     * @param gson The deserializer
+     * @param context The context
+     * @param pool The pool
+     * @return The container
+     * @throws IOException if the container fails to be read
+     */
+    public static MetadataContainer readParallel(final Path path, final Gson gson, final ParseContext context, final ForkJoinPool pool)
+            throws IOException {
+        return ParallelContainerReader.read(Objects.requireNonNull(path, "path"), Objects.requireNonNull(gson, "gson"),
+                Objects.requireNonNull(context, "context"), Objects.requireNonNull(pool, "pool"));
+    }
+
     /**
      * Reads a {@link MetadataContainer container} from a given {@link Reader reader} using the default {@link Gson deserializer}
      * (retrieved from {@link #gson()}).
@@ -146,12 +231,177 @@ public static MetadataContainer read(final Reader reader) throws IOException {
      * @throws IOException if the container fails to deserialize
      */
     public static MetadataContainer read(final Reader reader, final Gson gson) throws IOException {
+        return MetadataParser.read(reader, gson, ParseContext.FALLBACK);
+    }
+
+    /**
+     * Reads a {@link MetadataContainer container} from a given {@link Reader reader} using the default {@link Gson deserializer}
+     * (retrieved from {@link #gson()}), collecting warnings into the given {@link ParseContext context}.
+     *
+     * @param reader The reader
+     * @param context The context
+     * @return The container
+     * @throws IOException if the container fails to deserialize
+     */
+    public static MetadataContainer read(final Reader reader, final ParseContext context) throws IOException {
+        return MetadataParser.read(reader, MetadataParser.gson(), context);
+    }
+
+    /**
+     * Reads a {@link MetadataContainer container} from a given {@link Reader reader} with configured {@link Gson deserializer},
+     * collecting warnings into the given {@link ParseContext context}.
+     *
+     * @param reader The reader
+     * @param gson The deserializer
+     * @param context The context
+     * @return The container
+     * @throws IOException if the container fails to deserialize
+     */
+    public static MetadataContainer read(final Reader reader, final Gson gson, final ParseContext context) throws IOException {
         Objects.requireNonNull(reader, "reader");
         Objects.requireNonNull(gson, "gson");
+        Objects.requireNonNull(context, "context");
+
+        try (final JsonReader jsonReader = context.limits().isUnlimited() ? new JsonReader(reader) : new LimitedJsonReader(reader, context.limits())) {
+            return MetadataParser.read(context, null, () -> gson.fromJson(jsonReader, MetadataContainer.class));
+        }
+    }
+
+    private static MetadataContainer read(final ParseContext context, final @Nullable Path path, final Supplier<MetadataContainer> read) {
+        final ParseContext.Scope previous = context.enter(path);
+        try {
+            return read.get();
+        } finally {
+            ParseContext.exit(previous);
+        }
+    }
 
-        try (final JsonReader jsonReader = new JsonReader(reader)) {
-            return gson.fromJson(jsonReader, MetadataContainer.class);
+    /**
+     * Resolves the global metadata of a container from its members, read separately from the plugins.
+     * <p>
+     * The {@code loader} and {@code license} members of the root element are still read for retro-compatibility, the
+     * {@code global} member overriding them.
+     *
+     * @param context The deserialization context
+     * @param loader The {@code loader} member or null if absent
+     * @param license The {@code license} member or null if absent
+     * @param global The {@code global} member or null if absent
+     * @return The global metadata
+     */
+    public static InheritableMetadata global(final JsonDeserializationContext context, final @Nullable JsonElement loader,
+            final @Nullable JsonElement license, final @Nullable JsonElement global) {
+        Objects.requireNonNull(context, "context");
+        InheritableMetadata metadata = InheritableMetadata.builder()
+                .loader(loader == null || loader.isJsonNull() ? null : context.deserialize(loader, PluginLoaderSpecification.class))
+                .license(license == null || license.isJsonNull() ? null : license.getAsString())
+                .build();
+        if (global instanceof JsonObject) {
+            metadata = metadata.with(context.deserialize(global, InheritableMetadata.class));
         }
+        return metadata;
+    }
+
+    static InheritableMetadata global(final Gson gson, final @Nullable JsonElement loader, final @Nullable JsonElement license,
+            final @Nullable JsonElement global) {
+        return MetadataParser.global(new JsonDeserializationContext() {
+            @Override
+            public <T> T deserialize(final JsonElement json, final Type type) {
+                return gson.fromJson(json, type);
+            }
+        }, loader, license, global);
+    }
+
+    /**
+     * Publishes the plugins of a container from a given {@link Reader reader} as they are read, using the default
+     * {@link Gson deserializer} (retrieved from {@link #gson()}).
+     *
+     * @param reader The reader, closed once the subscription ends
+     * @param executor The executor reading the plugins
+     * @return The publisher
+     */
+    public static MetadataPublisher publish(final Reader reader, final Executor executor) {
+        return MetadataParser.publish(reader, MetadataParser.gson(), ParseContext.FALLBACK, executor);
+    }
+
+    /**
+     * Publishes the plugins of a container from a given {@link Reader reader} as they are read, with configured
+     * {@link Gson deserializer}, collecting warnings into the given {@link ParseContext context}.
+     *
+     * @param reader The reader, closed once the subscription ends
+     * @param gson The deserializer
+     * @param context The context
+     * @param executor The executor reading the plugins
+     * @return The publisher
+     */
+    public static MetadataPublisher publish(final Reader reader, final Gson gson, final ParseContext context, final Executor executor) {
+        return new MetadataPublisher(Objects.requireNonNull(reader, "reader"), Objects.requireNonNull(gson, "gson"),
+                Objects.requireNonNull(context, "context"), Objects.requireNonNull(executor, "executor"));
+    }
+
+    /**
+     * Reads the records of a catalog from a given {@link Path path}, reading chunks of the catalog in parallel on the
+     * given {@link ForkJoinPool pool}, using the default {@link Gson deserializer} (retrieved from {@link #gson()}).
+     *
+     * @param path The path
+     * @param pool The pool
+     * @return The containers, one per record in the order of the catalog
+     * @throws IOException if the catalog fails to be read
+     * @see #readCatalog(Path, Gson, ParseContext, ForkJoinPool)
+     */
+    public static List<MetadataContainer> readCatalog(final Path path, final ForkJoinPool pool) throws IOException {
+        return MetadataParser.readCatalog(path, MetadataParser.gson(), ParseContext.FALLBACK, pool);
+    }
+
+    /**
+     * Reads the records of a catalog from a given {@link Path path}, reading chunks of the catalog in parallel on the
+     * given {@link ForkJoinPool pool}, with configured {@link Gson deserializer}, collecting warnings into the given
+     * {@link ParseContext context}.
+     * <p>
+     * A catalog is a JSON Lines file, each line holding either a container or a single plugin, as written by a
+     * {@link CatalogWriter}. A record holding a single plugin is read as a container without global metadata. Blank
+     * lines are ignored. An invalid line fails the read, unless it is a single plugin record and the context is
+     * {@link ParseContext#tolerant() tolerant}, in which case it is rejected.
+     *
+     * @param path The path
+     * @param gson The deserializer
+     * @param context The context
+     * @param pool The pool
+     * @return The containers, one per record in the order of the catalog
+     * @throws IOException if the catalog fails to be read
+     */
+    public static List<MetadataContainer> readCatalog(final Path path, final Gson gson, final ParseContext context, final ForkJoinPool pool)
+            throws IOException {
+        return CatalogReader.read(Objects.requireNonNull(path, "path"), Objects.requireNonNull(gson, "gson"),
+                Objects.requireNonNull(context, "context"), Objects.requireNonNull(pool, "pool"));
+    }
+
+    /**
+     * Opens a {@link CatalogWriter catalog writer} to the given {@link Path path}, using the default
+     * {@link Gson serializer} (retrieved from {@link #gson()}).
+     *
+     * @param path The path
+     * @param append True to add records after those already in the catalog, false to replace them
+     * @return The writer
+     * @throws IOException If the catalog fails to be opened
+     */
+    public static CatalogWriter catalogWriter(final Path path, final boolean append) throws IOException {
+        Objects.requireNonNull(path, "path");
+        final Writer writer = append
+                ? Files.newBufferedWriter(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : Files.newBufferedWriter(path);
+        return new CatalogWriter(writer, MetadataParser.gson());
+    }
+
+    /**
+     * Creates a {@link CatalogWriter catalog writer} writing to the given {@link Writer writer} using the configured
+     * {@link Gson serializer}.
+     *
+     * @param writer The writer
+     * @param gson The serializer
+     * @return The catalog writer
+     */
+    public static CatalogWriter catalogWriter(final Writer writer, final Gson gson) {
+        return new CatalogWriter(Objects.requireNonNull(writer, "writer"), Objects.requireNonNull(gson, "gson"));
     }
 
     /**
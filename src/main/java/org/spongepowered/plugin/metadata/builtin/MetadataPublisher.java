@@ -0,0 +1,281 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the plugins of a container as they are read, with the {@code global} metadata of the container applied.
+ * <p>
+ * Plugins are only read as they are requested, so a subscriber requesting a few at a time keeps only those in memory,
+ * however large the {@code plugins} array is. For this the {@code global} metadata must be known when the plugins are
+ * read: {@code global}, along with the {@code loader} and {@code license} kept for retro-compatibility, must come
+ * before {@code plugins}, as written by {@link MetadataParser#write(Writer, MetadataContainer, boolean)}. A document
+ * declaring them after {@code plugins} fails the subscription.
+ * <p>
+ * A publisher reads its source once, so it accepts a single subscriber. Reading happens on the given executor, and
+ * the source is closed once the subscription completes, fails or is cancelled. Invalid entries are
+ * {@link ParseContext#reject(int, String, RuntimeException) rejected} and skipped if the context is tolerant,
+ * otherwise they fail the subscription.
+ */
+public final class MetadataPublisher implements Flow.Publisher<StandardPluginMetadata> {
+    private final Reader source;
+    private final Gson gson;
+    private final ParseContext context;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    MetadataPublisher(final Reader source, final Gson gson, final ParseContext context, final Executor executor) {
+        this.source = source;
+        this.gson = gson;
+        this.context = context;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super StandardPluginMetadata> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!this.subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("The publisher only accepts a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Subscription(subscriber));
+    }
+
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super StandardPluginMetadata> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        // Ensures a single drain runs at a time, counting the signals it has yet to look at
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile @Nullable Throwable error;
+        private @Nullable PluginReader reader;
+        private boolean done;
+
+        Subscription(final Flow.Subscriber<? super StandardPluginMetadata> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                this.error = new IllegalArgumentException(String.format("Requested %d plugins, which is not positive", n));
+            } else {
+                this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            this.schedule();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.schedule();
+        }
+
+        private void schedule() {
+            if (this.work.getAndIncrement() == 0) {
+                try {
+                    MetadataPublisher.this.executor.execute(this::drain);
+                } catch (final RejectedExecutionException e) {
+                    this.error = e;
+                    this.drain();
+                }
+            }
+        }
+
+        private void drain() {
+            final ParseContext.Scope previous = MetadataPublisher.this.context.enter(null);
+            try {
+                int missed = 1;
+                while (true) {
+                    if (!this.done) {
+                        this.emit();
+                    }
+                    missed = this.work.addAndGet(-missed);
+                    if (missed == 0) {
+                        return;
+                    }
+                }
+            } finally {
+                ParseContext.exit(previous);
+            }
+        }
+
+        private void emit() {
+            final Throwable error = this.error;
+            if (this.cancelled || error != null) {
+                this.terminate();
+                if (!this.cancelled && error != null) {
+                    this.subscriber.onError(error);
+                }
+                return;
+            }
+            final long requested = this.demand.get();
+            long emitted = 0;
+            while (emitted != requested && !this.cancelled) {
+                final StandardPluginMetadata plugin;
+                try {
+                    if (this.reader == null) {
+                        this.reader = new PluginReader();
+                    }
+                    plugin = this.reader.next();
+                } catch (final IOException | RuntimeException e) {
+                    this.terminate();
+                    this.subscriber.onError(e);
+                    return;
+                }
+                if (plugin == null) {
+                    this.terminate();
+                    this.subscriber.onComplete();
+                    return;
+                }
+                this.subscriber.onNext(plugin);
+                emitted++;
+            }
+            if (requested != Long.MAX_VALUE) {
+                this.demand.addAndGet(-emitted);
+            }
+        }
+
+        private void terminate() {
+            this.done = true;
+            try {
+                MetadataPublisher.this.source.close();
+            } catch (final IOException ignored) {
+                // The plugins have been read, or are no longer wanted
+            }
+        }
+    }
+
+    /**
+     * Reads the members of the container one at a time, stopping at each plugin.
+     */
+    private final class PluginReader {
+        private final JsonReader reader;
+        private @Nullable JsonElement loader, license, global;
+        private @Nullable InheritableMetadata resolved;
+        private boolean inPlugins;
+        private int index = -1;
+
+        PluginReader() throws IOException {
+            final ParseLimits limits = MetadataPublisher.this.context.limits();
+            this.reader = limits.isUnlimited() ? new JsonReader(MetadataPublisher.this.source)
+                    : new LimitedJsonReader(MetadataPublisher.this.source, limits);
+            this.reader.setLenient(true);
+            this.reader.beginObject();
+        }
+
+        @Nullable StandardPluginMetadata next() throws IOException {
+            while (true) {
+                if (this.inPlugins) {
+                    if (!this.reader.hasNext()) {
+                        this.reader.endArray();
+                        this.inPlugins = false;
+                        continue;
+                    }
+                    final JsonElement element = JsonParser.parseReader(this.reader);
+                    this.index++;
+                    if (!element.isJsonObject()) {
+                        continue;
+                    }
+                    final StandardPluginMetadata plugin = this.plugin(this.index, element);
+                    if (plugin != null) {
+                        return plugin;
+                    }
+                    continue;
+                }
+                if (!this.reader.hasNext()) {
+                    this.reader.endObject();
+                    if (this.resolved == null) {
+                        throw new MissingRequiredFieldException("plugins");
+                    }
+                    return null;
+                }
+                final String name = this.reader.nextName();
+                switch (name) {
+                    case "loader", "license", "global" -> {
+                        // The plugins already read could not be given it
+                        if (this.resolved != null) {
+                            throw new JsonParseException(String.format("'%s' must come before 'plugins' at %s", name, this.reader.getPath()));
+                        }
+                        final JsonElement value = JsonParser.parseReader(this.reader);
+                        switch (name) {
+                            case "loader" -> this.loader = value;
+                            case "license" -> this.license = value;
+                            default -> this.global = value;
+                        }
+                    }
+                    case "plugins" -> {
+                        if (this.reader.peek() == JsonToken.NULL) {
+                            throw new MissingRequiredFieldException("plugins");
+                        }
+                        if (this.resolved != null) {
+                            throw new JsonParseException(String.format("Duplicate 'plugins' at %s", this.reader.getPath()));
+                        }
+                        this.resolved = MetadataParser.global(MetadataPublisher.this.gson, this.loader, this.license, this.global);
+                        if (this.reader.peek() == JsonToken.BEGIN_ARRAY) {
+                            this.reader.beginArray();
+                            this.inPlugins = true;
+                        } else {
+                            this.reader.skipValue();
+                        }
+                    }
+                    default -> this.reader.skipValue();
+                }
+            }
+        }
+
+        private @Nullable StandardPluginMetadata plugin(final int index, final JsonElement element) {
+            return MetadataPublisher.this.context.readPlugin(index, element.getAsJsonObject(),
+                    v -> MetadataPublisher.this.gson.fromJson(v, StandardPluginMetadata.Builder.class).global(this.resolved).build());
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Reads a container by deserializing its plugins in parallel.
+ * <p>
+ * A structural scan over the bytes of the document first finds where each member of the container and each entry of
+ * the {@code plugins} array starts and ends, only tracking strings and nesting. The entries are then deserialized
+ * independently on a {@link ForkJoinPool} and reassembled in their original order. UTF-8 encodes every structural
+ * character as a single byte that never occurs within another character, so the scan works on the raw bytes.
+ * <p>
+ * Documents the scan does not understand, such as lenient JSON with comments or unquoted names, and reads with
+ * {@link ParseLimits limits}, are read sequentially instead.
+ */
+final class ParallelContainerReader {
+    private final byte[] json;
+    private int position;
+    private int loaderStart = -1, loaderEnd, licenseStart = -1, licenseEnd, globalStart = -1, globalEnd;
+    private int @Nullable [] plugins;
+    private int pluginCount;
+
+    private ParallelContainerReader(final byte[] json) {
+        this.json = json;
+    }
+
+    static MetadataContainer read(final Path path, final Gson gson, final ParseContext context, final ForkJoinPool pool) throws IOException {
+        if (!context.limits().isUnlimited()) {
+            return MetadataParser.read(path, gson, context);
+        }
+        final ParallelContainerReader reader = new ParallelContainerReader(Files.readAllBytes(path));
+        if (!reader.scan()) {
+            return MetadataParser.read(path, gson, context);
+        }
+        return reader.deserialize(path, gson, context, pool);
+    }
+
+    private MetadataContainer deserialize(final Path path, final Gson gson, final ParseContext context, final ForkJoinPool pool) {
+        final ParseContext.Scope previous = context.enter(path);
+        final InheritableMetadata global;
+        try {
+            global = MetadataParser.global(gson, this.element(this.loaderStart, this.loaderEnd),
+                    this.element(this.licenseStart, this.licenseEnd), this.element(this.globalStart, this.globalEnd));
+        } finally {
+            ParseContext.exit(previous);
+        }
+        final int[] plugins = Objects.requireNonNull(this.plugins, "plugins");
+        final Parsed[] parsed = pool.submit(() -> IntStream.range(0, this.pluginCount).parallel()
+                .mapToObj(i -> this.plugin(plugins[i * 2], plugins[i * 2 + 1], global, path, gson, context))
+                .toArray(Parsed[]::new)).join();
+        final List<StandardPluginMetadata> result = new ArrayList<>(parsed.length);
+        final ParseContext.Scope scope = context.enter(path);
+        try {
+            // Failures are rejected in the order of the entries, as they are by a sequential read
+            for (int i = 0; i < parsed.length; i++) {
+                final @Nullable Parsed entry = parsed[i];
+                if (entry == null) {
+                    continue;
+                }
+                final @Nullable StandardPluginMetadata plugin = context.readPlugin(i, entry.entry(), v -> entry.get());
+                if (plugin != null) {
+                    result.add(plugin);
+                }
+            }
+        } finally {
+            ParseContext.exit(scope);
+        }
+        return new MetadataContainer(global, result);
+    }
+
+    private @Nullable JsonElement element(final int start, final int end) {
+        return start < 0 ? null : JsonParser.parseString(new String(this.json, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    private @Nullable Parsed plugin(final int start, final int end, final InheritableMetadata global, final Path path, final Gson gson,
+            final ParseContext context) {
+        final ParseContext.Scope previous = context.enter(path);
+        try {
+            final JsonElement element = this.element(start, end);
+            if (element == null || !element.isJsonObject()) {
+                return null;
+            }
+            final JsonObject entry = element.getAsJsonObject();
+            try {
+                return new Parsed(entry, gson.fromJson(entry, StandardPluginMetadata.Builder.class).global(global).build(), null);
+            } catch (final RuntimeException e) {
+                return new Parsed(entry, null, e);
+            }
+        } finally {
+            ParseContext.exit(previous);
+        }
+    }
+
+    /**
+     * Finds the members of the container and the entries of its plugins array.
+     *
+     * @return False if the document is not strict JSON the scan can follow
+     */
+    private boolean scan() {
+        this.skipWhitespace();
+        // UTF-8 byte order mark
+        if (this.position + 2 < this.json.length && (this.json[this.position] & 0xFF) == 0xEF
+                && (this.json[this.position + 1] & 0xFF) == 0xBB && (this.json[this.position + 2] & 0xFF) == 0xBF) {
+            this.position += 3;
+            this.skipWhitespace();
+        }
+        if (!this.expect('{')) {
+            return false;
+        }
+        this.skipWhitespace();
+        if (this.peek() == '}') {
+            return false;
+        }
+        while (true) {
+            this.skipWhitespace();
+            final int nameStart = this.position;
+            if (!this.expect('"') || !this.skipString()) {
+                return false;
+            }
+            final String name = new String(this.json, nameStart + 1, this.position - nameStart - 2, StandardCharsets.UTF_8);
+            if (name.indexOf('\\') >= 0) {
+                return false;
+            }
+            this.skipWhitespace();
+            if (!this.expect(':')) {
+                return false;
+            }
+            this.skipWhitespace();
+            final int start = this.position;
+            if (name.equals("plugins") && this.peek() == 'n') {
+                // A null plugins array is missing, which the sequential read reports
+                return false;
+            }
+            if (name.equals("plugins") && this.peek() == '[') {
+                if (!this.scanPlugins()) {
+                    return false;
+                }
+            } else if (!this.skipValue()) {
+                return false;
+            } else {
+                switch (name) {
+                    case "loader" -> {
+                        this.loaderStart = start;
+                        this.loaderEnd = this.position;
+                    }
+                    case "license" -> {
+                        this.licenseStart = start;
+                        this.licenseEnd = this.position;
+                    }
+                    case "global" -> {
+                        this.globalStart = start;
+                        this.globalEnd = this.position;
+                    }
+                    case "plugins" -> {
+                        // Not an array, which still requires it to be present
+                        this.plugins = new int[0];
+                        this.pluginCount = 0;
+                    }
+                    default -> {
+                    }
+                }
+            }
+            this.skipWhitespace();
+            final int next = this.peek();
+            this.position++;
+            if (next == '}') {
+                this.skipWhitespace();
+                return this.plugins != null && this.position == this.json.length;
+            }
+            if (next != ',') {
+                return false;
+            }
+        }
+    }
+
+    private boolean scanPlugins() {
+        this.position++;
+        int[] plugins = new int[64];
+        int count = 0;
+        this.skipWhitespace();
+        if (this.peek() == ']') {
+            this.position++;
+        } else {
+            while (true) {
+                this.skipWhitespace();
+                final int start = this.position;
+                if (!this.skipValue()) {
+                    return false;
+                }
+                if (count * 2 == plugins.length) {
+                    plugins = Arrays.copyOf(plugins, plugins.length * 2);
+                }
+                plugins[count * 2] = start;
+                plugins[count * 2 + 1] = this.position;
+                count++;
+                this.skipWhitespace();
+                final int next = this.peek();
+                this.position++;
+                if (next == ']') {
+                    break;
+                }
+                if (next != ',') {
+                    return false;
+                }
+            }
+        }
+        // Like a JSON object, a later member with the same name replaces an earlier one
+        this.plugins = plugins;
+        this.pluginCount = count;
+        return true;
+    }
+
+    private boolean skipValue() {
+        final int first = this.peek();
+        if (first == '"') {
+            this.position++;
+            return this.skipString();
+        }
+        if (first == '{' || first == '[') {
+            int depth = 0;
+            while (this.position < this.json.length) {
+                final byte b = this.json[this.position++];
+                if (b == '"') {
+                    if (!this.skipString()) {
+                        return false;
+                    }
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    if (--depth == 0) {
+                        return true;
+                    }
+                } else if (b == '/' || b == '#' || b == '\'') {
+                    // Comments and single quoted strings of lenient JSON
+                    return false;
+                }
+            }
+            return false;
+        }
+        // Numbers and literals
+        final int start = this.position;
+        while (this.position < this.json.length) {
+            final byte b = this.json[this.position];
+            if (b == ',' || b == '}' || b == ']' || b == ' ' || b == '\t' || b == '\n' || b == '\r') {
+                break;
+            }
+            if (!(b >= '0' && b <= '9' || b >= 'a' && b <= 'z' || b == '-' || b == '+' || b == '.' || b == 'E')) {
+                return false;
+            }
+            this.position++;
+        }
+        return this.position > start;
+    }
+
+    /**
+     * Skips the rest of a string whose opening quote was consumed, leaving the position after its closing quote.
+     */
+    private boolean skipString() {
+        while (this.position < this.json.length) {
+            final byte b = this.json[this.position++];
+            if (b == '\\') {
+                this.position++;
+            } else if (b == '"') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (this.position < this.json.length) {
+            final byte b = this.json[this.position];
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return;
+            }
+            this.position++;
+        }
+    }
+
+    private int peek() {
+        return this.position < this.json.length ? this.json[this.position] : -1;
+    }
+
+    private boolean expect(final char c) {
+        if (this.peek() != c) {
+            return false;
+        }
+        this.position++;
+        return true;
+    }
+
+    private record Parsed(JsonObject entry, @Nullable StandardPluginMetadata plugin, @Nullable RuntimeException failure) {
+
+        StandardPluginMetadata get() {
+            if (this.failure != null) {
+                throw this.failure;
+            }
+            return Objects.requireNonNull(this.plugin, "plugin");
+        }
+    }
+}
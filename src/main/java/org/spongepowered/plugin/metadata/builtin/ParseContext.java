@@ -0,0 +1,284 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Collects the {@link ParseWarning warnings} generated while reading metadata with {@link MetadataParser}.
+ * <p>
+ * A context is meant to be created for each read or batch of reads, so parses running on different threads share
+ * nothing. While a read is running, the context is available to (de)serializers on the reading thread through
+ * {@link #current()}, and the warnings they add are attributed to the file being read.
+ * Identical warnings are only stored once and counted, and at most a fixed number of distinct warnings is stored,
+ * any further ones only being counted as {@link #dropped() dropped}. Rejected plugin entries are bounded by the same
+ * limit, any further ones only being counted as {@link #droppedRejections() dropped} as well.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ParseContext {
+    private static final ThreadLocal<@Nullable Scope> CURRENT = new ThreadLocal<>();
+    // Collects the warnings of (de)serializers used outside of a read, returned by MetadataParser.warnings()
+    static final ParseContext FALLBACK = ParseContext.create();
+
+    private final int limit;
+    private final boolean tolerant;
+    private final ParseLimits limits;
+    private final Map<Key, Integer> warnings = new LinkedHashMap<>();
+    private final List<RejectedPlugin> rejected = new ArrayList<>();
+    private int dropped, droppedRejections;
+
+    private ParseContext(final Builder builder) {
+        this.limit = builder.limit;
+        this.tolerant = builder.tolerant;
+        this.limits = builder.limits;
+    }
+
+    /**
+     * @return A strict and {@link ParseLimits#unlimited() unlimited} context storing up to 256 distinct warnings
+     */
+    public static ParseContext create() {
+        return ParseContext.builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the context of the read running on the current thread, for use by (de)serializers.
+     *
+     * @return The context or {@link Optional#empty()} if no read is running on the current thread
+     */
+    public static Optional<ParseContext> current() {
+        final Scope scope = ParseContext.CURRENT.get();
+        return scope == null ? Optional.empty() : Optional.of(scope.context);
+    }
+
+    /**
+     * Gets the context of the read running on the current thread, or otherwise the process-wide context collecting the
+     * warnings of (de)serializers used outside of a read, such as through {@link MetadataParser#gson()} directly.
+     *
+     * @return The context
+     */
+    public static ParseContext currentOrFallback() {
+        final Scope scope = ParseContext.CURRENT.get();
+        return scope == null ? ParseContext.FALLBACK : scope.context;
+    }
+
+    /**
+     * Makes this context the current one of the calling thread while reading the given file.
+     *
+     * @return The scope that was current before, to give back to {@link #exit(Scope)}
+     */
+    @Nullable Scope enter(final @Nullable Path file) {
+        final Scope previous = ParseContext.CURRENT.get();
+        ParseContext.CURRENT.set(new Scope(this, file));
+        return previous;
+    }
+
+    static void exit(final @Nullable Scope previous) {
+        if (previous == null) {
+            ParseContext.CURRENT.remove();
+        } else {
+            ParseContext.CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @return True if invalid plugin entries are skipped and {@link #rejected() reported} instead of failing the read
+     */
+    public boolean tolerant() {
+        return this.tolerant;
+    }
+
+    /**
+     * @return The limits enforced while reading
+     */
+    public ParseLimits limits() {
+        return this.limits;
+    }
+
+    /**
+     * Adds a warning, about the file being read by the calling thread if any.
+     *
+     * @param code The code identifying the kind of warning
+     * @param plugin The id of the plugin the warning is about, if any
+     * @param message The message
+     */
+    public synchronized void warn(final String code, final @Nullable String plugin, final String message) {
+        final Scope scope = ParseContext.CURRENT.get();
+        final Key key = new Key(Objects.requireNonNull(code, "code"), plugin, scope != null && scope.context == this ? scope.file : null,
+                Objects.requireNonNull(message, "message"));
+        final Integer count = this.warnings.get(key);
+        if (count != null) {
+            this.warnings.put(key, count + 1);
+        } else if (this.warnings.size() < this.limit) {
+            this.warnings.put(key, 1);
+        } else {
+            this.dropped++;
+        }
+    }
+
+    /**
+     * Reads a plugin entry of the {@code plugins} array, {@link #reject(int, String, RuntimeException) rejecting} it
+     * instead of failing the read if this context is {@link #tolerant() tolerant}.
+     *
+     * @param index The index of the entry in the {@code plugins} array
+     * @param entry The entry
+     * @param reader The reader of the plugin
+     * @param <T> The plugin type
+     * @return The plugin or null if the entry was rejected
+     */
+    public <T> @Nullable T readPlugin(final int index, final JsonObject entry, final Function<JsonObject, T> reader) {
+        try {
+            return reader.apply(entry);
+        } catch (final RuntimeException e) {
+            if (!this.tolerant) {
+                throw e;
+            }
+            // Skip the entry, keeping whatever id it declares to help locating it
+            final JsonElement id = entry.get("id");
+            this.reject(index, id instanceof JsonPrimitive primitive && primitive.isString() ? primitive.getAsString() : null, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reports an invalid plugin entry skipped by a tolerant read, in the file being read by the calling thread if any.
+     *
+     * @param index The index of the entry in the {@code plugins} array
+     * @param id The id declared by the entry, if it could be read
+     * @param cause The reason the entry is invalid
+     */
+    public synchronized void reject(final int index, final @Nullable String id, final RuntimeException cause) {
+        Objects.requireNonNull(cause, "cause");
+        if (this.rejected.size() >= this.limit) {
+            this.droppedRejections++;
+            return;
+        }
+        final Scope scope = ParseContext.CURRENT.get();
+        this.rejected.add(new RejectedPlugin(scope != null && scope.context == this ? scope.file : null, index, id, cause));
+    }
+
+    /**
+     * @return The skipped plugin entries, in the order they were read
+     */
+    public synchronized List<RejectedPlugin> rejected() {
+        return List.copyOf(this.rejected);
+    }
+
+    /**
+     * @return The distinct warnings, in the order they were first generated
+     */
+    public synchronized List<ParseWarning> warnings() {
+        final List<ParseWarning> warnings = new ArrayList<>(this.warnings.size());
+        this.warnings.forEach((key, count) -> warnings.add(new ParseWarning(key.code, key.plugin, key.file, key.message, count)));
+        return List.copyOf(warnings);
+    }
+
+    /**
+     * @return The number of warnings that were not stored because the limit was reached
+     */
+    public synchronized int dropped() {
+        return this.dropped;
+    }
+
+    /**
+     * @return The number of rejected plugin entries that were not stored because the limit was reached
+     */
+    public synchronized int droppedRejections() {
+        return this.droppedRejections;
+    }
+
+    record Scope(ParseContext context, @Nullable Path file) {
+    }
+
+    private record Key(String code, @Nullable String plugin, @Nullable Path file, String message) {
+    }
+
+    public static final class Builder {
+
+        private int limit = 256;
+        private boolean tolerant;
+        private ParseLimits limits = ParseLimits.unlimited();
+
+        private Builder() {}
+
+        /**
+         * Sets whether invalid entries of the {@code plugins} array are skipped and reported instead of failing the
+         * whole read. Errors outside of the entries, such as malformed JSON or an invalid {@code global} section,
+         * still fail the read.
+         *
+         * @param tolerant True to skip invalid entries
+         * @return This builder, for chaining
+         */
+        public Builder tolerant(final boolean tolerant) {
+            this.tolerant = tolerant;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of distinct warnings, and of rejected plugin entries, to store.
+         *
+         * @param limit The limit
+         * @return This builder, for chaining
+         */
+        public Builder limit(final int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("limit must not be negative");
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Sets the limits enforced while reading, {@link ParseLimits#defaults()} being suited to untrusted metadata.
+         *
+         * @param limits The limits
+         * @return This builder, for chaining
+         */
+        public Builder limits(final ParseLimits limits) {
+            this.limits = Objects.requireNonNull(limits, "limits");
+            return this;
+        }
+
+        public ParseContext build() {
+            return new ParseContext(this);
+        }
+    }
+}
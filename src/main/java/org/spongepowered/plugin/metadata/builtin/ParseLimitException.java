@@ -0,0 +1,70 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import com.google.gson.JsonParseException;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a document exceeds one of the {@link ParseLimits limits} of a read.
+ */
+public final class ParseLimitException extends JsonParseException {
+
+    @Serial
+    private static final long serialVersionUID = -3260521658139240478L;
+
+    private final String limit;
+    private final long max;
+    private final String path;
+
+    public ParseLimitException(final String limit, final long max, final String path) {
+        super(String.format("Document exceeds the limit %s of %d at %s", limit, max, path));
+        this.limit = limit;
+        this.max = max;
+        this.path = path;
+    }
+
+    /**
+     * @return The name of the exceeded limit, such as {@code maxDepth}
+     */
+    public String limit() {
+        return this.limit;
+    }
+
+    /**
+     * @return The value of the exceeded limit
+     */
+    public long max() {
+        return this.max;
+    }
+
+    /**
+     * @return The JSON path at which the limit was exceeded
+     */
+    public String path() {
+        return this.path;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import java.util.StringJoiner;
+
+/**
+ * The limits enforced by {@link MetadataParser} while reading a document, to read untrusted metadata safely.
+ * <p>
+ * Limits are checked as the document is read, and exceeding one fails the read with a {@link ParseLimitException}.
+ * The depth, array length and object size are checked as each structure is entered, before it is materialized. The
+ * string length is only checked once a string has been read, so the allocation of a single string is bounded by the
+ * document size rather than by the string length.
+ * <p>
+ * Instances are immutable.
+ */
+public final class ParseLimits {
+    private static final ParseLimits UNLIMITED = ParseLimits.builder().build();
+    private static final ParseLimits DEFAULTS = ParseLimits.builder()
+            .maxDocumentSize(1 << 22)
+            .maxDepth(64)
+            .maxStringLength(1 << 16)
+            .maxArrayLength(1 << 14)
+            .maxObjectSize(1 << 14)
+            .build();
+
+    private final long maxDocumentSize;
+    private final int maxDepth;
+    private final int maxStringLength;
+    private final int maxArrayLength;
+    private final int maxObjectSize;
+
+    private ParseLimits(final Builder builder) {
+        this.maxDocumentSize = builder.maxDocumentSize;
+        this.maxDepth = builder.maxDepth;
+        this.maxStringLength = builder.maxStringLength;
+        this.maxArrayLength = builder.maxArrayLength;
+        this.maxObjectSize = builder.maxObjectSize;
+    }
+
+    /**
+     * @return Limits that are never exceeded
+     */
+    public static ParseLimits unlimited() {
+        return ParseLimits.UNLIMITED;
+    }
+
+    /**
+     * Gets limits far above any legitimate metadata file: 4 Mi characters, 64 levels of nesting, strings of 64 Ki
+     * characters and 16 Ki elements per array or members per object.
+     *
+     * @return The limits
+     */
+    public static ParseLimits defaults() {
+        return ParseLimits.DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The maximum number of characters of the document
+     */
+    public long maxDocumentSize() {
+        return this.maxDocumentSize;
+    }
+
+    /**
+     * @return The maximum number of nested arrays and objects
+     */
+    public int maxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * Gets the maximum number of characters of a string or member name, checked once the string has been read.
+     * Only {@link #maxDocumentSize()} bounds the memory used while reading a string.
+     *
+     * @return The maximum number of characters of a string or member name
+     */
+    public int maxStringLength() {
+        return this.maxStringLength;
+    }
+
+    /**
+     * @return The maximum number of elements of an array
+     */
+    public int maxArrayLength() {
+        return this.maxArrayLength;
+    }
+
+    /**
+     * @return The maximum number of members of an object, such as the properties of a plugin
+     */
+    public int maxObjectSize() {
+        return this.maxObjectSize;
+    }
+
+    boolean isUnlimited() {
+        return this.maxDocumentSize == Long.MAX_VALUE && this.maxDepth == Integer.MAX_VALUE
+                && this.maxStringLength == Integer.MAX_VALUE && this.maxArrayLength == Integer.MAX_VALUE
+                && this.maxObjectSize == Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ParseLimits.class.getSimpleName() + "[", "]")
+                .add("maxDocumentSize=" + this.maxDocumentSize)
+                .add("maxDepth=" + this.maxDepth)
+                .add("maxStringLength=" + this.maxStringLength)
+                .add("maxArrayLength=" + this.maxArrayLength)
+                .add("maxObjectSize=" + this.maxObjectSize)
+                .toString();
+    }
+
+    public static final class Builder {
+
+        private long maxDocumentSize = Long.MAX_VALUE;
+        private int maxDepth = Integer.MAX_VALUE;
+        private int maxStringLength = Integer.MAX_VALUE;
+        private int maxArrayLength = Integer.MAX_VALUE;
+        private int maxObjectSize = Integer.MAX_VALUE;
+
+        private Builder() {}
+
+        public Builder maxDocumentSize(final long maxDocumentSize) {
+            this.maxDocumentSize = Builder.positive(maxDocumentSize, "maxDocumentSize");
+            return this;
+        }
+
+        public Builder maxDepth(final int maxDepth) {
+            this.maxDepth = (int) Builder.positive(maxDepth, "maxDepth");
+            return this;
+        }
+
+        public Builder maxStringLength(final int maxStringLength) {
+            this.maxStringLength = (int) Builder.positive(maxStringLength, "maxStringLength");
+            return this;
+        }
+
+        public Builder maxArrayLength(final int maxArrayLength) {
+            this.maxArrayLength = (int) Builder.positive(maxArrayLength, "maxArrayLength");
+            return this;
+        }
+
+        public Builder maxObjectSize(final int maxObjectSize) {
+            this.maxObjectSize = (int) Builder.positive(maxObjectSize, "maxObjectSize");
+            return this;
+        }
+
+        private static long positive(final long value, final String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(String.format("%s must be positive", name));
+            }
+            return value;
+        }
+
+        public ParseLimits build() {
+            return new ParseLimits(this);
+        }
+    }
+}
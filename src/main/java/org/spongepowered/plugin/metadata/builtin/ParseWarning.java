@@ -0,0 +1,66 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A warning generated by a (de)serializer while reading metadata, so that the platform may log it when appropriate.
+ *
+ * @param code The code identifying the kind of warning, such as {@link #LEGACY_ID}
+ * @param plugin The id of the plugin the warning is about or {@link Optional#empty()} otherwise
+ * @param file The file being read or {@link Optional#empty()} otherwise
+ * @param message The message
+ * @param count The number of times the warning was generated
+ */
+public record ParseWarning(String code, Optional<String> plugin, Optional<Path> file, String message, int count) {
+
+    /**
+     * A plugin id in a legacy format was converted to a valid id.
+     */
+    public static final String LEGACY_ID = "legacy_id";
+    /**
+     * A warning added without a code through {@link MetadataParser#addWarning(String)}.
+     */
+    public static final String OTHER = "other";
+
+    public ParseWarning {
+        Objects.requireNonNull(code, "code");
+        Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(message, "message");
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+    }
+
+    public ParseWarning(final String code, final @Nullable String plugin, final @Nullable Path file, final String message, final int count) {
+        this(code, Optional.ofNullable(plugin), Optional.ofNullable(file), message, count);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An entry of the {@code plugins} array that was skipped by a {@link ParseContext.Builder#tolerant(boolean) tolerant}
+ * read because it is invalid.
+ *
+ * @param file The file being read or {@link Optional#empty()} otherwise
+ * @param index The index of the entry in the {@code plugins} array
+ * @param id The id declared by the entry or {@link Optional#empty()} if it could not be read
+ * @param cause The reason the entry is invalid
+ */
+public record RejectedPlugin(Optional<Path> file, int index, Optional<String> id, RuntimeException cause) {
+
+    public RejectedPlugin {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(cause, "cause");
+    }
+
+    public RejectedPlugin(final @Nullable Path file, final int index, final @Nullable String id, final RuntimeException cause) {
+        this(Optional.ofNullable(file), index, Optional.ofNullable(id), cause);
+    }
+
+    /**
+     * @return The JSON path of the entry, such as {@code $.plugins[2]}
+     */
+    public String location() {
+        return "$.plugins[" + this.index + "]";
+    }
+}
@@ -29,6 +29,7 @@
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.plugin.metadata.Constants;
 import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.PropertyKey;
 import org.spongepowered.plugin.metadata.model.PluginBranding;
 import org.spongepowered.plugin.metadata.model.PluginConflict;
 import org.spongepowered.plugin.metadata.model.PluginContributor;
@@ -36,6 +37,7 @@
 import org.spongepowered.plugin.metadata.model.PluginEntrypoints;
 import org.spongepowered.plugin.metadata.model.PluginLinks;
 import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+import org.spongepowered.plugin.metadata.util.PropertyMemo;
 
 import java.util.Collection;
 import java.util.List;
@@ -61,6 +63,7 @@ public final class StandardPluginMetadata implements PluginMetadata {
     private final List<PluginConflict> conflicts;
     private final Map<String, PluginDependency> dependencies;
     private final Map<String, Object> properties;
+    private final PropertyMemo decoded = new PropertyMemo();
 
     private StandardPluginMetadata(final Builder builder) {
         this.id = builder.id;
@@ -160,6 +163,16 @@ public <T> Optional<T> property(final String key) {
         return Optional.ofNullable((T) this.properties.get(Objects.requireNonNull(key, "key")));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The converted property is remembered for the first few keys, later lookups with the same key return it directly.
+     */
+    @Override
+    public <T> Optional<T> property(final PropertyKey<T> key) {
+        return this.decoded.get(key, PluginMetadata.super::property);
+    }
+
     @Override
     public Map<String, Object> properties() {
         return this.properties;
@@ -27,6 +27,7 @@
 import com.google.gson.*;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.JsonProperty;
 import org.spongepowered.plugin.metadata.builtin.adapter.util.GsonUtils;
 import org.spongepowered.plugin.metadata.model.PluginBranding;
 import org.spongepowered.plugin.metadata.model.PluginConflict;
@@ -54,7 +55,7 @@ public InheritableMetadata deserialize(final JsonElement element, final Type typ
                 .contributors(GsonUtils.stream(obj, "contributors").map(v -> context.<PluginContributor>deserialize(v, PluginContributor.class)).toList())
                 .conflicts(GsonUtils.stream(obj, "conflicts").map(v -> context.<PluginConflict>deserialize(v, PluginConflict.class)).toList())
                 .dependencies(GsonUtils.stream(obj, "dependencies").map(v -> context.<PluginDependency>deserialize(v, PluginDependency.class)).toList())
-                .properties(GsonUtils.deserializeMap(obj.get("properties"), JsonElement::getAsString, LinkedHashMap::new))
+                .properties(GsonUtils.deserializeMap(obj.get("properties"), InheritableMetadataAdapter::deserializeProperty, LinkedHashMap::new))
                 .build();
     }
 
@@ -82,8 +83,24 @@ public JsonElement serialize(final InheritableMetadata value, final Type type, f
             obj.add("dependencies", GsonUtils.toArray(value.dependencies().values().stream().map(v -> context.serialize(v, PluginDependency.class))));
         }
         if (!value.properties().isEmpty()) {
-            obj.add("properties", GsonUtils.serializeMap(value.properties(), v -> new JsonPrimitive(v.toString())));
+            obj.add("properties", GsonUtils.serializeMap(value.properties(), InheritableMetadataAdapter::serializeProperty));
         }
         return obj;
     }
+
+    // Scalars are kept as strings, nested values are kept as read and only decoded when asked for
+    private static Object deserializeProperty(final JsonElement element) {
+        if (element instanceof JsonPrimitive primitive) {
+            return primitive.getAsString();
+        }
+        return JsonProperty.of(element);
+    }
+
+    private static JsonElement serializeProperty(final Object value) {
+        if (value instanceof JsonProperty property) {
+            // The tree is only written out, sharing the element avoids copying it on every write
+            return property.unwrap();
+        }
+        return new JsonPrimitive(value.toString());
+    }
 }
@@ -32,10 +32,12 @@
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.builtin.MetadataParser;
+import org.spongepowered.plugin.metadata.builtin.ParseContext;
 import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
 import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
-import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
 import org.spongepowered.plugin.metadata.builtin.adapter.util.GsonUtils;
 
 import java.lang.reflect.Type;
@@ -48,23 +50,18 @@ public final class MetadataContainerAdapter implements JsonSerializer<MetadataCo
     public MetadataContainer deserialize(final JsonElement element, final Type type, final JsonDeserializationContext context) throws JsonParseException {
         final JsonObject obj = element.getAsJsonObject();
 
-        // Read some global data in the root element for retro-compatibility
-        InheritableMetadata global = InheritableMetadata.builder()
-                .loader(GsonUtils.optional(obj, "loader").map(v -> context.<PluginLoaderSpecification>deserialize(v, PluginLoaderSpecification.class)).orElse(null))
-                .license(GsonUtils.optional(obj, "license").map(JsonElement::getAsString).orElse(null))
-                .build();
-
-        final JsonElement globalElement = obj.get("global");
-        if (globalElement instanceof JsonObject) {
-            global = global.with(context.deserialize(globalElement, InheritableMetadata.class));
-        }
+        final InheritableMetadata global = MetadataParser.global(context, obj.get("loader"), obj.get("license"), obj.get("global"));
 
         final List<StandardPluginMetadata> plugins = new LinkedList<>();
+        final ParseContext parseContext = ParseContext.currentOrFallback();
         if (GsonUtils.require(obj, "plugins") instanceof JsonArray pluginsArray) {
-            for (final JsonElement pluginElement : pluginsArray) {
-                if (pluginElement.isJsonObject()) {
-                    plugins.add(context.<StandardPluginMetadata.Builder>deserialize(pluginElement, StandardPluginMetadata.Builder.class)
-                            .global(global).build());
+            for (int i = 0; i < pluginsArray.size(); i++) {
+                if (pluginsArray.get(i) instanceof JsonObject pluginObject) {
+                    final @Nullable StandardPluginMetadata plugin = parseContext.readPlugin(i, pluginObject,
+                            v -> context.<StandardPluginMetadata.Builder>deserialize(v, StandardPluginMetadata.Builder.class).global(global).build());
+                    if (plugin != null) {
+                        plugins.add(plugin);
+                    }
                 }
             }
         }
@@ -39,13 +39,14 @@ public final class StandardPluginMetadataBuilderDeserializer implements JsonDese
     @Override
     public StandardPluginMetadata.Builder deserialize(final JsonElement element, final Type type, final JsonDeserializationContext context) throws JsonParseException {
         final JsonObject obj = element.getAsJsonObject();
+        final String id = LegacyIds.fix(GsonUtils.require(obj, "id").getAsString());
         return StandardPluginMetadata.builder()
-                .id(LegacyIds.fix(GsonUtils.require(obj, "id").getAsString()))
+                .id(id)
                 .entrypoints(
                         GsonUtils.optional(obj, "entrypoints").map(v -> context.<PluginEntrypoints>deserialize(v, PluginEntrypoints.class))
                                 .or(() -> GsonUtils.optional(obj, "entrypoint").map(v -> new PluginEntrypoints(List.of(v.getAsString())))) // legacy
                                 .orElseGet(PluginEntrypoints::none)
                 )
-                .override(context.deserialize(element, InheritableMetadata.class));
+                .override(LegacyIds.reading(id, () -> context.deserialize(element, InheritableMetadata.class)));
     }
 }
@@ -41,9 +41,9 @@ public final class PluginBrandingAdapter implements JsonSerializer<PluginBrandin
     @Override
     public PluginBranding deserialize(final JsonElement element, final Type type, final JsonDeserializationContext context) throws JsonParseException {
         final JsonObject obj = element.getAsJsonObject();
-        return new PluginBranding(
-                GsonUtils.optional(obj, "logo").map(JsonElement::getAsString),
-                GsonUtils.optional(obj, "icon").map(JsonElement::getAsString)
+        return PluginBranding.of(
+                GsonUtils.optional(obj, "icon").map(JsonElement::getAsString).orElse(null),
+                GsonUtils.optional(obj, "logo").map(JsonElement::getAsString).orElse(null)
         );
     }
 
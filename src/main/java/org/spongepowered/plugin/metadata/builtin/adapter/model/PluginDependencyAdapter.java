@@ -38,7 +38,7 @@ public final class PluginDependencyAdapter implements JsonSerializer<PluginDepen
     public PluginDependency deserialize(final JsonElement element, final Type type, final JsonDeserializationContext context) throws JsonParseException {
         final JsonObject obj = element.getAsJsonObject();
         return new PluginDependency(
-                LegacyIds.fix(GsonUtils.require(obj, "id").getAsString()),
+                LegacyIds.fixDependency(GsonUtils.require(obj, "id").getAsString()),
                 context.deserialize(GsonUtils.require(obj, "version"), VersionRange.class),
                 GsonUtils.optional(obj, "load-order")
                         .map(v -> context.<PluginDependency.LoadOrder>deserialize(v, PluginDependency.LoadOrder.class))
@@ -38,15 +38,18 @@ public PluginEntrypoints deserialize(final JsonElement element, final Type type,
         if (element.isJsonNull()) {
             return PluginEntrypoints.none();
         }
+        final PluginEntrypoints entrypoints;
         if (element instanceof JsonArray array) {
-            return new PluginEntrypoints(array.asList().stream().map(JsonElement::getAsString).toList());
+            entrypoints = new PluginEntrypoints(array.asList().stream().map(JsonElement::getAsString).toList());
+        } else {
+            final JsonObject obj = element.getAsJsonObject();
+            entrypoints = new PluginEntrypoints(
+                    PluginEntrypointsAdapter.deserialize(obj, "main"),
+                    PluginEntrypointsAdapter.deserialize(obj, "server"),
+                    PluginEntrypointsAdapter.deserialize(obj, "client")
+            );
         }
-        final JsonObject obj = element.getAsJsonObject();
-        return new PluginEntrypoints(
-                PluginEntrypointsAdapter.deserialize(obj, "main"),
-                PluginEntrypointsAdapter.deserialize(obj, "server"),
-                PluginEntrypointsAdapter.deserialize(obj, "client")
-        );
+        return entrypoints.equals(PluginEntrypoints.none()) ? PluginEntrypoints.none() : entrypoints;
     }
 
     @Override
@@ -37,11 +37,12 @@ public final class PluginLinksAdapter implements JsonSerializer<PluginLinks>, Js
     @Override
     public PluginLinks deserialize(final JsonElement element, final Type type, final JsonDeserializationContext context) throws JsonParseException {
         final JsonObject obj = element.getAsJsonObject();
-        return new PluginLinks(
+        final PluginLinks links = new PluginLinks(
                 PluginLinksAdapter.deserialize(obj, "homepage", context),
                 PluginLinksAdapter.deserialize(obj, "source", context),
                 PluginLinksAdapter.deserialize(obj, "issues", context)
         );
+        return links.equals(PluginLinks.none()) ? PluginLinks.none() : links;
     }
 
     @Override
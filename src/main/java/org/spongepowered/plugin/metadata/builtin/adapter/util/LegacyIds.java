@@ -24,19 +24,57 @@
  */
 package org.spongepowered.plugin.metadata.builtin.adapter.util;
 
-import org.spongepowered.plugin.metadata.builtin.MetadataParser;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.builtin.ParseContext;
+import org.spongepowered.plugin.metadata.builtin.ParseWarning;
+
+import java.util.function.Supplier;
 
 /**
  * This is not public API as this package is not exported by the module.
  */
 public class LegacyIds {
+    // The id of the plugin being read by the calling thread, the warnings about its dependencies are about it
+    private static final ThreadLocal<@Nullable String> PLUGIN = new ThreadLocal<>();
 
+    /**
+     * Fixes the id of a plugin.
+     */
     public static String fix(final String original) {
+        return LegacyIds.fix(original, null);
+    }
+
+    /**
+     * Fixes the id of a dependency of the plugin being {@link #reading(String, Supplier) read}.
+     */
+    public static String fixDependency(final String original) {
+        return LegacyIds.fix(original, LegacyIds.PLUGIN.get());
+    }
+
+    /**
+     * Runs a reader while the plugin with the given id is being read by the calling thread.
+     */
+    public static <T> T reading(final String plugin, final Supplier<T> reader) {
+        final @Nullable String previous = LegacyIds.PLUGIN.get();
+        LegacyIds.PLUGIN.set(plugin);
+        try {
+            return reader.get();
+        } finally {
+            if (previous == null) {
+                LegacyIds.PLUGIN.remove();
+            } else {
+                LegacyIds.PLUGIN.set(previous);
+            }
+        }
+    }
+
+    private static String fix(final String original, final @Nullable String plugin) {
         if (original.indexOf('-') < 0) {
             return original;
         }
         final String fixed = original.replace('-', '_');
-        MetadataParser.addWarning("Plugin id '" + original + "' is invalid and has been converted to '" + fixed + "'.");
+        ParseContext.currentOrFallback().warn(ParseWarning.LEGACY_ID, plugin == null ? fixed : plugin,
+                "Plugin id '" + original + "' is invalid and has been converted to '" + fixed + "'.");
         return fixed;
     }
 }
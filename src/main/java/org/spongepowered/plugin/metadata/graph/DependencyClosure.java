@@ -0,0 +1,279 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+
+/**
+ * The transitive {@link PluginMetadata#dependencies() dependencies} of every plugin of a set, regardless of load order.
+ * <p>
+ * Plugins are assigned dense ordinals following the iteration order of the source collection. Dependency cycles are
+ * condensed into strongly connected components, whose closures are computed once, in dependency order, by merging
+ * the already computed closures of the components they depend on. Plugins of a same component share their closure.
+ * Dependencies on plugins that are not part of the set are ignored.
+ */
+public final class DependencyClosure {
+    private final List<PluginMetadata> plugins;
+    private final Map<String, Integer> ordinals;
+    private final int[] components;
+    private final OrdinalSet[] closures;
+
+    private DependencyClosure(final List<PluginMetadata> plugins, final Map<String, Integer> ordinals, final int[] components,
+            final OrdinalSet[] closures) {
+        this.plugins = plugins;
+        this.ordinals = ordinals;
+        this.components = components;
+        this.closures = closures;
+    }
+
+    /**
+     * Computes the closure of the given plugins, following both required and optional dependencies.
+     *
+     * @param plugins The plugins
+     * @return The closure
+     */
+    public static DependencyClosure of(final Collection<? extends PluginMetadata> plugins) {
+        return DependencyClosure.of(plugins, true);
+    }
+
+    /**
+     * Computes the closure of the given plugins.
+     *
+     * @param plugins The plugins
+     * @param optional Whether optional dependencies are followed
+     * @return The closure
+     * @throws IllegalArgumentException if two plugins share the same {@link PluginMetadata#id() id}
+     */
+    public static DependencyClosure of(final Collection<? extends PluginMetadata> plugins, final boolean optional) {
+        final List<PluginMetadata> list = List.copyOf(Objects.requireNonNull(plugins, "plugins"));
+        final int size = list.size();
+        final Map<String, Integer> ordinals = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            if (ordinals.putIfAbsent(list.get(i).id(), i) != null) {
+                throw new IllegalArgumentException(String.format("Duplicate plugin id '%s'", list.get(i).id()));
+            }
+        }
+
+        final int[] offsets = new int[size + 1];
+        int[] targets = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            for (final PluginDependency dependency : list.get(i).dependencies()) {
+                final Integer target = ordinals.get(dependency.id());
+                if (target != null && (optional || !dependency.optional())) {
+                    if (count == targets.length) {
+                        targets = Arrays.copyOf(targets, Math.max(16, count * 2));
+                    }
+                    targets[count++] = target;
+                }
+            }
+            offsets[i + 1] = count;
+        }
+
+        final int[] components = new int[size];
+        final int componentCount = DependencyClosure.condense(offsets, targets, components);
+
+        // Members of each component, grouped in the same compressed row form as the edges
+        final int[] memberOffsets = new int[componentCount + 1];
+        for (final int component : components) {
+            memberOffsets[component + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        final int[] members = new int[size];
+        final int[] cursor = Arrays.copyOf(memberOffsets, componentCount);
+        for (int node = 0; node < size; node++) {
+            members[cursor[components[node]]++] = node;
+        }
+
+        // Components are numbered in completion order, so everything a component depends on is already computed
+        final OrdinalSet[] closures = new OrdinalSet[componentCount];
+        final long[] scratch = new long[(size + 63) >>> 6];
+        final int[] stamps = new int[componentCount];
+        Arrays.fill(stamps, -1);
+        for (int c = 0; c < componentCount; c++) {
+            boolean cyclic = memberOffsets[c + 1] - memberOffsets[c] > 1;
+            for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                final int node = members[m];
+                for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                    final int other = components[targets[e]];
+                    if (other == c) {
+                        cyclic = true;
+                    } else if (stamps[other] != c) {
+                        stamps[other] = c;
+                        closures[other].orInto(scratch);
+                        for (int o = memberOffsets[other]; o < memberOffsets[other + 1]; o++) {
+                            scratch[members[o] >>> 6] |= 1L << members[o];
+                        }
+                    }
+                }
+            }
+            if (cyclic) {
+                for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                    scratch[members[m] >>> 6] |= 1L << members[m];
+                }
+            }
+            closures[c] = OrdinalSet.of(scratch, scratch.length);
+            Arrays.fill(scratch, 0L);
+        }
+        return new DependencyClosure(list, ordinals, components, closures);
+    }
+
+    /**
+     * Labels the strongly connected components of the graph with Tarjan's algorithm, without recursion.
+     *
+     * @return The number of components
+     */
+    private static int condense(final int[] offsets, final int[] targets, final int[] components) {
+        final int size = components.length;
+        final int[] index = new int[size], low = new int[size], position = new int[size];
+        final int[] stack = new int[size], calls = new int[size];
+        final boolean[] onStack = new boolean[size];
+        Arrays.fill(index, -1);
+        int counter = 0, stackSize = 0, componentCount = 0;
+        for (int root = 0; root < size; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            calls[depth++] = root;
+            index[root] = low[root] = counter++;
+            position[root] = offsets[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth > 0) {
+                final int node = calls[depth - 1];
+                if (position[node] < offsets[node + 1]) {
+                    final int target = targets[position[node]++];
+                    if (index[target] < 0) {
+                        index[target] = low[target] = counter++;
+                        position[target] = offsets[target];
+                        stack[stackSize++] = target;
+                        onStack[target] = true;
+                        calls[depth++] = target;
+                    } else if (onStack[target]) {
+                        low[node] = Math.min(low[node], index[target]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (low[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        components[member] = componentCount;
+                    } while (member != node);
+                    componentCount++;
+                }
+                if (depth > 0) {
+                    final int parent = calls[depth - 1];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+            }
+        }
+        return componentCount;
+    }
+
+    public int size() {
+        return this.plugins.size();
+    }
+
+    public PluginMetadata plugin(final int ordinal) {
+        return this.plugins.get(ordinal);
+    }
+
+    /**
+     * Gets the ordinal assigned to the plugin with the given {@link String id}.
+     *
+     * @param id The id
+     * @return The ordinal or {@link OptionalInt#empty()} if the plugin is not part of this closure
+     */
+    public OptionalInt ordinal(final String id) {
+        final Integer ordinal = this.ordinals.get(Objects.requireNonNull(id, "id"));
+        return ordinal == null ? OptionalInt.empty() : OptionalInt.of(ordinal);
+    }
+
+    /**
+     * Checks whether the plugin {@code dependent} transitively depends on the plugin {@code dependency}. A plugin
+     * only depends on itself when it is part of a dependency cycle.
+     *
+     * @param dependent The id of the dependent
+     * @param dependency The id of the dependency
+     * @return True if there is a chain of dependencies from the dependent to the dependency
+     */
+    public boolean dependsOnTransitively(final String dependent, final String dependency) {
+        final Integer from = this.ordinals.get(Objects.requireNonNull(dependent, "dependent"));
+        final Integer to = this.ordinals.get(Objects.requireNonNull(dependency, "dependency"));
+        return from != null && to != null && this.dependsOnTransitively(from, to);
+    }
+
+    public boolean dependsOnTransitively(final int dependent, final int dependency) {
+        Objects.checkIndex(dependent, this.size());
+        Objects.checkIndex(dependency, this.size());
+        return this.closures[this.components[dependent]].contains(dependency);
+    }
+
+    /**
+     * @param ordinal The ordinal
+     * @return The ordinals of every transitive dependency of the plugin, in ascending order
+     */
+    public IntStream closure(final int ordinal) {
+        Objects.checkIndex(ordinal, this.size());
+        return this.closures[this.components[ordinal]].stream();
+    }
+
+    /**
+     * @param ordinal The ordinal
+     * @return The number of transitive dependencies of the plugin
+     */
+    public int closureSize(final int ordinal) {
+        Objects.checkIndex(ordinal, this.size());
+        return this.closures[this.components[ordinal]].cardinality();
+    }
+
+    /**
+     * @param id The id
+     * @return The transitive dependencies of the plugin, or an empty {@link List} if it is not part of this closure
+     */
+    public List<PluginMetadata> closure(final String id) {
+        final Integer ordinal = this.ordinals.get(Objects.requireNonNull(id, "id"));
+        if (ordinal == null) {
+            return List.of();
+        }
+        return this.closure(ordinal).mapToObj(this.plugins::get).toList();
+    }
+}
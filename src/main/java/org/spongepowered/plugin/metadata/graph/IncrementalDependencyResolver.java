@@ -0,0 +1,350 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.util.VersionRanges;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps the dependency and conflict graph of a set of {@link PluginMetadata plugins} in memory so that plugins can
+ * be added or removed one at a time without resolving the whole set again.
+ * <p>
+ * Declarations are indexed by the id they target, whether that plugin is present or not, so a change only visits
+ * the plugins that reference it. The load order is kept as a topological labelling that is repaired locally when
+ * an edge is added, following Pearce and Kelly's dynamic topological sort.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class IncrementalDependencyResolver {
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    private final Map<String, Set<String>> conflicting = new HashMap<>();
+    private final NavigableMap<Integer, Node> order = new TreeMap<>();
+    private int nextLabel;
+
+    public int size() {
+        return this.nodes.size();
+    }
+
+    public Optional<PluginMetadata> plugin(final String id) {
+        final Node node = this.nodes.get(Objects.requireNonNull(id, "id"));
+        return node == null ? Optional.empty() : Optional.of(node.plugin);
+    }
+
+    /**
+     * Gets the current load order. This copies every plugin and should not be called for each change.
+     *
+     * @return The plugins in a valid load order
+     */
+    public List<PluginMetadata> order() {
+        return this.order.values().stream().map(node -> node.plugin).toList();
+    }
+
+    /**
+     * Adds a {@link PluginMetadata plugin}.
+     * <p>
+     * If the plugin would introduce a load order cycle, it is not added and the resolver is left unchanged
+     * apart from a possibly different, still valid, load order.
+     *
+     * @param plugin The plugin
+     * @return The changes caused by the addition
+     * @throws IllegalArgumentException if a plugin with the same id is already present
+     * @throws LoadOrderCycleException if the plugin would introduce a load order cycle
+     */
+    public ResolutionDelta add(final PluginMetadata plugin) {
+        Objects.requireNonNull(plugin, "plugin");
+        final String id = plugin.id();
+        if (this.nodes.containsKey(id)) {
+            throw new IllegalArgumentException(String.format("Plugin '%s' is already present", id));
+        }
+        final Node node = new Node(plugin, this.nextLabel++);
+        this.nodes.put(id, node);
+        this.order.put(node.label, node);
+        for (final PluginDependency dependency : plugin.dependencies()) {
+            this.dependents.computeIfAbsent(dependency.id(), k -> new LinkedHashSet<>()).add(id);
+        }
+        for (final PluginConflict conflict : plugin.conflicts()) {
+            this.conflicting.computeIfAbsent(conflict.id(), k -> new LinkedHashSet<>()).add(id);
+        }
+
+        final Set<String> affected = new LinkedHashSet<>();
+        affected.add(id);
+        final List<ResolutionDelta.Link> satisfied = new ArrayList<>(), unsatisfied = new ArrayList<>();
+        final List<Node> before = new ArrayList<>(), after = new ArrayList<>();
+        for (final PluginDependency dependency : plugin.dependencies()) {
+            final Node target = this.nodes.get(dependency.id());
+            if (target != null && target != node && VersionRanges.contains(dependency.version(), target.plugin.version())) {
+                satisfied.add(new ResolutionDelta.Link(id, dependency));
+            } else {
+                unsatisfied.add(new ResolutionDelta.Link(id, dependency));
+            }
+            if (target != null && target != node) {
+                IncrementalDependencyResolver.place(dependency.loadOrder(), target, before, after);
+            }
+        }
+        for (final String dependentId : this.dependents.getOrDefault(id, Set.of())) {
+            final Node dependent = this.nodes.get(dependentId);
+            if (dependent == node) {
+                continue;
+            }
+            final PluginDependency dependency = dependent.plugin.dependency(id).orElseThrow();
+            if (VersionRanges.contains(dependency.version(), plugin.version())) {
+                satisfied.add(new ResolutionDelta.Link(dependentId, dependency));
+                affected.add(dependentId);
+            }
+            // The dependent's constraint is mirrored: AFTER on us means we load before it
+            IncrementalDependencyResolver.place(dependency.loadOrder(), dependent, after, before);
+        }
+
+        // The new node holds the highest label, so incoming edges never need a repair
+        final Set<Node> moved = new LinkedHashSet<>();
+        for (final Node predecessor : before) {
+            this.link(predecessor, node, moved);
+        }
+        try {
+            for (final Node successor : after) {
+                this.link(node, successor, moved);
+            }
+        } catch (final LoadOrderCycleException e) {
+            this.remove(id);
+            throw e;
+        }
+        final List<String> reordered = new ArrayList<>(moved.size());
+        for (final Node m : moved) {
+            reordered.add(m.plugin.id());
+            affected.add(m.plugin.id());
+        }
+
+        return new ResolutionDelta(ResolutionDelta.Change.ADDED, plugin, affected, satisfied, unsatisfied,
+                this.conflicts(node), reordered);
+    }
+
+    /**
+     * Removes the plugin with the given {@link String id}.
+     * <p>
+     * The affected plugins include every plugin that transitively requires the removed plugin through
+     * non-optional dependencies.
+     *
+     * @param id The id
+     * @return The changes caused by the removal
+     * @throws IllegalArgumentException if no plugin with the id is present
+     */
+    public ResolutionDelta remove(final String id) {
+        final Node node = this.nodes.get(Objects.requireNonNull(id, "id"));
+        if (node == null) {
+            throw new IllegalArgumentException(String.format("Plugin '%s' is not present", id));
+        }
+        final PluginMetadata plugin = node.plugin;
+        final List<ResolutionDelta.ConflictLink> conflicts = this.conflicts(node);
+
+        this.nodes.remove(id);
+        this.order.remove(node.label);
+        for (final PluginDependency dependency : plugin.dependencies()) {
+            IncrementalDependencyResolver.unindex(this.dependents, dependency.id(), id);
+        }
+        for (final PluginConflict conflict : plugin.conflicts()) {
+            IncrementalDependencyResolver.unindex(this.conflicting, conflict.id(), id);
+        }
+        for (final Node successor : node.successors) {
+            successor.predecessors.remove(node);
+        }
+        for (final Node predecessor : node.predecessors) {
+            predecessor.successors.remove(node);
+        }
+
+        final List<ResolutionDelta.Link> unsatisfied = new ArrayList<>();
+        for (final String dependentId : this.dependents.getOrDefault(id, Set.of())) {
+            final PluginDependency dependency = this.nodes.get(dependentId).plugin.dependency(id).orElseThrow();
+            if (VersionRanges.contains(dependency.version(), plugin.version())) {
+                unsatisfied.add(new ResolutionDelta.Link(dependentId, dependency));
+            }
+        }
+
+        final Set<String> affected = new LinkedHashSet<>();
+        affected.add(id);
+        final Deque<String> queue = new ArrayDeque<>();
+        queue.add(id);
+        while (!queue.isEmpty()) {
+            final String current = queue.poll();
+            for (final String dependentId : this.dependents.getOrDefault(current, Set.of())) {
+                final PluginDependency dependency = this.nodes.get(dependentId).plugin.dependency(current).orElseThrow();
+                if (!dependency.optional() && affected.add(dependentId)) {
+                    queue.add(dependentId);
+                }
+            }
+        }
+
+        return new ResolutionDelta(ResolutionDelta.Change.REMOVED, plugin, affected, List.of(), unsatisfied, conflicts, List.of());
+    }
+
+    private List<ResolutionDelta.ConflictLink> conflicts(final Node node) {
+        final String id = node.plugin.id();
+        final List<ResolutionDelta.ConflictLink> conflicts = new ArrayList<>();
+        for (final PluginConflict conflict : node.plugin.conflicts()) {
+            final Node target = this.nodes.get(conflict.id());
+            if (target != null && target != node && VersionRanges.contains(conflict.version(), target.plugin.version())) {
+                conflicts.add(new ResolutionDelta.ConflictLink(id, conflict));
+            }
+        }
+        for (final String declarerId : this.conflicting.getOrDefault(id, Set.of())) {
+            final Node declarer = this.nodes.get(declarerId);
+            if (declarer == node) {
+                continue;
+            }
+            for (final PluginConflict conflict : declarer.plugin.conflicts()) {
+                if (conflict.id().equals(id) && VersionRanges.contains(conflict.version(), node.plugin.version())) {
+                    conflicts.add(new ResolutionDelta.ConflictLink(declarerId, conflict));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Adds an edge meaning that {@code from} must be loaded before {@code to}, repairing the labelling
+     * of the nodes between them if needed.
+     */
+    private void link(final Node from, final Node to, final Set<Node> moved) {
+        if (!from.successors.add(to)) {
+            return;
+        }
+        to.predecessors.add(from);
+        if (from.label < to.label) {
+            return;
+        }
+
+        // Nodes reachable from `to` that are currently placed no later than `from`
+        final List<Node> forward = new ArrayList<>();
+        final Map<Node, Node> parents = new HashMap<>();
+        final Deque<Node> stack = new ArrayDeque<>();
+        stack.push(to);
+        parents.put(to, to);
+        while (!stack.isEmpty()) {
+            final Node current = stack.pop();
+            if (current == from) {
+                from.successors.remove(to);
+                to.predecessors.remove(from);
+                final List<String> cycle = new ArrayList<>();
+                for (Node n = from; n != to; n = parents.get(n)) {
+                    cycle.add(n.plugin.id());
+                }
+                cycle.add(to.plugin.id());
+                cycle.add(from.plugin.id());
+                Collections.reverse(cycle);
+                throw new LoadOrderCycleException(cycle);
+            }
+            forward.add(current);
+            for (final Node successor : current.successors) {
+                if (successor.label <= from.label && !parents.containsKey(successor)) {
+                    parents.put(successor, current);
+                    stack.push(successor);
+                }
+            }
+        }
+
+        // Nodes that reach `from` and are currently placed after `to`
+        final List<Node> backward = new ArrayList<>();
+        final Set<Node> seen = new HashSet<>();
+        stack.push(from);
+        seen.add(from);
+        while (!stack.isEmpty()) {
+            final Node current = stack.pop();
+            backward.add(current);
+            for (final Node predecessor : current.predecessors) {
+                if (predecessor.label > to.label && seen.add(predecessor)) {
+                    stack.push(predecessor);
+                }
+            }
+        }
+
+        // Reuse the labels of the affected region, placing everything that reaches `from` first
+        final Comparator<Node> byLabel = Comparator.comparingInt(n -> n.label);
+        backward.sort(byLabel);
+        forward.sort(byLabel);
+        final List<Node> region = new ArrayList<>(backward.size() + forward.size());
+        region.addAll(backward);
+        region.addAll(forward);
+        final int[] labels = new int[region.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = region.get(i).label;
+            this.order.remove(labels[i]);
+        }
+        Arrays.sort(labels);
+        for (int i = 0; i < labels.length; i++) {
+            final Node n = region.get(i);
+            if (n.label != labels[i]) {
+                n.label = labels[i];
+                moved.add(n);
+            }
+            this.order.put(n.label, n);
+        }
+    }
+
+    private static void place(final PluginDependency.LoadOrder loadOrder, final Node target, final List<Node> before, final List<Node> after) {
+        switch (loadOrder) {
+            case AFTER -> before.add(target);
+            case BEFORE -> after.add(target);
+            case UNDEFINED -> { }
+        }
+    }
+
+    private static void unindex(final Map<String, Set<String>> index, final String key, final String id) {
+        final Set<String> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static final class Node {
+        final PluginMetadata plugin;
+        final Set<Node> successors = new LinkedHashSet<>();
+        final Set<Node> predecessors = new LinkedHashSet<>();
+        int label;
+
+        Node(final PluginMetadata plugin, final int label) {
+            this.plugin = plugin;
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+
+/**
+ * An immutable graph of the load order constraints declared between a set of {@link PluginMetadata plugins}.
+ * <p>
+ * Each plugin is assigned a dense ordinal following the iteration order of the source collection. An edge from
+ * {@code a} to {@code b} means that {@code a} must be loaded before {@code b}, as declared through
+ * {@link PluginDependency.LoadOrder#BEFORE} or {@link PluginDependency.LoadOrder#AFTER}. Dependencies on plugins
+ * that are not part of the set do not produce edges.
+ */
+public final class LoadOrderGraph {
+    private final List<PluginMetadata> plugins;
+    private final Map<String, Integer> ordinals;
+    // Edges are stored in compressed sparse row form: the targets of node n are in [offsets[n], offsets[n + 1])
+    final int[] successorOffsets, successors;
+    final int[] predecessorOffsets, predecessors;
+
+    private LoadOrderGraph(final List<PluginMetadata> plugins, final Map<String, Integer> ordinals, final long[] edges) {
+        this.plugins = plugins;
+        this.ordinals = ordinals;
+        this.successorOffsets = new int[plugins.size() + 1];
+        this.successors = new int[edges.length];
+        this.predecessorOffsets = new int[plugins.size() + 1];
+        this.predecessors = new int[edges.length];
+        LoadOrderGraph.fill(edges, true, this.successorOffsets, this.successors);
+        LoadOrderGraph.fill(edges, false, this.predecessorOffsets, this.predecessors);
+    }
+
+    /**
+     * Builds the graph for the given {@link PluginMetadata plugins}.
+     *
+     * @param plugins The plugins
+     * @return The graph
+     * @throws IllegalArgumentException if two plugins share the same {@link PluginMetadata#id() id}
+     */
+    public static LoadOrderGraph of(final Collection<? extends PluginMetadata> plugins) {
+        final List<PluginMetadata> list = List.copyOf(Objects.requireNonNull(plugins, "plugins"));
+        final Map<String, Integer> ordinals = new HashMap<>(list.size() * 4 / 3 + 1);
+        for (int i = 0; i < list.size(); i++) {
+            final String id = list.get(i).id();
+            if (ordinals.putIfAbsent(id, i) != null) {
+                throw new IllegalArgumentException(String.format("Duplicate plugin id '%s'", id));
+            }
+        }
+
+        long[] edges = new long[Math.max(16, list.size())];
+        int count = 0;
+        for (int i = 0; i < list.size(); i++) {
+            for (final PluginDependency dependency : list.get(i).dependencies()) {
+                final Integer other = ordinals.get(dependency.id());
+                if (other == null || other == i) {
+                    continue;
+                }
+                final long edge = switch (dependency.loadOrder()) {
+                    case AFTER -> LoadOrderGraph.edge(other, i);
+                    case BEFORE -> LoadOrderGraph.edge(i, other);
+                    case UNDEFINED -> -1L;
+                };
+                if (edge < 0) {
+                    continue;
+                }
+                if (count == edges.length) {
+                    edges = Arrays.copyOf(edges, count * 2);
+                }
+                edges[count++] = edge;
+            }
+        }
+
+        // Sorting the packed edges groups them by source and makes duplicates adjacent
+        Arrays.sort(edges, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || edges[distinct - 1] != edges[i]) {
+                edges[distinct++] = edges[i];
+            }
+        }
+        return new LoadOrderGraph(list, ordinals, Arrays.copyOf(edges, distinct));
+    }
+
+    public int size() {
+        return this.plugins.size();
+    }
+
+    public int edgeCount() {
+        return this.successors.length;
+    }
+
+    /**
+     * @return The plugins, indexed by ordinal, as an unmodifiable {@link List}.
+     */
+    public List<PluginMetadata> plugins() {
+        return this.plugins;
+    }
+
+    public PluginMetadata plugin(final int ordinal) {
+        return this.plugins.get(ordinal);
+    }
+
+    /**
+     * Gets the ordinal assigned to the plugin with the given {@link String id}.
+     *
+     * @param id The id
+     * @return The ordinal or {@link OptionalInt#empty()} if the plugin is not part of this graph
+     */
+    public OptionalInt ordinal(final String id) {
+        final Integer ordinal = this.ordinals.get(Objects.requireNonNull(id, "id"));
+        return ordinal == null ? OptionalInt.empty() : OptionalInt.of(ordinal);
+    }
+
+    /**
+     * @param ordinal The ordinal
+     * @return The ordinals of the plugins that must be loaded after the given plugin
+     */
+    public int[] successors(final int ordinal) {
+        Objects.checkIndex(ordinal, this.size());
+        return Arrays.copyOfRange(this.successors, this.successorOffsets[ordinal], this.successorOffsets[ordinal + 1]);
+    }
+
+    /**
+     * @param ordinal The ordinal
+     * @return The ordinals of the plugins that must be loaded before the given plugin
+     */
+    public int[] predecessors(final int ordinal) {
+        Objects.checkIndex(ordinal, this.size());
+        return Arrays.copyOfRange(this.predecessors, this.predecessorOffsets[ordinal], this.predecessorOffsets[ordinal + 1]);
+    }
+
+    /**
+     * Finds a cycle among the nodes that could not be ordered, each of which has at least one
+     * predecessor that is also unordered.
+     */
+    List<String> findCycle(final boolean[] unordered) {
+        final int[] seenAt = new int[this.size()];
+        Arrays.fill(seenAt, -1);
+        final List<Integer> path = new ArrayList<>();
+        int node = 0;
+        while (!unordered[node]) {
+            node++;
+        }
+        while (seenAt[node] < 0) {
+            seenAt[node] = path.size();
+            path.add(node);
+            for (int i = this.predecessorOffsets[node]; i < this.predecessorOffsets[node + 1]; i++) {
+                if (unordered[this.predecessors[i]]) {
+                    node = this.predecessors[i];
+                    break;
+                }
+            }
+        }
+
+        // The path was walked backwards through predecessors, reverse it to get the load direction
+        final List<String> cycle = new ArrayList<>();
+        for (int i = path.size() - 1; i >= seenAt[node]; i--) {
+            cycle.add(this.plugins.get(path.get(i)).id());
+        }
+        cycle.add(cycle.getFirst());
+        return cycle;
+    }
+
+    private static long edge(final int from, final int to) {
+        return ((long) from << 32) | to;
+    }
+
+    private static void fill(final long[] edges, final boolean forward, final int[] offsets, final int[] targets) {
+        for (final long edge : edges) {
+            offsets[(forward ? (int) (edge >>> 32) : (int) edge) + 1]++;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        final int[] cursor = Arrays.copyOf(offsets, offsets.length - 1);
+        for (final long edge : edges) {
+            final int from = (int) (edge >>> 32), to = (int) edge;
+            if (forward) {
+                targets[cursor[from]++] = to;
+            } else {
+                targets[cursor[to]++] = from;
+            }
+        }
+    }
+}
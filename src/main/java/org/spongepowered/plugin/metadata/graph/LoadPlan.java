@@ -0,0 +1,99 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The plugins of a {@link LoadOrderGraph graph} grouped into waves.
+ * <p>
+ * No plugin of a wave has a load order constraint against another plugin of the same wave, so each wave may be
+ * loaded concurrently once every previous wave has completed.
+ *
+ * @param waves The waves, in load order
+ */
+public record LoadPlan(List<List<PluginMetadata>> waves) {
+
+    public LoadPlan {
+        Objects.requireNonNull(waves, "waves");
+        final List<List<PluginMetadata>> copy = new ArrayList<>(waves.size());
+        for (final List<PluginMetadata> wave : waves) {
+            copy.add(List.copyOf(Objects.requireNonNull(wave, "wave")));
+        }
+        waves = List.copyOf(copy);
+    }
+
+    /**
+     * @return The plugins flattened into a single valid load order.
+     */
+    public List<PluginMetadata> order() {
+        return this.waves.stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * @return The number of plugins in this plan.
+     */
+    public int size() {
+        int size = 0;
+        for (final List<PluginMetadata> wave : this.waves) {
+            size += wave.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of plugins on the longest chain of load order constraints, which is the
+     * minimum number of sequential steps needed to load every plugin.
+     *
+     * @return The critical path length
+     */
+    public int criticalPathLength() {
+        return this.waves.size();
+    }
+
+    /**
+     * @return The size of the largest wave.
+     */
+    public int maxParallelism() {
+        int max = 0;
+        for (final List<PluginMetadata> wave : this.waves) {
+            max = Math.max(max, wave.size());
+        }
+        return max;
+    }
+
+    /**
+     * Gets the average number of plugins that may be loaded at once, assuming every plugin takes the same time.
+     *
+     * @return The estimated parallelism
+     */
+    public double estimatedParallelism() {
+        return this.waves.isEmpty() ? 0 : (double) this.size() / this.waves.size();
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Persists a {@link LoadPlan plan} to disk, keyed by a fingerprint of the plugins it was computed from, so that an
+ * unchanged plugin set can skip planning on the next start.
+ * <p>
+ * The fingerprint covers the id, version, loader, dependencies and conflicts of every plugin and does not depend on
+ * the order in which plugins are supplied. A cache file that is missing, malformed or does not match is a miss.
+ */
+public final class LoadPlanCache {
+    private static final int FORMAT = 1;
+
+    private final Path path;
+
+    public LoadPlanCache(final Path path) {
+        this.path = Objects.requireNonNull(path, "path");
+    }
+
+    public Path path() {
+        return this.path;
+    }
+
+    /**
+     * Gets the cached plan for the given plugins, or plans and stores them on a miss.
+     *
+     * @param plugins The plugins
+     * @return The plan
+     * @throws IOException if the cache fails to be read or written
+     * @throws LoadOrderCycleException if the plugins had to be planned and their load order constraints form a cycle
+     */
+    public LoadPlan resolve(final Collection<? extends PluginMetadata> plugins) throws IOException {
+        final String fingerprint = LoadPlanCache.fingerprint(plugins);
+        final Optional<LoadPlan> cached = this.load(plugins, fingerprint);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        final LoadPlan plan = LoadWavePlanner.plan(plugins);
+        this.store(fingerprint, plan);
+        return plan;
+    }
+
+    /**
+     * Reads the cached plan if it was computed from the same plugins.
+     *
+     * @param plugins The plugins
+     * @return The plan or {@link Optional#empty()} on a miss
+     * @throws IOException if the cache exists but fails to be read
+     */
+    public Optional<LoadPlan> load(final Collection<? extends PluginMetadata> plugins) throws IOException {
+        return this.load(plugins, LoadPlanCache.fingerprint(plugins));
+    }
+
+    /**
+     * Stores a plan computed from the given plugins, replacing any previous one.
+     *
+     * @param plugins The plugins the plan was computed from
+     * @param plan The plan
+     * @throws IOException if the cache fails to be written
+     */
+    public void store(final Collection<? extends PluginMetadata> plugins, final LoadPlan plan) throws IOException {
+        this.store(LoadPlanCache.fingerprint(plugins), plan);
+    }
+
+    private Optional<LoadPlan> load(final Collection<? extends PluginMetadata> plugins, final String fingerprint) throws IOException {
+        final JsonObject obj;
+        try (final BufferedReader reader = Files.newBufferedReader(this.path)) {
+            obj = JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (final NoSuchFileException | JsonParseException | IllegalStateException e) {
+            return Optional.empty();
+        }
+
+        try {
+            if (obj.get("format").getAsInt() != LoadPlanCache.FORMAT || !fingerprint.equals(obj.get("fingerprint").getAsString())) {
+                return Optional.empty();
+            }
+            final Map<String, PluginMetadata> byId = new HashMap<>(plugins.size() * 4 / 3 + 1);
+            for (final PluginMetadata plugin : plugins) {
+                byId.put(plugin.id(), plugin);
+            }
+            final JsonObject versions = obj.getAsJsonObject("versions");
+            final List<List<PluginMetadata>> waves = new ArrayList<>();
+            int size = 0;
+            for (final JsonElement waveElement : obj.getAsJsonArray("waves")) {
+                final List<PluginMetadata> wave = new ArrayList<>();
+                for (final JsonElement idElement : waveElement.getAsJsonArray()) {
+                    final PluginMetadata plugin = byId.get(idElement.getAsString());
+                    if (plugin == null || !plugin.version().toString().equals(versions.get(plugin.id()).getAsString())) {
+                        return Optional.empty();
+                    }
+                    wave.add(plugin);
+                }
+                size += wave.size();
+                waves.add(wave);
+            }
+            return size == byId.size() ? Optional.of(new LoadPlan(waves)) : Optional.empty();
+        } catch (final RuntimeException e) {
+            // Missing or mistyped members, treat as a stale cache
+            return Optional.empty();
+        }
+    }
+
+    private void store(final String fingerprint, final LoadPlan plan) throws IOException {
+        final JsonObject obj = new JsonObject();
+        obj.addProperty("format", LoadPlanCache.FORMAT);
+        obj.addProperty("fingerprint", fingerprint);
+        final JsonArray waves = new JsonArray();
+        final JsonObject versions = new JsonObject();
+        for (final List<PluginMetadata> wave : plan.waves()) {
+            final JsonArray ids = new JsonArray(wave.size());
+            for (final PluginMetadata plugin : wave) {
+                ids.add(plugin.id());
+                versions.add(plugin.id(), new JsonPrimitive(plugin.version().toString()));
+            }
+            waves.add(ids);
+        }
+        obj.add("waves", waves);
+        obj.add("versions", versions);
+
+        final Path parent = this.path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path temp = Files.createTempFile(parent, this.path.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temp, obj.toString());
+            Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Computes a stable fingerprint of the resolution relevant parts of the given plugins.
+     *
+     * @param plugins The plugins
+     * @return The fingerprint, as a hex string
+     */
+    public static String fingerprint(final Collection<? extends PluginMetadata> plugins) {
+        final List<PluginMetadata> sorted = new ArrayList<>(Objects.requireNonNull(plugins, "plugins"));
+        sorted.sort(Comparator.comparing(PluginMetadata::id));
+        final MessageDigest digest = LoadPlanCache.sha256();
+        for (final PluginMetadata plugin : sorted) {
+            LoadPlanCache.update(digest, "plugin", plugin.id(), plugin.version().toString(),
+                    plugin.loader().name(), plugin.loader().version().toString());
+
+            final List<PluginDependency> dependencies = new ArrayList<>(plugin.dependencies());
+            dependencies.sort(Comparator.comparing(PluginDependency::id));
+            for (final PluginDependency dependency : dependencies) {
+                LoadPlanCache.update(digest, "dependency", dependency.id(), dependency.version().toString(),
+                        dependency.loadOrder().name(), Boolean.toString(dependency.optional()));
+            }
+
+            final List<PluginConflict> conflicts = new ArrayList<>(plugin.conflicts());
+            conflicts.sort(Comparator.comparing(PluginConflict::id).thenComparing(c -> c.version().toString())
+                    .thenComparing(PluginConflict::fatal));
+            for (final PluginConflict conflict : conflicts) {
+                LoadPlanCache.update(digest, "conflict", conflict.id(), conflict.version().toString(),
+                        Boolean.toString(conflict.fatal()));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(final MessageDigest digest, final String... parts) {
+        for (final String part : parts) {
+            // Length prefixes keep the encoding unambiguous whatever the values contain
+            final byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+            digest.update((byte) (bytes.length >>> 24));
+            digest.update((byte) (bytes.length >>> 16));
+            digest.update((byte) (bytes.length >>> 8));
+            digest.update((byte) bytes.length);
+            digest.update(bytes);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every JVM", e);
+        }
+    }
+}
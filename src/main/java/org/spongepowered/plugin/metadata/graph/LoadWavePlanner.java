@@ -0,0 +1,109 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+public final class LoadWavePlanner {
+
+    private LoadWavePlanner() {
+    }
+
+    /**
+     * Plans the given {@link PluginMetadata plugins} into {@link LoadPlan waves}.
+     *
+     * @param plugins The plugins
+     * @return The plan
+     * @throws LoadOrderCycleException if the load order constraints form a cycle
+     */
+    public static LoadPlan plan(final Collection<? extends PluginMetadata> plugins) {
+        return LoadWavePlanner.plan(LoadOrderGraph.of(plugins));
+    }
+
+    /**
+     * Plans the plugins of the given {@link LoadOrderGraph graph} into {@link LoadPlan waves}.
+     * <p>
+     * A plugin is placed in the wave directly following the latest wave of the plugins it must be loaded after,
+     * so the number of waves is the length of the longest chain of constraints. Within a wave, plugins keep the
+     * ordinal order of the graph.
+     *
+     * @param graph The graph
+     * @return The plan
+     * @throws LoadOrderCycleException if the load order constraints form a cycle
+     */
+    public static LoadPlan plan(final LoadOrderGraph graph) {
+        Objects.requireNonNull(graph, "graph");
+        final int size = graph.size();
+        final int[] pending = new int[size];
+        int[] frontier = new int[size];
+        int frontierSize = 0;
+        for (int node = 0; node < size; node++) {
+            pending[node] = graph.predecessorOffsets[node + 1] - graph.predecessorOffsets[node];
+            if (pending[node] == 0) {
+                frontier[frontierSize++] = node;
+            }
+        }
+
+        final List<List<PluginMetadata>> waves = new ArrayList<>();
+        int[] next = new int[size];
+        int ordered = 0;
+        while (frontierSize > 0) {
+            final List<PluginMetadata> wave = new ArrayList<>(frontierSize);
+            int nextSize = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                final int node = frontier[i];
+                wave.add(graph.plugin(node));
+                for (int e = graph.successorOffsets[node]; e < graph.successorOffsets[node + 1]; e++) {
+                    if (--pending[graph.successors[e]] == 0) {
+                        next[nextSize++] = graph.successors[e];
+                    }
+                }
+            }
+            waves.add(wave);
+            ordered += frontierSize;
+
+            Arrays.sort(next, 0, nextSize);
+            final int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+        }
+
+        if (ordered < size) {
+            final boolean[] unordered = new boolean[size];
+            for (int node = 0; node < size; node++) {
+                unordered[node] = pending[node] > 0;
+            }
+            throw new LoadOrderCycleException(graph.findCycle(unordered));
+        }
+        return new LoadPlan(waves);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable set of ordinals, stored either as a sorted array or as a bitmap depending on which is smaller.
+ */
+final class OrdinalSet {
+    static final OrdinalSet EMPTY = new OrdinalSet(new int[0], null, 0);
+
+    private final int @Nullable [] sorted;
+    private final long @Nullable [] words;
+    private final int cardinality;
+
+    private OrdinalSet(final int @Nullable [] sorted, final long @Nullable [] words, final int cardinality) {
+        this.sorted = sorted;
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Compresses the set bits of the given bitmap, only reading up to the given number of words.
+     */
+    static OrdinalSet of(final long[] bitmap, final int length) {
+        int used = length;
+        while (used > 0 && bitmap[used - 1] == 0) {
+            used--;
+        }
+        int cardinality = 0;
+        for (int i = 0; i < used; i++) {
+            cardinality += Long.bitCount(bitmap[i]);
+        }
+        if (cardinality == 0) {
+            return OrdinalSet.EMPTY;
+        }
+        // An ordinal costs 32 bits in the sorted form, a word 64 bits in the bitmap form
+        if (cardinality < used * 2) {
+            final int[] sorted = new int[cardinality];
+            int i = 0;
+            for (int w = 0; w < used; w++) {
+                long word = bitmap[w];
+                while (word != 0) {
+                    sorted[i++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return new OrdinalSet(sorted, null, cardinality);
+        }
+        return new OrdinalSet(null, Arrays.copyOf(bitmap, used), cardinality);
+    }
+
+    int cardinality() {
+        return this.cardinality;
+    }
+
+    boolean contains(final int ordinal) {
+        if (this.words != null) {
+            final int w = ordinal >>> 6;
+            return w < this.words.length && (this.words[w] & (1L << ordinal)) != 0;
+        }
+        return Arrays.binarySearch(this.sorted, ordinal) >= 0;
+    }
+
+    void orInto(final long[] bitmap) {
+        if (this.words != null) {
+            for (int w = 0; w < this.words.length; w++) {
+                bitmap[w] |= this.words[w];
+            }
+        } else {
+            for (final int ordinal : this.sorted) {
+                bitmap[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+    }
+
+    void forEach(final IntConsumer consumer) {
+        if (this.words != null) {
+            for (int w = 0; w < this.words.length; w++) {
+                long word = this.words[w];
+                while (word != 0) {
+                    consumer.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        } else {
+            for (final int ordinal : this.sorted) {
+                consumer.accept(ordinal);
+            }
+        }
+    }
+
+    IntStream stream() {
+        if (this.words == null) {
+            return Arrays.stream(this.sorted);
+        }
+        final IntStream.Builder builder = IntStream.builder();
+        this.forEach(builder);
+        return builder.build();
+    }
+}
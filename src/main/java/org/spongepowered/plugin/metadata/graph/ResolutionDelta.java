@@ -0,0 +1,91 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The outcome of adding or removing a single plugin from an {@link IncrementalDependencyResolver}.
+ *
+ * @param change Whether the plugin was added or removed
+ * @param plugin The {@link PluginMetadata plugin}
+ * @param affected The ids of every plugin whose resolution state or position changed, including the plugin itself
+ * @param satisfied The dependencies that became satisfied
+ * @param unsatisfied The dependencies that are now unsatisfied, either declared by an added plugin or broken by a removal
+ * @param conflicts The conflicts that became active on addition, or that were cleared on removal
+ * @param reordered The ids of the plugins that moved in the load order
+ */
+public record ResolutionDelta(Change change, PluginMetadata plugin, Set<String> affected, List<Link> satisfied,
+        List<Link> unsatisfied, List<ConflictLink> conflicts, List<String> reordered) {
+
+    public ResolutionDelta {
+        Objects.requireNonNull(change, "change");
+        Objects.requireNonNull(plugin, "plugin");
+        affected = Set.copyOf(Objects.requireNonNull(affected, "affected"));
+        satisfied = List.copyOf(Objects.requireNonNull(satisfied, "satisfied"));
+        unsatisfied = List.copyOf(Objects.requireNonNull(unsatisfied, "unsatisfied"));
+        conflicts = List.copyOf(Objects.requireNonNull(conflicts, "conflicts"));
+        reordered = List.copyOf(Objects.requireNonNull(reordered, "reordered"));
+    }
+
+    public enum Change {
+        ADDED,
+        REMOVED
+    }
+
+    /**
+     * A {@link PluginDependency dependency} declared by a plugin.
+     *
+     * @param dependent The id of the plugin declaring the dependency
+     * @param dependency The dependency
+     */
+    public record Link(String dependent, PluginDependency dependency) {
+
+        public Link {
+            Objects.requireNonNull(dependent, "dependent");
+            Objects.requireNonNull(dependency, "dependency");
+        }
+    }
+
+    /**
+     * A {@link PluginConflict conflict} declared by a plugin that matches another present plugin.
+     *
+     * @param declarer The id of the plugin declaring the conflict
+     * @param conflict The conflict
+     */
+    public record ConflictLink(String declarer, PluginConflict conflict) {
+
+        public ConflictLink {
+            Objects.requireNonNull(declarer, "declarer");
+            Objects.requireNonNull(conflict, "conflict");
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.util.VersionRanges;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indexes the {@link PluginMetadata#dependencies() dependencies} of a set of plugins in reverse, from the id of the
+ * dependency to the plugins declaring it, whether or not the dependency itself is present.
+ * <p>
+ * This class is thread-safe. Updates are applied atomically, so queries never observe a plugin whose dependencies
+ * are only partially indexed.
+ */
+public final class ReverseDependencyIndex {
+    private final Map<String, PluginMetadata> plugins = new HashMap<>();
+    private final Map<String, Map<String, Edge>> dependents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static ReverseDependencyIndex of(final Collection<? extends PluginMetadata> plugins) {
+        final ReverseDependencyIndex index = new ReverseDependencyIndex();
+        for (final PluginMetadata plugin : Objects.requireNonNull(plugins, "plugins")) {
+            index.put(plugin);
+        }
+        return index;
+    }
+
+    /**
+     * Adds a {@link PluginMetadata plugin}, replacing any plugin with the same id.
+     *
+     * @param plugin The plugin
+     * @return The replaced plugin or {@link Optional#empty()} otherwise
+     */
+    public Optional<PluginMetadata> put(final PluginMetadata plugin) {
+        Objects.requireNonNull(plugin, "plugin");
+        final Lock lock = this.lock.writeLock();
+        lock.lock();
+        try {
+            final PluginMetadata previous = this.plugins.put(plugin.id(), plugin);
+            if (previous != null) {
+                this.unindex(previous);
+            }
+            for (final PluginDependency dependency : plugin.dependencies()) {
+                this.dependents.computeIfAbsent(dependency.id(), k -> new LinkedHashMap<>())
+                        .put(plugin.id(), new Edge(plugin, dependency));
+            }
+            return Optional.ofNullable(previous);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the plugin with the given {@link String id}.
+     *
+     * @param id The id
+     * @return The removed plugin or {@link Optional#empty()} otherwise
+     */
+    public Optional<PluginMetadata> remove(final String id) {
+        Objects.requireNonNull(id, "id");
+        final Lock lock = this.lock.writeLock();
+        lock.lock();
+        try {
+            final PluginMetadata previous = this.plugins.remove(id);
+            if (previous != null) {
+                this.unindex(previous);
+            }
+            return Optional.ofNullable(previous);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<PluginMetadata> plugin(final String id) {
+        Objects.requireNonNull(id, "id");
+        final Lock lock = this.lock.readLock();
+        lock.lock();
+        try {
+            return Optional.ofNullable(this.plugins.get(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the plugins declaring a dependency on the given {@link String id}.
+     *
+     * @param id The id
+     * @return The {@link Edge edges} as an unmodifiable {@link List}
+     */
+    public List<Edge> dependents(final String id) {
+        Objects.requireNonNull(id, "id");
+        final Lock lock = this.lock.readLock();
+        lock.lock();
+        try {
+            final Map<String, Edge> edges = this.dependents.get(id);
+            return edges == null ? List.of() : List.copyOf(edges.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the ids of every plugin that transitively depends on the given {@link String id}, through required
+     * or optional dependencies. These are the plugins that may observe any change to it.
+     *
+     * @param id The id
+     * @return The ids, nearest dependents first
+     */
+    public Set<String> impact(final String id) {
+        Objects.requireNonNull(id, "id");
+        final Lock lock = this.lock.readLock();
+        lock.lock();
+        try {
+            return this.propagate(id, Set.of(), true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the ids of every plugin that would fail to resolve if the plugin with the given {@link String id} was
+     * changed to the given {@link ArtifactVersion version}, or removed if the version is {@code null}.
+     * <p>
+     * These are the plugins with a required dependency whose range does not accept the version, and every plugin
+     * that transitively requires one of them.
+     *
+     * @param id The id
+     * @param version The version
+     * @return The ids, nearest dependents first
+     */
+    public Set<String> impact(final String id, final @Nullable ArtifactVersion version) {
+        Objects.requireNonNull(id, "id");
+        final Lock lock = this.lock.readLock();
+        lock.lock();
+        try {
+            final Set<String> broken = new LinkedHashSet<>();
+            for (final Edge edge : this.dependents.getOrDefault(id, Map.of()).values()) {
+                if (!edge.optional() && (version == null || !VersionRanges.contains(edge.version(), version))) {
+                    broken.add(edge.dependent().id());
+                }
+            }
+            final Set<String> impact = new LinkedHashSet<>(broken);
+            for (final String dependent : broken) {
+                impact.addAll(this.propagate(dependent, impact, false));
+            }
+            return impact;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Set<String> propagate(final String id, final Set<String> known, final boolean optional) {
+        final Set<String> found = new LinkedHashSet<>();
+        final Deque<String> queue = new ArrayDeque<>();
+        queue.add(id);
+        while (!queue.isEmpty()) {
+            for (final Edge edge : this.dependents.getOrDefault(queue.poll(), Map.of()).values()) {
+                final String dependent = edge.dependent().id();
+                if ((optional || !edge.optional()) && !dependent.equals(id) && !known.contains(dependent) && found.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        return found;
+    }
+
+    private void unindex(final PluginMetadata plugin) {
+        for (final PluginDependency dependency : plugin.dependencies()) {
+            final Map<String, Edge> edges = this.dependents.get(dependency.id());
+            if (edges != null && edges.remove(plugin.id()) != null && edges.isEmpty()) {
+                this.dependents.remove(dependency.id());
+            }
+        }
+    }
+
+    /**
+     * A {@link PluginDependency dependency} declared by a plugin.
+     *
+     * @param dependent The {@link PluginMetadata plugin} declaring the dependency
+     * @param dependency The dependency
+     */
+    public record Edge(PluginMetadata dependent, PluginDependency dependency) {
+
+        public Edge {
+            Objects.requireNonNull(dependent, "dependent");
+            Objects.requireNonNull(dependency, "dependency");
+        }
+
+        public VersionRange version() {
+            return this.dependency.version();
+        }
+
+        public PluginDependency.LoadOrder loadOrder() {
+            return this.dependency.loadOrder();
+        }
+
+        public boolean optional() {
+            return this.dependency.optional();
+        }
+    }
+}
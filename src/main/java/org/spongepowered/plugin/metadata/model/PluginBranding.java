@@ -53,4 +53,18 @@ public PluginBranding(@Nullable String icon, @Nullable String logo) {
     public static PluginBranding none() {
         return PluginBranding.NONE;
     }
+
+    /**
+     * Gets branding with the given locations, sharing {@link #none()} when both are absent.
+     *
+     * @param icon The location of the icon
+     * @param logo The location of the logo
+     * @return The branding
+     */
+    public static PluginBranding of(final @Nullable String icon, final @Nullable String logo) {
+        if (icon == null && logo == null) {
+            return PluginBranding.NONE;
+        }
+        return new PluginBranding(icon, logo);
+    }
 }
@@ -56,4 +56,24 @@ public PluginLinks(@Nullable URI homepage, @Nullable URI source, @Nullable URI i
     public static PluginLinks none() {
         return PluginLinks.NONE;
     }
+
+    /**
+     * Gets links to the given locations, sharing {@link #none()} when all are absent.
+     *
+     * @param homepage The homepage
+     * @param source The source
+     * @param issues The issues
+     * @return The links
+     * @throws IllegalArgumentException if a location is not a valid {@link URI}
+     */
+    public static PluginLinks of(final @Nullable String homepage, final @Nullable String source, final @Nullable String issues) {
+        if (homepage == null && source == null && issues == null) {
+            return PluginLinks.NONE;
+        }
+        return new PluginLinks(PluginLinks.uri(homepage), PluginLinks.uri(source), PluginLinks.uri(issues));
+    }
+
+    private static @Nullable URI uri(final @Nullable String location) {
+        return location == null ? null : URI.create(location);
+    }
 }
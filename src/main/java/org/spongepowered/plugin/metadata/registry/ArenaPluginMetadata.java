@@ -0,0 +1,245 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.PropertyKey;
+import org.spongepowered.plugin.metadata.model.PluginBranding;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+import org.spongepowered.plugin.metadata.model.PluginContributor;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.model.PluginEntrypoints;
+import org.spongepowered.plugin.metadata.model.PluginLinks;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+import org.spongepowered.plugin.metadata.util.PropertyMemo;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * A {@link PluginMetadata plugin metadata} keeping its rarely read text in a {@link TextArena arena}.
+ * <p>
+ * The description, the contributor descriptions, the links and the branding locations are moved into the arena and
+ * only the handles to them are kept on the heap. They are decoded again every time they are asked for, the remaining
+ * fields are kept as they are.
+ * <p>
+ * Instances are thread-safe, and can be read for as long as their arena is open.
+ */
+public final class ArenaPluginMetadata implements PluginMetadata {
+    private static final int DESCRIPTION = 0, ICON = 1, LOGO = 2, HOMEPAGE = 3, SOURCE = 4, ISSUES = 5, CONTRIBUTORS = 6;
+
+    private final TextArena arena;
+    private final String id;
+    private final PluginEntrypoints entrypoints;
+    private final ArtifactVersion version;
+    private final PluginLoaderSpecification loader;
+    private final @Nullable String name;
+    private final @Nullable String license;
+    private final String[] contributors;
+    private final long[] handles;
+    private final List<PluginConflict> conflicts;
+    private final Map<String, PluginDependency> dependencies;
+    private final Map<String, Object> properties;
+    private final PropertyMemo decoded = new PropertyMemo();
+
+    private ArenaPluginMetadata(final TextArena arena, final PluginMetadata plugin) {
+        this.arena = arena;
+        this.id = plugin.id();
+        this.entrypoints = plugin.entrypoints();
+        this.version = plugin.version();
+        this.loader = plugin.loader();
+        this.name = plugin.name().orElse(null);
+        this.license = plugin.license().orElse(null);
+        final List<PluginContributor> contributors = plugin.contributors();
+        this.contributors = new String[contributors.size()];
+        this.handles = new long[ArenaPluginMetadata.CONTRIBUTORS + contributors.size()];
+        this.handles[ArenaPluginMetadata.DESCRIPTION] = arena.put(plugin.description().orElse(null));
+        this.handles[ArenaPluginMetadata.ICON] = arena.put(plugin.branding().icon().orElse(null));
+        this.handles[ArenaPluginMetadata.LOGO] = arena.put(plugin.branding().logo().orElse(null));
+        this.handles[ArenaPluginMetadata.HOMEPAGE] = arena.put(plugin.links().homepage().map(URI::toString).orElse(null));
+        this.handles[ArenaPluginMetadata.SOURCE] = arena.put(plugin.links().source().map(URI::toString).orElse(null));
+        this.handles[ArenaPluginMetadata.ISSUES] = arena.put(plugin.links().issues().map(URI::toString).orElse(null));
+        for (int i = 0; i < this.contributors.length; i++) {
+            this.contributors[i] = contributors.get(i).name();
+            this.handles[ArenaPluginMetadata.CONTRIBUTORS + i] = arena.put(contributors.get(i).description().orElse(null));
+        }
+        this.conflicts = plugin.conflicts();
+        final Map<String, PluginDependency> dependencies = new LinkedHashMap<>();
+        for (final PluginDependency dependency : plugin.dependencies()) {
+            dependencies.put(dependency.id(), dependency);
+        }
+        this.dependencies = Collections.unmodifiableMap(dependencies);
+        this.properties = plugin.properties();
+    }
+
+    /**
+     * Copies a plugin, moving its rarely read text into the given arena.
+     *
+     * @param arena The arena
+     * @param plugin The plugin
+     * @return The copy
+     * @throws IllegalStateException if the arena is closed
+     */
+    public static ArenaPluginMetadata of(final TextArena arena, final PluginMetadata plugin) {
+        return new ArenaPluginMetadata(Objects.requireNonNull(arena, "arena"), Objects.requireNonNull(plugin, "plugin"));
+    }
+
+    private @Nullable String text(final int index) {
+        return this.arena.get(this.handles[index]);
+    }
+
+    @Override
+    public String id() {
+        return this.id;
+    }
+
+    @Override
+    public PluginEntrypoints entrypoints() {
+        return this.entrypoints;
+    }
+
+    @Override
+    public ArtifactVersion version() {
+        return this.version;
+    }
+
+    @Override
+    public PluginLoaderSpecification loader() {
+        return this.loader;
+    }
+
+    @Override
+    public Optional<String> name() {
+        return Optional.ofNullable(this.name);
+    }
+
+    @Override
+    public Optional<String> description() {
+        return Optional.ofNullable(this.text(ArenaPluginMetadata.DESCRIPTION));
+    }
+
+    @Override
+    public Optional<String> license() {
+        return Optional.ofNullable(this.license);
+    }
+
+    @Override
+    public PluginBranding branding() {
+        return PluginBranding.of(this.text(ArenaPluginMetadata.ICON), this.text(ArenaPluginMetadata.LOGO));
+    }
+
+    @Override
+    public PluginLinks links() {
+        return PluginLinks.of(this.text(ArenaPluginMetadata.HOMEPAGE), this.text(ArenaPluginMetadata.SOURCE),
+                this.text(ArenaPluginMetadata.ISSUES));
+    }
+
+    @Override
+    public List<PluginContributor> contributors() {
+        final List<PluginContributor> contributors = new ArrayList<>(this.contributors.length);
+        for (int i = 0; i < this.contributors.length; i++) {
+            contributors.add(new PluginContributor(this.contributors[i], this.text(ArenaPluginMetadata.CONTRIBUTORS + i)));
+        }
+        return Collections.unmodifiableList(contributors);
+    }
+
+    @Override
+    public List<PluginConflict> conflicts() {
+        return this.conflicts;
+    }
+
+    @Override
+    public Optional<PluginDependency> dependency(final String id) {
+        return Optional.ofNullable(this.dependencies.get(Objects.requireNonNull(id, "id")));
+    }
+
+    @Override
+    public Collection<PluginDependency> dependencies() {
+        return this.dependencies.values();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Optional<T> property(final String key) {
+        return Optional.ofNullable((T) this.properties.get(Objects.requireNonNull(key, "key")));
+    }
+
+    @Override
+    public <T> Optional<T> property(final PropertyKey<T> key) {
+        return this.decoded.get(key, PluginMetadata.super::property);
+    }
+
+    @Override
+    public Map<String, Object> properties() {
+        return this.properties;
+    }
+
+    @Override
+    public int hashCode() {
+        // The text kept in the arena is left out so that hashing does not decode it
+        return Objects.hash(this.id, this.version, this.loader);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof ArenaPluginMetadata other)) {
+            return false;
+        }
+
+        return this.id.equals(other.id) && this.entrypoints.equals(other.entrypoints) && this.version.equals(other.version)
+                && this.loader.equals(other.loader) && Objects.equals(this.name, other.name)
+                && Objects.equals(this.license, other.license) && Arrays.equals(this.contributors, other.contributors)
+                && this.conflicts.equals(other.conflicts) && this.dependencies.equals(other.dependencies)
+                && this.properties.equals(other.properties) && this.description().equals(other.description())
+                && this.branding().equals(other.branding()) && this.links().equals(other.links())
+                && this.contributors().equals(other.contributors());
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ArenaPluginMetadata.class.getSimpleName() + "[", "]")
+                .add("id=" + this.id)
+                .add("entrypoints=" + this.entrypoints)
+                .add("version=" + this.version)
+                .add("loader=" + this.loader)
+                .add("license=" + this.license)
+                .toString();
+    }
+}
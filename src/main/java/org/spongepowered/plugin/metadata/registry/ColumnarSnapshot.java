@@ -0,0 +1,341 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * A column oriented copy of the analytics relevant parts of a large set of {@link PluginMetadata plugins}.
+ * <p>
+ * Each plugin is a row. Versions are stored as their rank among the distinct versions of the set, loaders and licenses
+ * as ordinals into dictionaries of their distinct values, and dependencies as a compressed edge list of ordinals into
+ * a dictionary of every id, so that scans and group-bys are loops over primitive arrays. Aggregations can run on a
+ * parallel stream, each thread counting into its own array before merging.
+ * <p>
+ * Instances are immutable and hold no reference to the source plugins.
+ */
+public final class ColumnarSnapshot {
+    private static final int NONE = -1;
+
+    // Ids of the rows first, then ids only depended on
+    private final String[] ids;
+    private final Map<String, Integer> ordinals;
+    private final int rows;
+    private final ArtifactVersion[] versionDictionary;
+    private final int[] versions;
+    private final String[] loaderDictionary;
+    private final int[] loaders;
+    private final String[] licenseDictionary;
+    private final int[] licenses;
+    private final int[] dependencyOffsets;
+    private final int[] dependencies;
+    private final boolean[] optional;
+
+    private ColumnarSnapshot(final Builder builder) {
+        final List<PluginMetadata> plugins = builder.plugins;
+        this.rows = plugins.size();
+
+        final Map<String, Integer> ids = new HashMap<>(this.rows * 4 / 3 + 1);
+        final List<String> idDictionary = new ArrayList<>(this.rows);
+        for (final PluginMetadata plugin : plugins) {
+            if (ids.putIfAbsent(plugin.id(), idDictionary.size()) != null) {
+                throw new IllegalArgumentException(String.format("Duplicate plugin id '%s'", plugin.id()));
+            }
+            idDictionary.add(plugin.id());
+        }
+
+        final TreeMap<ArtifactVersion, Integer> ranks = new TreeMap<>();
+        for (final PluginMetadata plugin : plugins) {
+            ranks.putIfAbsent(plugin.version(), 0);
+        }
+        int rank = 0;
+        for (final Map.Entry<ArtifactVersion, Integer> entry : ranks.entrySet()) {
+            entry.setValue(rank++);
+        }
+        this.versionDictionary = ranks.keySet().toArray(new ArtifactVersion[0]);
+
+        final Map<String, Integer> loaders = new HashMap<>(), licenses = new HashMap<>();
+        this.versions = new int[this.rows];
+        this.loaders = new int[this.rows];
+        this.licenses = new int[this.rows];
+        this.dependencyOffsets = new int[this.rows + 1];
+        int[] dependencies = new int[this.rows];
+        boolean[] optional = new boolean[this.rows];
+        int edges = 0;
+        for (int row = 0; row < this.rows; row++) {
+            final PluginMetadata plugin = plugins.get(row);
+            this.versions[row] = ranks.get(plugin.version());
+            this.loaders[row] = loaders.computeIfAbsent(plugin.loader().name(), k -> loaders.size());
+            this.licenses[row] = plugin.license().map(license -> licenses.computeIfAbsent(license, k -> licenses.size()))
+                    .orElse(ColumnarSnapshot.NONE);
+            for (final PluginDependency dependency : plugin.dependencies()) {
+                if (edges == dependencies.length) {
+                    dependencies = Arrays.copyOf(dependencies, Math.max(16, edges * 2));
+                    optional = Arrays.copyOf(optional, dependencies.length);
+                }
+                dependencies[edges] = ids.computeIfAbsent(dependency.id(), k -> {
+                    idDictionary.add(k);
+                    return idDictionary.size() - 1;
+                });
+                optional[edges++] = dependency.optional();
+            }
+            this.dependencyOffsets[row + 1] = edges;
+        }
+        this.dependencies = Arrays.copyOf(dependencies, edges);
+        this.optional = Arrays.copyOf(optional, edges);
+        this.ids = idDictionary.toArray(new String[0]);
+        this.ordinals = ids;
+        this.loaderDictionary = ColumnarSnapshot.dictionary(loaders);
+        this.licenseDictionary = ColumnarSnapshot.dictionary(licenses);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The number of rows
+     */
+    public int size() {
+        return this.rows;
+    }
+
+    /**
+     * @param parallel Whether the stream is parallel
+     * @return The row numbers
+     */
+    public IntStream rows(final boolean parallel) {
+        final IntStream rows = IntStream.range(0, this.rows);
+        return parallel ? rows.parallel() : rows;
+    }
+
+    public OptionalInt row(final String id) {
+        final Integer ordinal = this.ordinals.get(Objects.requireNonNull(id, "id"));
+        return ordinal == null || ordinal >= this.rows ? OptionalInt.empty() : OptionalInt.of(ordinal);
+    }
+
+    public String id(final int row) {
+        return this.ids[Objects.checkIndex(row, this.rows)];
+    }
+
+    /**
+     * @param row The row
+     * @return A version equal to the version of the plugin, as defined by {@link ArtifactVersion#compareTo(Object)}
+     */
+    public ArtifactVersion version(final int row) {
+        return this.versionDictionary[this.versions[Objects.checkIndex(row, this.rows)]];
+    }
+
+    /**
+     * Gets the rank of the version of a row among the distinct versions of this snapshot. Comparing the ranks of two
+     * rows is equivalent to comparing their versions.
+     *
+     * @param row The row
+     * @return The rank
+     */
+    public int versionRank(final int row) {
+        return this.versions[Objects.checkIndex(row, this.rows)];
+    }
+
+    public String loader(final int row) {
+        return this.loaderDictionary[this.loaders[Objects.checkIndex(row, this.rows)]];
+    }
+
+    /**
+     * @param row The row
+     * @return The ordinal of the loader of the row in {@link #loaders()}
+     */
+    public int loaderOrdinal(final int row) {
+        return this.loaders[Objects.checkIndex(row, this.rows)];
+    }
+
+    public Optional<String> license(final int row) {
+        final int license = this.licenses[Objects.checkIndex(row, this.rows)];
+        return license == ColumnarSnapshot.NONE ? Optional.empty() : Optional.of(this.licenseDictionary[license]);
+    }
+
+    /**
+     * @param row The row
+     * @return The ordinal of the license of the row in {@link #licenses()}, or {@code -1} if it has none
+     */
+    public int licenseOrdinal(final int row) {
+        return this.licenses[Objects.checkIndex(row, this.rows)];
+    }
+
+    /**
+     * @param row The row
+     * @return The ids the row depends on, whether or not they are part of this snapshot
+     */
+    public List<String> dependencies(final int row) {
+        Objects.checkIndex(row, this.rows);
+        final List<String> dependencies = new ArrayList<>(this.dependencyOffsets[row + 1] - this.dependencyOffsets[row]);
+        for (int edge = this.dependencyOffsets[row]; edge < this.dependencyOffsets[row + 1]; edge++) {
+            dependencies.add(this.ids[this.dependencies[edge]]);
+        }
+        return dependencies;
+    }
+
+    /**
+     * @return The distinct loader names, indexed by ordinal
+     */
+    public List<String> loaders() {
+        return List.of(this.loaderDictionary);
+    }
+
+    /**
+     * @return The distinct licenses, indexed by ordinal
+     */
+    public List<String> licenses() {
+        return List.of(this.licenseDictionary);
+    }
+
+    /**
+     * @return The distinct versions, indexed by rank
+     */
+    public List<ArtifactVersion> versions() {
+        return List.of(this.versionDictionary);
+    }
+
+    /**
+     * @param parallel Whether to count in parallel
+     * @return The number of rows per loader, in ordinal order
+     */
+    public Map<String, Integer> countByLoader(final boolean parallel) {
+        return ColumnarSnapshot.group(this.loaderDictionary,
+                ColumnarSnapshot.histogram(this.loaders, this.loaderDictionary.length, parallel));
+    }
+
+    /**
+     * @param parallel Whether to count in parallel
+     * @return The number of rows per license, in ordinal order, rows without a license are not counted
+     */
+    public Map<String, Integer> countByLicense(final boolean parallel) {
+        return ColumnarSnapshot.group(this.licenseDictionary,
+                ColumnarSnapshot.histogram(this.licenses, this.licenseDictionary.length, parallel));
+    }
+
+    /**
+     * @param parallel Whether to count in parallel
+     * @return The number of rows per version, in ascending version order
+     */
+    public Map<ArtifactVersion, Integer> countByVersion(final boolean parallel) {
+        return ColumnarSnapshot.group(this.versionDictionary,
+                ColumnarSnapshot.histogram(this.versions, this.versionDictionary.length, parallel));
+    }
+
+    /**
+     * Counts the rows depending on each id, including ids that are not part of this snapshot.
+     *
+     * @param optional Whether optional dependencies are counted
+     * @param parallel Whether to count in parallel
+     * @return The number of dependents per id, ids without dependents are omitted
+     */
+    public Map<String, Integer> dependencyFanIn(final boolean optional, final boolean parallel) {
+        final int[] dependencies = this.dependencies, offsets = this.dependencyOffsets;
+        final boolean[] optionals = this.optional;
+        final int[] fanIn = this.rows(parallel).collect(() -> new int[this.ids.length], (counts, row) -> {
+            for (int edge = offsets[row]; edge < offsets[row + 1]; edge++) {
+                if (optional || !optionals[edge]) {
+                    counts[dependencies[edge]]++;
+                }
+            }
+        }, ColumnarSnapshot::merge);
+        return ColumnarSnapshot.group(this.ids, fanIn);
+    }
+
+    private static int[] histogram(final int[] column, final int buckets, final boolean parallel) {
+        final IntStream rows = IntStream.range(0, column.length);
+        return (parallel ? rows.parallel() : rows).collect(() -> new int[buckets], (counts, row) -> {
+            final int bucket = column[row];
+            if (bucket != ColumnarSnapshot.NONE) {
+                counts[bucket]++;
+            }
+        }, ColumnarSnapshot::merge);
+    }
+
+    private static void merge(final int[] counts, final int[] other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other[i];
+        }
+    }
+
+    private static <K> Map<K, Integer> group(final K[] dictionary, final int[] counts) {
+        final Map<K, Integer> groups = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                groups.put(dictionary[i], counts[i]);
+            }
+        }
+        return groups;
+    }
+
+    private static String[] dictionary(final Map<String, Integer> ordinals) {
+        final String[] dictionary = new String[ordinals.size()];
+        ordinals.forEach((value, ordinal) -> dictionary[ordinal] = value);
+        return dictionary;
+    }
+
+    public static final class Builder {
+
+        private final List<PluginMetadata> plugins = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder add(final PluginMetadata plugin) {
+            this.plugins.add(Objects.requireNonNull(plugin, "plugin"));
+            return this;
+        }
+
+        public Builder addAll(final Collection<? extends PluginMetadata> plugins) {
+            for (final PluginMetadata plugin : Objects.requireNonNull(plugins, "plugins")) {
+                this.add(plugin);
+            }
+            return this;
+        }
+
+        /**
+         * @return The snapshot
+         * @throws IllegalArgumentException if two plugins share the same id
+         */
+        public ColumnarSnapshot build() {
+            return new ColumnarSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash array mapped trie. Updates copy only the path from the root to the changed entry and share
+ * every other node with the previous map.
+ */
+final class PersistentMap<K, V> {
+    private static final int BITS = 5, MASK = (1 << PersistentMap.BITS) - 1;
+    @SuppressWarnings("rawtypes")
+    private static final PersistentMap EMPTY = new PersistentMap<>(new Node(0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return PersistentMap.EMPTY;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable V get(final Object key) {
+        final int hash = key.hashCode();
+        Node node = this.root;
+        for (int shift = 0; ; shift += PersistentMap.BITS) {
+            final int bit = 1 << ((hash >>> shift) & PersistentMap.MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            final Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (slot instanceof Node child) {
+                node = child;
+                continue;
+            }
+            for (Leaf leaf = (Leaf) slot; leaf != null; leaf = leaf.next) {
+                if (leaf.hash == hash && leaf.key.equals(key)) {
+                    return (V) leaf.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    PersistentMap<K, V> put(final K key, final V value) {
+        Objects.requireNonNull(value, "value");
+        final int size = this.get(key) == null ? this.size + 1 : this.size;
+        final Node root = PersistentMap.put(this.root, 0, new Leaf(key.hashCode(), key, value, null));
+        return root == this.root ? this : new PersistentMap<>(root, size);
+    }
+
+    PersistentMap<K, V> remove(final K key) {
+        if (this.get(key) == null) {
+            return this;
+        }
+        return new PersistentMap<>(PersistentMap.remove(this.root, 0, key.hashCode(), key), this.size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(final BiConsumer<? super K, ? super V> action) {
+        PersistentMap.forEach(this.root, (BiConsumer<Object, Object>) action);
+    }
+
+    /**
+     * @return An unmodifiable view of the values, in no particular order
+     */
+    Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Values<>(PersistentMap.this.root);
+            }
+
+            @Override
+            public int size() {
+                return PersistentMap.this.size;
+            }
+        };
+    }
+
+    private static Node put(final Node node, final int shift, final Leaf leaf) {
+        final int bit = 1 << ((leaf.hash >>> shift) & PersistentMap.MASK);
+        final int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            final Object[] slots = new Object[node.slots.length + 1];
+            System.arraycopy(node.slots, 0, slots, 0, index);
+            slots[index] = leaf;
+            System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+            return new Node(node.bitmap | bit, slots);
+        }
+        final Object slot = node.slots[index];
+        final Object replacement;
+        if (slot instanceof Node child) {
+            replacement = PersistentMap.put(child, shift + PersistentMap.BITS, leaf);
+        } else if (((Leaf) slot).hash == leaf.hash) {
+            final Leaf chain = (Leaf) slot;
+            if (chain.next == null && chain.key.equals(leaf.key) && chain.value == leaf.value) {
+                return node;
+            }
+            // Full hash collision, keep the entries chained
+            replacement = new Leaf(leaf.hash, leaf.key, leaf.value, PersistentMap.unlink(chain, leaf.key));
+        } else {
+            replacement = PersistentMap.merge((Leaf) slot, leaf, shift + PersistentMap.BITS);
+        }
+        final Object[] slots = node.slots.clone();
+        slots[index] = replacement;
+        return new Node(node.bitmap, slots);
+    }
+
+    private static Node merge(final Leaf first, final Leaf second, final int shift) {
+        final int a = (first.hash >>> shift) & PersistentMap.MASK, b = (second.hash >>> shift) & PersistentMap.MASK;
+        if (a == b) {
+            return new Node(1 << a, new Object[] {PersistentMap.merge(first, second, shift + PersistentMap.BITS)});
+        }
+        return new Node((1 << a) | (1 << b), a < b ? new Object[] {first, second} : new Object[] {second, first});
+    }
+
+    private static Node remove(final Node node, final int shift, final int hash, final Object key) {
+        final int bit = 1 << ((hash >>> shift) & PersistentMap.MASK);
+        final int index = Integer.bitCount(node.bitmap & (bit - 1));
+        final Object slot = node.slots[index];
+        final @Nullable Object replacement;
+        if (slot instanceof Node child) {
+            final Node removed = PersistentMap.remove(child, shift + PersistentMap.BITS, hash, key);
+            // Pull a lone entry up so that the trie stays as shallow as its contents require
+            replacement = removed.slots.length == 0 ? null
+                    : removed.slots.length == 1 && removed.slots[0] instanceof Leaf lone ? lone : removed;
+        } else {
+            replacement = PersistentMap.unlink((Leaf) slot, key);
+        }
+        if (replacement != null) {
+            final Object[] slots = node.slots.clone();
+            slots[index] = replacement;
+            return new Node(node.bitmap, slots);
+        }
+        final Object[] slots = new Object[node.slots.length - 1];
+        System.arraycopy(node.slots, 0, slots, 0, index);
+        System.arraycopy(node.slots, index + 1, slots, index, slots.length - index);
+        return new Node(node.bitmap & ~bit, slots);
+    }
+
+    private static @Nullable Leaf unlink(final @Nullable Leaf chain, final Object key) {
+        if (chain == null) {
+            return null;
+        }
+        if (chain.key.equals(key)) {
+            return chain.next;
+        }
+        final Leaf next = PersistentMap.unlink(chain.next, key);
+        return next == chain.next ? chain : new Leaf(chain.hash, chain.key, chain.value, next);
+    }
+
+    private static void forEach(final Node node, final BiConsumer<Object, Object> action) {
+        for (final Object slot : node.slots) {
+            if (slot instanceof Node child) {
+                PersistentMap.forEach(child, action);
+            } else {
+                for (Leaf leaf = (Leaf) slot; leaf != null; leaf = leaf.next) {
+                    action.accept(leaf.key, leaf.value);
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+        final int bitmap;
+        final Object[] slots;
+
+        Node(final int bitmap, final Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+    }
+
+    private static final class Values<V> implements Iterator<V> {
+        // A hash has 32 bits consumed 5 at a time, so the trie is at most 7 levels deep
+        private final Node[] nodes = new Node[7];
+        private final int[] positions = new int[7];
+        private int depth;
+        private @Nullable Leaf next;
+
+        Values(final Node root) {
+            this.nodes[0] = root;
+            this.depth = 1;
+            this.advance();
+        }
+
+        private void advance() {
+            this.next = null;
+            while (this.depth > 0) {
+                final Node node = this.nodes[this.depth - 1];
+                if (this.positions[this.depth - 1] == node.slots.length) {
+                    this.depth--;
+                    continue;
+                }
+                final Object slot = node.slots[this.positions[this.depth - 1]++];
+                if (slot instanceof Node child) {
+                    this.nodes[this.depth] = child;
+                    this.positions[this.depth] = 0;
+                    this.depth++;
+                } else {
+                    this.next = (Leaf) slot;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            final Leaf leaf = this.next;
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+            if (leaf.next != null) {
+                this.next = leaf.next;
+            } else {
+                this.advance();
+            }
+            return (V) leaf.value;
+        }
+    }
+
+    private record Leaf(int hash, Object key, Object value, @Nullable Leaf next) {
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * An immutable trie over plugin ids, answering prefix and approximate lookups without comparing against every id.
+ * <p>
+ * The trie is flattened in breadth first order into parallel arrays, with the children of each node stored
+ * contiguously and sorted by character. Approximate lookups walk the trie while maintaining one row of the edit
+ * distance matrix per depth, abandoning a branch as soon as no id below it can be within the requested distance.
+ * Adjacent transpositions count as a single edit.
+ */
+public final class PluginIdIndex {
+    private static final PluginIdIndex EMPTY = PluginIdIndex.of(List.<String>of());
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final boolean[] terminal;
+    private final int size;
+
+    private PluginIdIndex(final char[] labels, final int[] firstChild, final int[] childCount, final boolean[] terminal,
+            final int size) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.terminal = terminal;
+        this.size = size;
+    }
+
+    public static PluginIdIndex empty() {
+        return PluginIdIndex.EMPTY;
+    }
+
+    /**
+     * Builds an index over the given ids.
+     *
+     * @param ids The ids
+     * @return The index
+     */
+    public static PluginIdIndex of(final Collection<String> ids) {
+        final List<String> sorted = new ArrayList<>(new TreeSet<>(Objects.requireNonNull(ids, "ids")));
+
+        // Each node is the range of sorted ids sharing its prefix, nodes are numbered in breadth first order
+        final List<int[]> ranges = new ArrayList<>();
+        final List<Character> labels = new ArrayList<>();
+        ranges.add(new int[] {0, sorted.size(), 0});
+        labels.add('\0');
+        final int[] firstChild = new int[PluginIdIndex.nodeCount(sorted) + 1];
+        final int[] childCount = new int[firstChild.length];
+        final boolean[] terminal = new boolean[firstChild.length];
+        for (int node = 0; node < ranges.size(); node++) {
+            final int[] range = ranges.get(node);
+            final int depth = range[2];
+            int start = range[0];
+            if (start < range[1] && sorted.get(start).length() == depth) {
+                terminal[node] = true;
+                start++;
+            }
+            firstChild[node] = ranges.size();
+            while (start < range[1]) {
+                final char c = sorted.get(start).charAt(depth);
+                int end = start + 1;
+                while (end < range[1] && sorted.get(end).charAt(depth) == c) {
+                    end++;
+                }
+                ranges.add(new int[] {start, end, depth + 1});
+                labels.add(c);
+                childCount[node]++;
+                start = end;
+            }
+        }
+        final char[] chars = new char[ranges.size()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = labels.get(i);
+        }
+        return new PluginIdIndex(chars, firstChild, childCount, terminal, sorted.size());
+    }
+
+    /**
+     * Builds an index over the ids of every plugin of the given {@link MetadataContainer containers}.
+     *
+     * @param containers The containers
+     * @return The index
+     */
+    public static PluginIdIndex ofContainers(final Collection<MetadataContainer> containers) {
+        final List<String> ids = new ArrayList<>();
+        for (final MetadataContainer container : Objects.requireNonNull(containers, "containers")) {
+            for (final PluginMetadata plugin : container.plugins()) {
+                ids.add(plugin.id());
+            }
+        }
+        return PluginIdIndex.of(ids);
+    }
+
+    private static int nodeCount(final List<String> sorted) {
+        int count = 0;
+        String previous = "";
+        for (final String id : sorted) {
+            int common = 0;
+            while (common < previous.length() && common < id.length() && previous.charAt(common) == id.charAt(common)) {
+                common++;
+            }
+            count += id.length() - common;
+            previous = id;
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of ids
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public boolean contains(final String id) {
+        final int node = this.find(Objects.requireNonNull(id, "id"));
+        return node >= 0 && this.terminal[node];
+    }
+
+    /**
+     * Gets the ids starting with a prefix.
+     *
+     * @param prefix The prefix
+     * @param limit The maximum number of ids
+     * @return The ids, in lexicographic order
+     */
+    public List<String> withPrefix(final String prefix, final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        final int node = this.find(Objects.requireNonNull(prefix, "prefix"));
+        final List<String> ids = new ArrayList<>();
+        if (node >= 0 && limit > 0) {
+            this.collect(node, new StringBuilder(prefix), ids, limit);
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the ids within an edit distance of the given id.
+     *
+     * @param id The id
+     * @param distance The maximum number of inserted, removed, substituted or transposed characters
+     * @return The ids, nearest first and then in lexicographic order
+     */
+    public List<String> similar(final String id, final int distance) {
+        Objects.requireNonNull(id, "id");
+        if (distance < 0) {
+            throw new IllegalArgumentException("distance must not be negative");
+        }
+        final int columns = id.length() + 1;
+        final List<Match> matches = new ArrayList<>();
+        final List<int[]> rows = new ArrayList<>();
+        final int[] first = new int[columns];
+        for (int j = 0; j < columns; j++) {
+            first[j] = j;
+        }
+        rows.add(first);
+        if (this.terminal[0] && id.length() <= distance) {
+            matches.add(new Match("", id.length()));
+        }
+        final StringBuilder path = new StringBuilder();
+        for (int child = this.firstChild[0], end = child + this.childCount[0]; child < end; child++) {
+            this.similar(child, id, distance, rows, path, matches);
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::id));
+        return matches.stream().map(Match::id).toList();
+    }
+
+    /**
+     * Suggests the ids a mistyped id was most likely meant to be, allowing more edits for longer ids.
+     *
+     * @param id The mistyped id
+     * @param limit The maximum number of suggestions
+     * @return The suggestions, best first
+     */
+    public List<String> suggest(final String id, final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        final List<String> similar = this.similar(id, id.length() <= 4 ? 1 : 2);
+        return similar.size() > limit ? similar.subList(0, limit) : similar;
+    }
+
+    private void similar(final int node, final String id, final int distance, final List<int[]> rows,
+            final StringBuilder path, final List<Match> matches) {
+        final int depth = path.length() + 1;
+        final char c = this.labels[node];
+        path.append(c);
+        if (rows.size() <= depth) {
+            rows.add(new int[id.length() + 1]);
+        }
+        final int[] previous = rows.get(depth - 1), row = rows.get(depth);
+        row[0] = depth;
+        int min = row[0];
+        for (int j = 1; j < row.length; j++) {
+            int cost = Math.min(row[j - 1] + 1, Math.min(previous[j] + 1, previous[j - 1] + (id.charAt(j - 1) == c ? 0 : 1)));
+            if (depth > 1 && j > 1 && id.charAt(j - 1) == path.charAt(depth - 2) && id.charAt(j - 2) == c) {
+                cost = Math.min(cost, rows.get(depth - 2)[j - 2] + 1);
+            }
+            row[j] = cost;
+            min = Math.min(min, cost);
+        }
+        if (this.terminal[node] && row[id.length()] <= distance) {
+            matches.add(new Match(path.toString(), row[id.length()]));
+        }
+        // A transposition can still reach back one row, so the previous row bounds the next ones as well
+        int previousMin = Integer.MAX_VALUE;
+        for (final int value : previous) {
+            previousMin = Math.min(previousMin, value);
+        }
+        if (Math.min(min, previousMin + 1) <= distance) {
+            for (int child = this.firstChild[node], end = child + this.childCount[node]; child < end; child++) {
+                this.similar(child, id, distance, rows, path, matches);
+            }
+        }
+        path.setLength(depth - 1);
+    }
+
+    private void collect(final int node, final StringBuilder path, final List<String> ids, final int limit) {
+        if (this.terminal[node]) {
+            ids.add(path.toString());
+        }
+        for (int child = this.firstChild[node], end = child + this.childCount[node]; child < end && ids.size() < limit; child++) {
+            path.append(this.labels[child]);
+            this.collect(child, path, ids, limit);
+            path.setLength(path.length() - 1);
+        }
+    }
+
+    private int find(final String prefix) {
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            final int start = this.firstChild[node];
+            final int child = Arrays.binarySearch(this.labels, start, start + this.childCount[node], prefix.charAt(i));
+            if (child < 0) {
+                return -1;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private record Match(String id, int distance) {
+    }
+}
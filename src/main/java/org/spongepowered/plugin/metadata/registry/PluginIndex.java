@@ -0,0 +1,77 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginContributor;
+import org.spongepowered.plugin.metadata.model.PluginEntrypoints;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The secondary keys plugins are indexed by.
+ */
+enum PluginIndex {
+    LOADER {
+        @Override
+        Collection<String> keys(final PluginMetadata plugin) {
+            return List.of(plugin.loader().name());
+        }
+    },
+    ENTRYPOINT {
+        @Override
+        Collection<String> keys(final PluginMetadata plugin) {
+            final PluginEntrypoints entrypoints = plugin.entrypoints();
+            final List<String> classes = new ArrayList<>(entrypoints.main().size() + entrypoints.server().size()
+                    + entrypoints.client().size());
+            classes.addAll(entrypoints.main());
+            classes.addAll(entrypoints.server());
+            classes.addAll(entrypoints.client());
+            return classes;
+        }
+    },
+    LICENSE {
+        @Override
+        Collection<String> keys(final PluginMetadata plugin) {
+            return plugin.license().map(List::of).orElse(List.of());
+        }
+    },
+    CONTRIBUTOR {
+        @Override
+        Collection<String> keys(final PluginMetadata plugin) {
+            return plugin.contributors().stream().map(PluginContributor::name).toList();
+        }
+    },
+    PROPERTY {
+        @Override
+        Collection<String> keys(final PluginMetadata plugin) {
+            return plugin.properties().keySet();
+        }
+    };
+
+    abstract Collection<String> keys(PluginMetadata plugin);
+}
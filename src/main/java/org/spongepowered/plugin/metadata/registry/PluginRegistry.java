@@ -0,0 +1,208 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Registers the {@link PluginMetadata plugins} of {@link MetadataContainer containers} and indexes them by id, loader
+ * name, entrypoint class, license, contributor name and property key.
+ * <p>
+ * Containers are registered and unregistered as a whole, so every index always reflects exactly the plugins of the
+ * registered containers. Containers are told apart by identity and plugins by id, so neither is ever hashed as a
+ * whole. Lookups are constant time and return unmodifiable views that keep registration order.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class PluginRegistry {
+    private final Map<ContainerIdentity, MetadataContainer> containers = new LinkedHashMap<>();
+    private final Map<String, StandardPluginMetadata> plugins = new LinkedHashMap<>();
+    private final Map<String, MetadataContainer> owners = new HashMap<>();
+    private final Map<PluginIndex, Index> indexes = new EnumMap<>(PluginIndex.class);
+
+    public PluginRegistry() {
+        for (final PluginIndex index : PluginIndex.values()) {
+            this.indexes.put(index, new Index(index));
+        }
+    }
+
+    /**
+     * Registers every plugin of a {@link MetadataContainer container}.
+     *
+     * @param container The container
+     * @throws IllegalArgumentException if the container or a plugin with the same id is already registered, in which
+     *      case nothing is registered
+     */
+    public void register(final MetadataContainer container) {
+        Objects.requireNonNull(container, "container");
+        final ContainerIdentity identity = new ContainerIdentity(container);
+        if (this.containers.containsKey(identity)) {
+            throw new IllegalArgumentException("Container is already registered");
+        }
+        final Set<String> ids = new LinkedHashSet<>();
+        for (final StandardPluginMetadata plugin : container.plugins()) {
+            if (this.plugins.containsKey(plugin.id()) || !ids.add(plugin.id())) {
+                throw new IllegalArgumentException(String.format("Plugin '%s' is already registered", plugin.id()));
+            }
+        }
+        this.containers.put(identity, container);
+        for (final StandardPluginMetadata plugin : container.plugins()) {
+            this.plugins.put(plugin.id(), plugin);
+            this.owners.put(plugin.id(), container);
+            for (final Index index : this.indexes.values()) {
+                index.add(plugin);
+            }
+        }
+    }
+
+    /**
+     * Unregisters every plugin of a {@link MetadataContainer container}.
+     *
+     * @param container The container
+     * @return True if the container was registered
+     */
+    public boolean unregister(final MetadataContainer container) {
+        if (this.containers.remove(new ContainerIdentity(Objects.requireNonNull(container, "container"))) == null) {
+            return false;
+        }
+        for (final StandardPluginMetadata plugin : container.plugins()) {
+            this.plugins.remove(plugin.id());
+            this.owners.remove(plugin.id());
+            for (final Index index : this.indexes.values()) {
+                index.remove(plugin);
+            }
+        }
+        return true;
+    }
+
+    public Collection<MetadataContainer> containers() {
+        return Collections.unmodifiableCollection(this.containers.values());
+    }
+
+    public Collection<StandardPluginMetadata> plugins() {
+        return Collections.unmodifiableCollection(this.plugins.values());
+    }
+
+    public int size() {
+        return this.plugins.size();
+    }
+
+    public Optional<StandardPluginMetadata> plugin(final String id) {
+        return Optional.ofNullable(this.plugins.get(Objects.requireNonNull(id, "id")));
+    }
+
+    /**
+     * Gets the {@link MetadataContainer container} a plugin was registered with.
+     *
+     * @param id The id
+     * @return The container or {@link Optional#empty()} if the plugin is not registered
+     */
+    public Optional<MetadataContainer> container(final String id) {
+        return Optional.ofNullable(this.owners.get(Objects.requireNonNull(id, "id")));
+    }
+
+    /**
+     * @param name The loader name
+     * @return The plugins using the loader
+     */
+    public Collection<StandardPluginMetadata> byLoader(final String name) {
+        return this.indexes.get(PluginIndex.LOADER).get(Objects.requireNonNull(name, "name"));
+    }
+
+    /**
+     * @param className The fully qualified class name
+     * @return The plugins declaring the class as a main, server or client entrypoint
+     */
+    public Collection<StandardPluginMetadata> byEntrypoint(final String className) {
+        return this.indexes.get(PluginIndex.ENTRYPOINT).get(Objects.requireNonNull(className, "className"));
+    }
+
+    /**
+     * @param license The license
+     * @return The plugins declaring the license
+     */
+    public Collection<StandardPluginMetadata> byLicense(final String license) {
+        return this.indexes.get(PluginIndex.LICENSE).get(Objects.requireNonNull(license, "license"));
+    }
+
+    /**
+     * @param name The contributor name
+     * @return The plugins listing the contributor
+     */
+    public Collection<StandardPluginMetadata> byContributor(final String name) {
+        return this.indexes.get(PluginIndex.CONTRIBUTOR).get(Objects.requireNonNull(name, "name"));
+    }
+
+    /**
+     * @param key The property key
+     * @return The plugins declaring the property, whatever its value
+     */
+    public Collection<StandardPluginMetadata> byProperty(final String key) {
+        return this.indexes.get(PluginIndex.PROPERTY).get(Objects.requireNonNull(key, "key"));
+    }
+
+    private static final class Index {
+        private final PluginIndex keys;
+        // Plugins by id for each key
+        private final Map<String, Map<String, StandardPluginMetadata>> plugins = new HashMap<>();
+
+        Index(final PluginIndex keys) {
+            this.keys = keys;
+        }
+
+        void add(final StandardPluginMetadata plugin) {
+            for (final String key : this.keys.keys(plugin)) {
+                this.plugins.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(plugin.id(), plugin);
+            }
+        }
+
+        void remove(final StandardPluginMetadata plugin) {
+            for (final String key : this.keys.keys(plugin)) {
+                final Map<String, StandardPluginMetadata> plugins = this.plugins.get(key);
+                if (plugins != null && plugins.remove(plugin.id()) != null && plugins.isEmpty()) {
+                    this.plugins.remove(key);
+                }
+            }
+        }
+
+        Collection<StandardPluginMetadata> get(final String key) {
+            final Map<String, StandardPluginMetadata> plugins = this.plugins.get(key);
+            return plugins == null ? Set.of() : Collections.unmodifiableCollection(plugins.values());
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.model.PluginContributor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * An inverted index over the text of {@link PluginMetadata plugins}: their id, name, description, contributor names
+ * and property values.
+ * <p>
+ * Text is split into lower case terms on every character that is not a letter or a digit. Each query term matches the
+ * indexed terms it is a prefix of, an exact match scoring higher than a prefix match, and a plugin is returned only
+ * if it matches every query term. Matches are ranked by the sum, over query terms, of the field weighted frequency of
+ * the matched term in the plugin multiplied by how rare that term is across the index.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class PluginSearchIndex {
+    private static final float ID_WEIGHT = 4, NAME_WEIGHT = 4, CONTRIBUTOR_WEIGHT = 2, DESCRIPTION_WEIGHT = 1,
+            PROPERTY_WEIGHT = 1, PREFIX_BOOST = 0.5f;
+
+    private final @Nullable TextArena arena;
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<String, Document> documents = new HashMap<>();
+    // Documents by slot, slots of removed documents are reused so that the score arrays stay as small as the index
+    private Document[] slots = new Document[16];
+    private int[] free = new int[16];
+    private int freeCount, slotCount;
+    // Per slot scratch space of a search
+    private float[] best = new float[16], total = new float[16];
+    private int[] stamps = new int[16], matched = new int[16];
+    private int stamp;
+
+    /**
+     * Creates an index keeping the plugins as they are indexed.
+     */
+    public PluginSearchIndex() {
+        this.arena = null;
+    }
+
+    /**
+     * Creates an index keeping the rarely read text of its plugins, such as their descriptions, in the given
+     * {@link TextArena arena}. Indexed plugins are copied into {@link ArenaPluginMetadata}, which are the plugins
+     * returned by the index.
+     *
+     * @param arena The arena
+     */
+    public PluginSearchIndex(final TextArena arena) {
+        this.arena = Objects.requireNonNull(arena, "arena");
+    }
+
+    /**
+     * Indexes every plugin of a {@link MetadataContainer container}, replacing any plugin with the same id.
+     *
+     * @param container The container
+     */
+    public void add(final MetadataContainer container) {
+        for (final PluginMetadata plugin : Objects.requireNonNull(container, "container").plugins()) {
+            this.add(plugin);
+        }
+    }
+
+    /**
+     * Removes every plugin of a {@link MetadataContainer container}.
+     *
+     * @param container The container
+     */
+    public void remove(final MetadataContainer container) {
+        for (final PluginMetadata plugin : Objects.requireNonNull(container, "container").plugins()) {
+            this.remove(plugin.id());
+        }
+    }
+
+    /**
+     * Indexes a {@link PluginMetadata plugin}, replacing any plugin with the same id.
+     *
+     * @param plugin The plugin
+     * @return The replaced plugin or {@link Optional#empty()} otherwise
+     */
+    public Optional<PluginMetadata> add(final PluginMetadata plugin) {
+        final Optional<PluginMetadata> previous = this.remove(Objects.requireNonNull(plugin, "plugin").id());
+        final Map<String, Float> frequencies = new HashMap<>();
+        PluginSearchIndex.collect(frequencies, plugin.id(), PluginSearchIndex.ID_WEIGHT);
+        plugin.name().ifPresent(name -> PluginSearchIndex.collect(frequencies, name, PluginSearchIndex.NAME_WEIGHT));
+        plugin.description().ifPresent(description -> PluginSearchIndex.collect(frequencies, description,
+                PluginSearchIndex.DESCRIPTION_WEIGHT));
+        for (final PluginContributor contributor : plugin.contributors()) {
+            PluginSearchIndex.collect(frequencies, contributor.name(), PluginSearchIndex.CONTRIBUTOR_WEIGHT);
+        }
+        for (final Object value : plugin.properties().values()) {
+            PluginSearchIndex.collect(frequencies, String.valueOf(value), PluginSearchIndex.PROPERTY_WEIGHT);
+        }
+
+        final int slot = this.allocate();
+        final PluginMetadata stored = this.arena == null ? plugin : ArenaPluginMetadata.of(this.arena, plugin);
+        final Document document = new Document(slot, stored, new String[frequencies.size()], new int[frequencies.size()]);
+        int i = 0;
+        for (final Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            document.terms[i] = entry.getKey();
+            document.positions[i++] = this.postings.computeIfAbsent(entry.getKey(), k -> new Postings())
+                    .add(slot, entry.getValue());
+        }
+        this.documents.put(plugin.id(), document);
+        this.slots[slot] = document;
+        return previous;
+    }
+
+    /**
+     * Removes the plugin with the given {@link String id}.
+     *
+     * @param id The id
+     * @return The removed plugin or {@link Optional#empty()} otherwise
+     */
+    public Optional<PluginMetadata> remove(final String id) {
+        final Document document = this.documents.remove(Objects.requireNonNull(id, "id"));
+        if (document == null) {
+            return Optional.empty();
+        }
+        for (int i = 0; i < document.terms.length; i++) {
+            final Postings postings = this.postings.get(document.terms[i]);
+            final int moved = postings.remove(document.positions[i]);
+            if (moved >= 0) {
+                // The last posting took the place of the removed one
+                this.slots[moved].relocate(document.terms[i], document.positions[i]);
+            }
+            if (postings.size == 0) {
+                this.postings.remove(document.terms[i]);
+            }
+        }
+        this.slots[document.slot] = null;
+        if (this.freeCount == this.free.length) {
+            this.free = Arrays.copyOf(this.free, this.freeCount * 2);
+        }
+        this.free[this.freeCount++] = document.slot;
+        return Optional.of(document.plugin);
+    }
+
+    public int size() {
+        return this.documents.size();
+    }
+
+    /**
+     * Searches for the plugins matching every term of a query.
+     *
+     * @param query The query
+     * @param limit The maximum number of results
+     * @return The best results, highest score first
+     */
+    public List<Result> search(final String query, final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        final Set<String> terms = new LinkedHashSet<>(PluginSearchIndex.tokenize(Objects.requireNonNull(query, "query")));
+        if (terms.isEmpty() || limit == 0) {
+            return List.of();
+        }
+
+        final List<Match> matches = new ArrayList<>(terms.size());
+        for (final String term : terms) {
+            final Match match = new Match(term, this.postings.subMap(term, true, term + Character.MAX_VALUE, false));
+            if (match.postings().isEmpty()) {
+                return List.of();
+            }
+            matches.add(match);
+        }
+        // Start from the rarest term, the candidates can only shrink from there
+        matches.sort(Comparator.comparingLong(Match::size));
+
+        int[] candidates = new int[0];
+        int candidateCount = 0;
+        for (int round = 0; round < matches.size(); round++) {
+            final Match match = matches.get(round);
+            final int stamp = this.nextStamp();
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            for (final Map.Entry<String, Postings> entry : match.postings().entrySet()) {
+                final Postings postings = entry.getValue();
+                final float idf = (float) Math.log(1 + (double) this.documents.size() / postings.size);
+                final float weight = entry.getKey().length() == match.term().length() ? idf : idf * PluginSearchIndex.PREFIX_BOOST;
+                for (int i = 0; i < postings.size; i++) {
+                    final int slot = postings.slots[i];
+                    if (round > 0 && this.matched[slot] != round) {
+                        continue;
+                    }
+                    final float score = postings.frequencies[i] * weight;
+                    if (this.stamps[slot] != stamp) {
+                        // A plugin matching several terms with the same prefix only scores its best match
+                        this.stamps[slot] = stamp;
+                        this.best[slot] = score;
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = slot;
+                    } else if (score > this.best[slot]) {
+                        this.best[slot] = score;
+                    }
+                }
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                final int slot = touched[i];
+                this.total[slot] = round == 0 ? this.best[slot] : this.total[slot] + this.best[slot];
+                this.matched[slot] = round + 1;
+            }
+            if (round == 0) {
+                candidates = touched;
+                candidateCount = touchedCount;
+            }
+        }
+
+        final Comparator<Result> ranking = Comparator.comparingDouble(Result::score)
+                .thenComparing(result -> result.plugin().id(), Comparator.reverseOrder());
+        // Never more results than candidates, however large the limit
+        final PriorityQueue<Result> best = new PriorityQueue<>(Math.max(1, Math.min(limit, candidateCount)), ranking);
+        for (int i = 0; i < candidateCount; i++) {
+            final int slot = candidates[i];
+            // Most candidates score below the current worst result, skip them before allocating anything
+            if (this.matched[slot] != matches.size() || best.size() == limit && this.total[slot] < best.peek().score()) {
+                continue;
+            }
+            final Result result = new Result(this.slots[slot].plugin, this.total[slot]);
+            if (best.size() < limit) {
+                best.add(result);
+            } else if (ranking.compare(result, best.peek()) > 0) {
+                best.poll();
+                best.add(result);
+            }
+        }
+        for (int i = 0; i < candidateCount; i++) {
+            this.matched[candidates[i]] = 0;
+        }
+        final List<Result> results = new ArrayList<>(best);
+        results.sort(ranking.reversed());
+        return results;
+    }
+
+    private int nextStamp() {
+        if (++this.stamp == Integer.MAX_VALUE) {
+            Arrays.fill(this.stamps, 0);
+            this.stamp = 1;
+        }
+        return this.stamp;
+    }
+
+    private int allocate() {
+        if (this.freeCount > 0) {
+            return this.free[--this.freeCount];
+        }
+        if (this.slotCount == this.slots.length) {
+            final int capacity = this.slotCount * 2;
+            this.slots = Arrays.copyOf(this.slots, capacity);
+            this.best = Arrays.copyOf(this.best, capacity);
+            this.total = Arrays.copyOf(this.total, capacity);
+            this.stamps = Arrays.copyOf(this.stamps, capacity);
+            this.matched = Arrays.copyOf(this.matched, capacity);
+        }
+        return this.slotCount++;
+    }
+
+    private static void collect(final Map<String, Float> frequencies, final String text, final float weight) {
+        for (final String term : PluginSearchIndex.tokenize(text)) {
+            frequencies.merge(term, weight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(final String text) {
+        final List<String> terms = new ArrayList<>();
+        final String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            final boolean part = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (part && start < 0) {
+                start = i;
+            } else if (!part && start >= 0) {
+                terms.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private record Match(String term, SortedMap<String, Postings> postings) {
+
+        long size() {
+            long size = 0;
+            for (final Postings postings : this.postings.values()) {
+                size += postings.size;
+            }
+            return size;
+        }
+    }
+
+    private static final class Document {
+        final int slot;
+        final PluginMetadata plugin;
+        final String[] terms;
+        // Position of this document in the postings of each term
+        final int[] positions;
+
+        Document(final int slot, final PluginMetadata plugin, final String[] terms, final int[] positions) {
+            this.slot = slot;
+            this.plugin = plugin;
+            this.terms = terms;
+            this.positions = positions;
+        }
+
+        void relocate(final String term, final int position) {
+            for (int i = 0; i < this.terms.length; i++) {
+                if (this.terms[i].equals(term)) {
+                    this.positions[i] = position;
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Postings {
+        int[] slots = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+
+        int add(final int slot, final float frequency) {
+            if (this.size == this.slots.length) {
+                this.slots = Arrays.copyOf(this.slots, this.size * 2);
+                this.frequencies = Arrays.copyOf(this.frequencies, this.size * 2);
+            }
+            this.slots[this.size] = slot;
+            this.frequencies[this.size] = frequency;
+            return this.size++;
+        }
+
+        /**
+         * Removes the posting at a position by moving the last posting into it.
+         *
+         * @return The slot of the moved posting, or {@code -1} if the removed posting was the last one
+         */
+        int remove(final int position) {
+            final int last = --this.size;
+            if (position == last) {
+                return -1;
+            }
+            this.slots[position] = this.slots[last];
+            this.frequencies[position] = this.frequencies[last];
+            return this.slots[position];
+        }
+    }
+
+    /**
+     * A {@link PluginMetadata plugin} matching a query.
+     *
+     * @param plugin The plugin
+     * @param score The score, higher is better
+     */
+    public record Result(PluginMetadata plugin, double score) {
+
+        public Result {
+            Objects.requireNonNull(plugin, "plugin");
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable view of the plugins registered in a {@link SnapshotRegistry}, indexed like a {@link PluginRegistry}.
+ * <p>
+ * A snapshot never changes once published, so holding on to it pins a consistent view of the registry for as long as
+ * needed, whatever is registered afterwards. Snapshots share every unchanged part of their indexes with the snapshot
+ * they were derived from. Each key of an index maps to a persistent map of the plugins by id, so a change only copies
+ * the paths leading to the entries it touches, however many plugins share a key. Lookups return unmodifiable views,
+ * in no particular order.
+ */
+public final class RegistrySnapshot {
+    static final RegistrySnapshot EMPTY = new RegistrySnapshot(0, PersistentMap.empty(), PersistentMap.empty(),
+            PersistentMap.empty(), Collections.nCopies(PluginIndex.values().length, PersistentMap.empty()));
+
+    private final long generation;
+    private final PersistentMap<ContainerIdentity, MetadataContainer> containers;
+    private final PersistentMap<String, StandardPluginMetadata> plugins;
+    private final PersistentMap<String, MetadataContainer> owners;
+    private final List<PersistentMap<String, PersistentMap<String, StandardPluginMetadata>>> indexes;
+
+    private RegistrySnapshot(final long generation, final PersistentMap<ContainerIdentity, MetadataContainer> containers,
+            final PersistentMap<String, StandardPluginMetadata> plugins, final PersistentMap<String, MetadataContainer> owners,
+            final List<PersistentMap<String, PersistentMap<String, StandardPluginMetadata>>> indexes) {
+        this.generation = generation;
+        this.containers = containers;
+        this.plugins = plugins;
+        this.owners = owners;
+        this.indexes = indexes;
+    }
+
+    /**
+     * @return The number of changes published before this snapshot
+     */
+    public long generation() {
+        return this.generation;
+    }
+
+    /**
+     * @return The registered containers, in no particular order
+     */
+    public Collection<MetadataContainer> containers() {
+        return this.containers.values();
+    }
+
+    /**
+     * @return The registered plugins, in no particular order
+     */
+    public Collection<StandardPluginMetadata> plugins() {
+        return this.plugins.values();
+    }
+
+    public int size() {
+        return this.plugins.size();
+    }
+
+    public boolean contains(final MetadataContainer container) {
+        return this.containers.get(new ContainerIdentity(Objects.requireNonNull(container, "container"))) != null;
+    }
+
+    public Optional<StandardPluginMetadata> plugin(final String id) {
+        return Optional.ofNullable(this.plugins.get(Objects.requireNonNull(id, "id")));
+    }
+
+    /**
+     * Gets the {@link MetadataContainer container} a plugin was registered with.
+     *
+     * @param id The id
+     * @return The container or {@link Optional#empty()} if the plugin is not registered
+     */
+    public Optional<MetadataContainer> container(final String id) {
+        return Optional.ofNullable(this.owners.get(Objects.requireNonNull(id, "id")));
+    }
+
+    /**
+     * @param name The loader name
+     * @return The plugins using the loader
+     */
+    public Collection<StandardPluginMetadata> byLoader(final String name) {
+        return this.lookup(PluginIndex.LOADER, Objects.requireNonNull(name, "name"));
+    }
+
+    /**
+     * @param className The fully qualified class name
+     * @return The plugins declaring the class as a main, server or client entrypoint
+     */
+    public Collection<StandardPluginMetadata> byEntrypoint(final String className) {
+        return this.lookup(PluginIndex.ENTRYPOINT, Objects.requireNonNull(className, "className"));
+    }
+
+    /**
+     * @param license The license
+     * @return The plugins declaring the license
+     */
+    public Collection<StandardPluginMetadata> byLicense(final String license) {
+        return this.lookup(PluginIndex.LICENSE, Objects.requireNonNull(license, "license"));
+    }
+
+    /**
+     * @param name The contributor name
+     * @return The plugins listing the contributor
+     */
+    public Collection<StandardPluginMetadata> byContributor(final String name) {
+        return this.lookup(PluginIndex.CONTRIBUTOR, Objects.requireNonNull(name, "name"));
+    }
+
+    /**
+     * @param key The property key
+     * @return The plugins declaring the property, whatever its value
+     */
+    public Collection<StandardPluginMetadata> byProperty(final String key) {
+        return this.lookup(PluginIndex.PROPERTY, Objects.requireNonNull(key, "key"));
+    }
+
+    private Collection<StandardPluginMetadata> lookup(final PluginIndex index, final String key) {
+        final PersistentMap<String, StandardPluginMetadata> plugins = this.indexes.get(index.ordinal()).get(key);
+        return plugins == null ? List.of() : plugins.values();
+    }
+
+    RegistrySnapshot with(final MetadataContainer container) {
+        if (this.contains(container)) {
+            throw new IllegalArgumentException("Container is already registered");
+        }
+        final Set<String> ids = new HashSet<>();
+        for (final StandardPluginMetadata plugin : container.plugins()) {
+            if (this.plugins.get(plugin.id()) != null || !ids.add(plugin.id())) {
+                throw new IllegalArgumentException(String.format("Plugin '%s' is already registered", plugin.id()));
+            }
+        }
+        PersistentMap<String, StandardPluginMetadata> plugins = this.plugins;
+        PersistentMap<String, MetadataContainer> owners = this.owners;
+        final List<PersistentMap<String, PersistentMap<String, StandardPluginMetadata>>> indexes = new ArrayList<>(this.indexes);
+        for (final StandardPluginMetadata plugin : container.plugins()) {
+            plugins = plugins.put(plugin.id(), plugin);
+            owners = owners.put(plugin.id(), container);
+            for (final PluginIndex index : PluginIndex.values()) {
+                PersistentMap<String, PersistentMap<String, StandardPluginMetadata>> map = indexes.get(index.ordinal());
+                for (final String key : index.keys(plugin)) {
+                    final PersistentMap<String, StandardPluginMetadata> previous = map.get(key);
+                    map = map.put(key, (previous == null ? PersistentMap.<String, StandardPluginMetadata>empty() : previous).put(plugin.id(), plugin));
+                }
+                indexes.set(index.ordinal(), map);
+            }
+        }
+        return new RegistrySnapshot(this.generation + 1, this.containers.put(new ContainerIdentity(container), container), plugins, owners,
+                List.copyOf(indexes));
+    }
+
+    RegistrySnapshot replacing(final MetadataContainer previous, final MetadataContainer container) {
+        final RegistrySnapshot next = this.without(previous).with(container);
+        // Published as a single change
+        return new RegistrySnapshot(this.generation + 1, next.containers, next.plugins, next.owners, next.indexes);
+    }
+
+    RegistrySnapshot without(final MetadataContainer container) {
+        if (!this.contains(container)) {
+            throw new IllegalArgumentException("Container is not registered");
+        }
+        PersistentMap<String, StandardPluginMetadata> plugins = this.plugins;
+        PersistentMap<String, MetadataContainer> owners = this.owners;
+        final List<PersistentMap<String, PersistentMap<String, StandardPluginMetadata>>> indexes = new ArrayList<>(this.indexes);
+        for (final StandardPluginMetadata plugin : container.plugins()) {
+            plugins = plugins.remove(plugin.id());
+            owners = owners.remove(plugin.id());
+            for (final PluginIndex index : PluginIndex.values()) {
+                PersistentMap<String, PersistentMap<String, StandardPluginMetadata>> map = indexes.get(index.ordinal());
+                for (final String key : index.keys(plugin)) {
+                    final PersistentMap<String, StandardPluginMetadata> previous = map.get(key);
+                    if (previous == null) {
+                        continue;
+                    }
+                    final PersistentMap<String, StandardPluginMetadata> next = previous.remove(plugin.id());
+                    map = next.isEmpty() ? map.remove(key) : map.put(key, next);
+                }
+                indexes.set(index.ordinal(), map);
+            }
+        }
+        return new RegistrySnapshot(this.generation + 1, this.containers.remove(new ContainerIdentity(container)), plugins, owners,
+                List.copyOf(indexes));
+    }
+}
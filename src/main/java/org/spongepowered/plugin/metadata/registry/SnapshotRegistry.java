@@ -0,0 +1,113 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * A registry of {@link MetadataContainer containers} that can be read by any number of threads while it is updated.
+ * <p>
+ * The registry is a single volatile reference to an immutable {@link RegistrySnapshot snapshot}. Readers never block,
+ * they either use {@link #snapshot()} once per lookup or hold on to a snapshot to pin a stable view across a longer
+ * operation. Writers derive the next snapshot from the current one and publish it with a compare-and-set, retrying
+ * if another writer published first, so every published snapshot reflects a complete change.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class SnapshotRegistry {
+    private static final VarHandle CURRENT;
+
+    static {
+        try {
+            CURRENT = MethodHandles.lookup().findVarHandle(SnapshotRegistry.class, "current", RegistrySnapshot.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile RegistrySnapshot current = RegistrySnapshot.EMPTY;
+
+    /**
+     * @return The current snapshot
+     */
+    public RegistrySnapshot snapshot() {
+        return this.current;
+    }
+
+    /**
+     * Registers every plugin of a {@link MetadataContainer container}.
+     *
+     * @param container The container
+     * @return The published snapshot
+     * @throws IllegalArgumentException if the container or a plugin with the same id is already registered
+     */
+    public RegistrySnapshot register(final MetadataContainer container) {
+        Objects.requireNonNull(container, "container");
+        return this.update(snapshot -> snapshot.with(container));
+    }
+
+    /**
+     * Unregisters every plugin of a {@link MetadataContainer container}.
+     *
+     * @param container The container
+     * @return The published snapshot
+     * @throws IllegalArgumentException if the container is not registered
+     */
+    public RegistrySnapshot unregister(final MetadataContainer container) {
+        Objects.requireNonNull(container, "container");
+        return this.update(snapshot -> snapshot.without(container));
+    }
+
+    /**
+     * Replaces a registered {@link MetadataContainer container} in a single change, so that readers either see
+     * the previous container or the new one but never neither.
+     *
+     * @param previous The registered container
+     * @param container The new container
+     * @return The published snapshot
+     * @throws IllegalArgumentException if the previous container is not registered, or if a plugin of the new
+     *      container is registered by another container
+     */
+    public RegistrySnapshot replace(final MetadataContainer previous, final MetadataContainer container) {
+        Objects.requireNonNull(previous, "previous");
+        Objects.requireNonNull(container, "container");
+        return this.update(snapshot -> snapshot.replacing(previous, container));
+    }
+
+    private RegistrySnapshot update(final UnaryOperator<RegistrySnapshot> change) {
+        while (true) {
+            final RegistrySnapshot current = this.current;
+            final RegistrySnapshot next = change.apply(current);
+            if (SnapshotRegistry.CURRENT.compareAndSet(this, current, next)) {
+                return next;
+            }
+        }
+    }
+}
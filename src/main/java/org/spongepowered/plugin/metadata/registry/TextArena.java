@@ -0,0 +1,212 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An append only store of strings kept outside of the Java heap, either in direct memory or in a memory mapped file.
+ * <p>
+ * Each string is encoded as UTF-8 into fixed size chunks and addressed by a handle packing its offset and length into
+ * a {@code long}, so holding on to a stored string costs the garbage collector nothing. Strings are decoded again every
+ * time they are {@link #get(long) read}, which suits text that is kept around but rarely looked at.
+ * <p>
+ * This class is thread-safe. Appends are serialized, reads never block.
+ */
+public final class TextArena implements AutoCloseable {
+    /**
+     * The handle of an absent string.
+     */
+    public static final long ABSENT = -1L;
+
+    private static final int LENGTH_BITS = 24;
+    private static final int MAX_LENGTH = (1 << TextArena.LENGTH_BITS) - 1;
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final int chunkSize;
+    private final @Nullable FileChannel channel;
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private volatile long size;
+    private volatile boolean closed;
+
+    private TextArena(final int chunkSize, final @Nullable FileChannel channel) {
+        this.chunkSize = chunkSize;
+        this.channel = channel;
+    }
+
+    /**
+     * Creates an arena in direct memory, which is released once the arena is no longer reachable.
+     *
+     * @return The arena
+     */
+    public static TextArena direct() {
+        return TextArena.direct(TextArena.DEFAULT_CHUNK_SIZE);
+    }
+
+    static TextArena direct(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        return new TextArena(chunkSize, null);
+    }
+
+    /**
+     * Creates an arena mapping the given file, which is created or truncated and grows as strings are appended.
+     *
+     * @param file The file
+     * @return The arena
+     * @throws IOException if the file cannot be opened
+     */
+    public static TextArena mapped(final Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(Objects.requireNonNull(file, "file"), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new TextArena(TextArena.DEFAULT_CHUNK_SIZE, channel);
+    }
+
+    /**
+     * @return The number of bytes stored
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Appends a string.
+     *
+     * @param text The string
+     * @return The handle, {@link #ABSENT} if the string is null
+     * @throws IllegalArgumentException if the string encodes to more than 16 MiB
+     * @throws IllegalStateException if the arena is closed
+     */
+    public synchronized long put(final @Nullable String text) {
+        if (text == null) {
+            return TextArena.ABSENT;
+        }
+        this.checkOpen();
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > TextArena.MAX_LENGTH) {
+            throw new IllegalArgumentException(String.format("Text of %d bytes exceeds the limit of %d bytes", bytes.length,
+                    TextArena.MAX_LENGTH));
+        }
+        final long offset = this.size;
+        int written = 0;
+        while (written < bytes.length) {
+            final long position = offset + written;
+            final ByteBuffer chunk = this.chunk((int) (position / this.chunkSize));
+            final int index = (int) (position % this.chunkSize);
+            final int length = Math.min(bytes.length - written, this.chunkSize - index);
+            chunk.put(index, bytes, written, length);
+            written += length;
+        }
+        // Publishing the size makes the bytes visible to readers holding the handle
+        this.size = offset + bytes.length;
+        return offset << TextArena.LENGTH_BITS | bytes.length;
+    }
+
+    /**
+     * Reads a string.
+     *
+     * @param handle The handle returned when the string was appended
+     * @return The string, null if the handle is {@link #ABSENT}
+     * @throws IllegalArgumentException if the handle does not belong to this arena
+     * @throws IllegalStateException if the arena is closed
+     */
+    public @Nullable String get(final long handle) {
+        if (handle == TextArena.ABSENT) {
+            return null;
+        }
+        final long offset = handle >>> TextArena.LENGTH_BITS;
+        final int length = (int) (handle & TextArena.MAX_LENGTH);
+        if (handle < 0 || offset + length > this.size) {
+            throw new IllegalArgumentException(String.format("Handle %d is not within the arena", handle));
+        }
+        final ByteBuffer[] chunks = this.chunks;
+        this.checkOpen();
+        final byte[] bytes = new byte[length];
+        int read = 0;
+        while (read < length) {
+            final long position = offset + read;
+            final int index = (int) (position % this.chunkSize);
+            final int count = Math.min(length - read, this.chunkSize - index);
+            chunks[(int) (position / this.chunkSize)].get(index, bytes, read, count);
+            read += count;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer chunk(final int index) {
+        ByteBuffer[] chunks = this.chunks;
+        if (index < chunks.length) {
+            return chunks[index];
+        }
+        final ByteBuffer chunk;
+        if (this.channel == null) {
+            chunk = ByteBuffer.allocateDirect(this.chunkSize);
+        } else {
+            try {
+                chunk = this.channel.map(FileChannel.MapMode.READ_WRITE, (long) index * this.chunkSize, this.chunkSize);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        chunks = Arrays.copyOf(chunks, index + 1);
+        chunks[index] = chunk;
+        this.chunks = chunks;
+        return chunk;
+    }
+
+    private void checkOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("The arena is closed");
+        }
+    }
+
+    /**
+     * Closes the arena, releasing the mapped file if any. Strings can no longer be read afterwards.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.chunks = new ByteBuffer[0];
+        if (this.channel != null) {
+            this.channel.close();
+        }
+    }
+}
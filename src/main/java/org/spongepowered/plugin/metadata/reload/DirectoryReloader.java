@@ -0,0 +1,413 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.reload;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.builtin.MetadataParser;
+import org.spongepowered.plugin.metadata.builtin.ParseContext;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Watches plugin directories and reports the {@link PluginDelta changes} to the plugins they contain.
+ * <p>
+ * Jars, read from their {@value #JAR_METADATA} entry, and {@value #METADATA_FILE} files directly within the watched
+ * directories are tracked. When one of them is created, modified or deleted, only that file is read again and its
+ * plugins are compared to the ones it declared before. File events are debounced: changes are only processed once
+ * no event has been seen for the debounce period, or once the first of them has waited for the maximum debounce
+ * period, and all the deltas of the files changed in that burst are delivered to the listener at once. Deltas compare
+ * the plugins declared by every watched file before and after the burst, so a plugin moving from one file to another,
+ * such as a jar replaced by a newer version, is a single {@link PluginDelta.Change#CHANGED change}.
+ * <p>
+ * A plugin id declared by several files is only taken from the first of them, each other declaration being reported
+ * to the error handler.
+ * <p>
+ * A file that fails to be read, such as a jar that is still being written, keeps the plugins it declared before and
+ * the failure is reported to the error handler. The next change to the file reads it again.
+ * <p>
+ * The listener and the error handler are called from a single watching thread and must not throw. Other methods are
+ * thread-safe.
+ */
+public final class DirectoryReloader implements AutoCloseable {
+    public static final String METADATA_FILE = "sponge_plugins.json";
+    public static final String JAR_METADATA = "META-INF/" + DirectoryReloader.METADATA_FILE;
+
+    private final List<Path> directories;
+    private final Duration debounce, maxDebounce;
+    private final Supplier<ParseContext> context;
+    private final Consumer<List<PluginDelta>> listener;
+    private final BiConsumer<Path, Exception> errorHandler;
+    private final Map<Path, Map<String, StandardPluginMetadata>> files = new LinkedHashMap<>();
+    private Map<String, Declaration> declarations = Map.of();
+    private volatile Map<String, StandardPluginMetadata> plugins = Map.of();
+    private @Nullable WatchService watcher;
+    private @Nullable Thread thread;
+
+    private DirectoryReloader(final Builder builder) {
+        this.directories = List.copyOf(builder.directories);
+        this.debounce = builder.debounce;
+        this.maxDebounce = builder.maxDebounce;
+        this.context = builder.context;
+        this.listener = builder.listener;
+        this.errorHandler = builder.errorHandler;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static boolean tracked(final Path file) {
+        final String name = file.getFileName().toString();
+        return name.endsWith(".jar") || name.equals(DirectoryReloader.METADATA_FILE);
+    }
+
+    /**
+     * @return The plugins currently declared by the watched files, by id
+     */
+    public Map<String, StandardPluginMetadata> plugins() {
+        return this.plugins;
+    }
+
+    /**
+     * Reads every file of the watched directories and starts watching them.
+     *
+     * @return The plugins found, as {@link PluginDelta.Change#ADDED added} deltas
+     * @throws IOException if a directory cannot be watched or listed
+     * @throws IllegalStateException if the reloader was already started
+     */
+    public synchronized List<PluginDelta> start() throws IOException {
+        if (this.watcher != null) {
+            throw new IllegalStateException("The reloader was already started");
+        }
+        final WatchService watcher = this.directories.getFirst().getFileSystem().newWatchService();
+        final Map<WatchKey, Path> keys = new HashMap<>();
+        final Set<Path> files = new LinkedHashSet<>();
+        try {
+            // Registering before listing ensures that no change made in between is missed
+            for (final Path directory : this.directories) {
+                keys.put(directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY), directory);
+                files.addAll(DirectoryReloader.list(directory));
+            }
+        } catch (final IOException e) {
+            watcher.close();
+            throw e;
+        }
+        this.watcher = watcher;
+        final List<PluginDelta> deltas = this.reload(files);
+        final Thread thread = new Thread(() -> this.watch(watcher, keys), "plugin-directory-reloader");
+        thread.setDaemon(true);
+        thread.start();
+        this.thread = thread;
+        return deltas;
+    }
+
+    private static List<Path> list(final Path directory) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (final Path file : stream) {
+                if (DirectoryReloader.tracked(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+
+    private void watch(final WatchService watcher, final Map<WatchKey, Path> keys) {
+        final Set<Path> pending = new LinkedHashSet<>();
+        long deadline = 0;
+        try {
+            while (true) {
+                final @Nullable WatchKey key;
+                if (pending.isEmpty()) {
+                    key = watcher.take();
+                } else {
+                    // Events keep extending the burst, but never past the maximum debounce period
+                    final long remaining = deadline - System.nanoTime();
+                    key = remaining <= 0 ? null : watcher.poll(Math.min(this.debounce.toNanos(), remaining), TimeUnit.NANOSECONDS);
+                }
+                if (key == null) {
+                    // Nothing happened for a whole debounce period, the burst is over
+                    final List<PluginDelta> deltas = this.reload(pending);
+                    pending.clear();
+                    if (!deltas.isEmpty()) {
+                        this.listener.accept(deltas);
+                    }
+                    continue;
+                }
+                final boolean idle = pending.isEmpty();
+                final Path directory = keys.get(key);
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost, compare against everything that is or was in the directory
+                        try {
+                            pending.addAll(DirectoryReloader.list(directory));
+                        } catch (final IOException e) {
+                            this.errorHandler.accept(directory, e);
+                        }
+                        synchronized (this) {
+                            for (final Path file : this.files.keySet()) {
+                                if (file.getParent().equals(directory)) {
+                                    pending.add(file);
+                                }
+                            }
+                        }
+                    } else if (event.context() instanceof Path name) {
+                        final Path file = directory.resolve(name);
+                        if (DirectoryReloader.tracked(file)) {
+                            pending.add(file);
+                        }
+                    }
+                }
+                if (idle && !pending.isEmpty()) {
+                    deadline = System.nanoTime() + this.maxDebounce.toNanos();
+                }
+                key.reset();
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private synchronized List<PluginDelta> reload(final Set<Path> files) {
+        for (final Path file : files) {
+            final Map<String, StandardPluginMetadata> current;
+            if (!Files.exists(file)) {
+                current = Map.of();
+            } else {
+                try {
+                    current = this.read(file);
+                } catch (final IOException | RuntimeException e) {
+                    this.errorHandler.accept(file, e);
+                    continue;
+                }
+            }
+            if (current.isEmpty()) {
+                this.files.remove(file);
+            } else {
+                this.files.put(file, current);
+            }
+        }
+
+        final Map<String, Declaration> declarations = new LinkedHashMap<>();
+        for (final Map.Entry<Path, Map<String, StandardPluginMetadata>> entry : this.files.entrySet()) {
+            for (final StandardPluginMetadata plugin : entry.getValue().values()) {
+                final Declaration existing = declarations.putIfAbsent(plugin.id(), new Declaration(entry.getKey(), plugin));
+                // Only report the duplicates involving a file of this burst, so that each is reported once
+                if (existing != null && (files.contains(entry.getKey()) || files.contains(existing.file()))) {
+                    this.errorHandler.accept(entry.getKey(), new IllegalStateException(String.format(
+                            "Plugin '%s' is already declared by %s", plugin.id(), existing.file())));
+                }
+            }
+        }
+
+        final List<PluginDelta> deltas = new ArrayList<>();
+        for (final Declaration declaration : declarations.values()) {
+            final Declaration before = this.declarations.get(declaration.plugin().id());
+            if (before == null) {
+                deltas.add(new PluginDelta(PluginDelta.Change.ADDED, declaration.file(), declaration.plugin(), (StandardPluginMetadata) null));
+            } else if (!before.equals(declaration)) {
+                deltas.add(new PluginDelta(PluginDelta.Change.CHANGED, declaration.file(), declaration.plugin(), before.plugin()));
+            }
+        }
+        for (final Declaration before : this.declarations.values()) {
+            if (!declarations.containsKey(before.plugin().id())) {
+                deltas.add(new PluginDelta(PluginDelta.Change.REMOVED, before.file(), before.plugin(), (StandardPluginMetadata) null));
+            }
+        }
+        if (!deltas.isEmpty()) {
+            final Map<String, StandardPluginMetadata> plugins = new LinkedHashMap<>();
+            declarations.forEach((id, declaration) -> plugins.put(id, declaration.plugin()));
+            this.plugins = Collections.unmodifiableMap(plugins);
+        }
+        this.declarations = declarations;
+        return deltas;
+    }
+
+    private Map<String, StandardPluginMetadata> read(final Path file) throws IOException {
+        final MetadataContainer container;
+        if (file.getFileName().toString().equals(DirectoryReloader.METADATA_FILE)) {
+            container = MetadataParser.read(file, this.context.get());
+        } else {
+            try (final FileSystem jar = FileSystems.newFileSystem(file)) {
+                final Path entry = jar.getPath(DirectoryReloader.JAR_METADATA);
+                if (!Files.isRegularFile(entry)) {
+                    return Map.of();
+                }
+                try (final Reader reader = Files.newBufferedReader(entry, StandardCharsets.UTF_8)) {
+                    container = MetadataParser.read(reader, this.context.get());
+                }
+            }
+        }
+        final Map<String, StandardPluginMetadata> plugins = new LinkedHashMap<>();
+        for (final StandardPluginMetadata plugin : container.plugins()) {
+            plugins.put(plugin.id(), plugin);
+        }
+        return plugins;
+    }
+
+    /**
+     * Stops watching, waiting for the listener to return if it is running.
+     *
+     * @throws IOException if the watch service fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        final WatchService watcher;
+        final Thread thread;
+        synchronized (this) {
+            watcher = this.watcher;
+            thread = this.thread;
+        }
+        if (watcher == null) {
+            return;
+        }
+        watcher.close();
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record Declaration(Path file, StandardPluginMetadata plugin) {
+    }
+
+    public static final class Builder {
+
+        private final List<Path> directories = new ArrayList<>();
+        private Duration debounce = Duration.ofMillis(250);
+        private Duration maxDebounce = Duration.ofSeconds(5);
+        private Supplier<ParseContext> context = ParseContext::create;
+        private Consumer<List<PluginDelta>> listener = deltas -> {};
+        private BiConsumer<Path, Exception> errorHandler = (file, e) -> {};
+
+        private Builder() {}
+
+        public Builder directory(final Path directory) {
+            this.directories.add(Objects.requireNonNull(directory, "directory"));
+            return this;
+        }
+
+        /**
+         * Sets how long no file event must be seen before a burst of changes is processed.
+         *
+         * @param debounce The period
+         * @return This builder, for chaining
+         */
+        public Builder debounce(final Duration debounce) {
+            if (Objects.requireNonNull(debounce, "debounce").isNegative()) {
+                throw new IllegalArgumentException("debounce must not be negative");
+            }
+            this.debounce = debounce;
+            return this;
+        }
+
+        /**
+         * Sets how long a burst of changes may keep being extended by new file events before it is processed anyway.
+         *
+         * @param maxDebounce The period
+         * @return This builder, for chaining
+         */
+        public Builder maxDebounce(final Duration maxDebounce) {
+            if (Objects.requireNonNull(maxDebounce, "maxDebounce").isNegative()) {
+                throw new IllegalArgumentException("maxDebounce must not be negative");
+            }
+            this.maxDebounce = maxDebounce;
+            return this;
+        }
+
+        /**
+         * Sets the supplier of the {@link ParseContext context} of each read, such as a tolerant or limited one.
+         *
+         * @param context The supplier
+         * @return This builder, for chaining
+         */
+        public Builder context(final Supplier<ParseContext> context) {
+            this.context = Objects.requireNonNull(context, "context");
+            return this;
+        }
+
+        /**
+         * Sets the listener receiving the deltas of each burst of changes.
+         *
+         * @param listener The listener
+         * @return This builder, for chaining
+         */
+        public Builder listener(final Consumer<List<PluginDelta>> listener) {
+            this.listener = Objects.requireNonNull(listener, "listener");
+            return this;
+        }
+
+        /**
+         * Sets the handler of the files and directories that fail to be read.
+         *
+         * @param errorHandler The handler
+         * @return This builder, for chaining
+         */
+        public Builder errorHandler(final BiConsumer<Path, Exception> errorHandler) {
+            this.errorHandler = Objects.requireNonNull(errorHandler, "errorHandler");
+            return this;
+        }
+
+        public DirectoryReloader build() {
+            if (this.directories.isEmpty()) {
+                throw new IllegalStateException("No directory to watch");
+            }
+            return new DirectoryReloader(this);
+        }
+    }
+}
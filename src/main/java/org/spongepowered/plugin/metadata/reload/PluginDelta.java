@@ -0,0 +1,67 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.reload;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A change to a plugin found by a {@link DirectoryReloader}.
+ *
+ * @param change Whether the plugin was added, removed or changed
+ * @param file The file declaring the plugin
+ * @param plugin The added or changed plugin, or the removed one
+ * @param previous The plugin before it changed or {@link Optional#empty()} otherwise
+ */
+public record PluginDelta(Change change, Path file, StandardPluginMetadata plugin, Optional<StandardPluginMetadata> previous) {
+
+    public PluginDelta {
+        Objects.requireNonNull(change, "change");
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(previous, "previous");
+    }
+
+    public PluginDelta(final Change change, final Path file, final StandardPluginMetadata plugin, final @Nullable StandardPluginMetadata previous) {
+        this(change, file, plugin, Optional.ofNullable(previous));
+    }
+
+    /**
+     * @return The id of the plugin
+     */
+    public String id() {
+        return this.plugin.id();
+    }
+
+    public enum Change {
+        ADDED,
+        REMOVED,
+        CHANGED
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.Restriction;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+import org.spongepowered.plugin.metadata.util.VersionRanges;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Evaluates the {@link PluginConflict conflicts} declared by a set of loaded {@link PluginMetadata plugins}.
+ * <p>
+ * Loaded plugins are indexed by id and then by version, so each restriction of a conflict's range is answered with
+ * a single ordered lookup instead of comparing against every loaded plugin. Declarations are also indexed by the id
+ * they target, so adding or removing a plugin only re-evaluates the conflicts declared by or against it.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class ConflictEvaluator {
+    private final Map<String, NavigableMap<ArtifactVersion, List<PluginMetadata>>> loaded = new HashMap<>();
+    private final Map<String, Set<PluginMetadata>> declarers = new HashMap<>();
+    private final Map<PluginMetadata, List<ConflictResult>> results = new LinkedHashMap<>();
+
+    /**
+     * Evaluates the conflicts of the given {@link PluginMetadata plugins} in a single pass.
+     *
+     * @param plugins The plugins
+     * @return The report
+     */
+    public static ConflictReport evaluate(final Collection<? extends PluginMetadata> plugins) {
+        final ConflictEvaluator evaluator = new ConflictEvaluator();
+        for (final PluginMetadata plugin : Objects.requireNonNull(plugins, "plugins")) {
+            evaluator.index(plugin);
+        }
+        for (final PluginMetadata plugin : plugins) {
+            evaluator.results.put(plugin, evaluator.evaluate(plugin));
+        }
+        return evaluator.report();
+    }
+
+    /**
+     * Adds a loaded {@link PluginMetadata plugin}, evaluating its own conflicts and the conflicts declared against it.
+     *
+     * @param plugin The plugin
+     * @throws IllegalArgumentException if the plugin is already loaded
+     */
+    public void add(final PluginMetadata plugin) {
+        if (this.results.containsKey(Objects.requireNonNull(plugin, "plugin"))) {
+            throw new IllegalArgumentException(String.format("Plugin '%s' is already loaded", plugin.id()));
+        }
+        this.index(plugin);
+        this.results.put(plugin, this.evaluate(plugin));
+        this.reevaluate(plugin.id());
+    }
+
+    /**
+     * Removes a loaded {@link PluginMetadata plugin}, clearing its own conflicts and the conflicts declared against it.
+     *
+     * @param plugin The plugin
+     * @throws IllegalArgumentException if the plugin is not loaded
+     */
+    public void remove(final PluginMetadata plugin) {
+        if (this.results.remove(Objects.requireNonNull(plugin, "plugin")) == null) {
+            throw new IllegalArgumentException(String.format("Plugin '%s' is not loaded", plugin.id()));
+        }
+        final NavigableMap<ArtifactVersion, List<PluginMetadata>> versions = this.loaded.get(plugin.id());
+        final List<PluginMetadata> plugins = versions.get(plugin.version());
+        plugins.remove(plugin);
+        if (plugins.isEmpty()) {
+            versions.remove(plugin.version());
+            if (versions.isEmpty()) {
+                this.loaded.remove(plugin.id());
+            }
+        }
+        for (final PluginConflict conflict : plugin.conflicts()) {
+            final Set<PluginMetadata> targeting = this.declarers.get(conflict.id());
+            if (targeting != null && targeting.remove(plugin) && targeting.isEmpty()) {
+                this.declarers.remove(conflict.id());
+            }
+        }
+        this.reevaluate(plugin.id());
+    }
+
+    /**
+     * Replaces a loaded {@link PluginMetadata plugin} with a changed version of it.
+     *
+     * @param previous The loaded plugin
+     * @param plugin The new plugin
+     */
+    public void replace(final PluginMetadata previous, final PluginMetadata plugin) {
+        this.remove(previous);
+        this.add(plugin);
+    }
+
+    /**
+     * @return The currently active conflicts
+     */
+    public ConflictReport report() {
+        final List<ConflictResult> fatal = new ArrayList<>(), warnings = new ArrayList<>();
+        for (final List<ConflictResult> declared : this.results.values()) {
+            for (final ConflictResult result : declared) {
+                (result.fatal() ? fatal : warnings).add(result);
+            }
+        }
+        return new ConflictReport(fatal, warnings);
+    }
+
+    private void index(final PluginMetadata plugin) {
+        this.loaded.computeIfAbsent(plugin.id(), k -> new TreeMap<>())
+                .computeIfAbsent(plugin.version(), k -> new ArrayList<>(1))
+                .add(plugin);
+        for (final PluginConflict conflict : plugin.conflicts()) {
+            this.declarers.computeIfAbsent(conflict.id(), k -> new LinkedHashSet<>()).add(plugin);
+        }
+    }
+
+    private List<ConflictResult> evaluate(final PluginMetadata declarer) {
+        final List<ConflictResult> results = new ArrayList<>();
+        for (final PluginConflict conflict : declarer.conflicts()) {
+            this.match(declarer, conflict, results);
+        }
+        return results;
+    }
+
+    private void reevaluate(final String id) {
+        for (final PluginMetadata declarer : this.declarers.getOrDefault(id, Set.of())) {
+            final List<ConflictResult> results = new ArrayList<>();
+            for (final ConflictResult result : this.results.get(declarer)) {
+                if (!result.conflict().id().equals(id)) {
+                    results.add(result);
+                }
+            }
+            for (final PluginConflict conflict : declarer.conflicts()) {
+                if (conflict.id().equals(id)) {
+                    this.match(declarer, conflict, results);
+                }
+            }
+            this.results.put(declarer, results);
+        }
+    }
+
+    private void match(final PluginMetadata declarer, final PluginConflict conflict, final List<ConflictResult> results) {
+        final NavigableMap<ArtifactVersion, List<PluginMetadata>> versions = this.loaded.get(conflict.id());
+        if (versions == null) {
+            return;
+        }
+        for (final Restriction restriction : VersionRanges.restrictions(conflict.version())) {
+            for (final List<PluginMetadata> targets : ConflictEvaluator.view(versions, restriction).values()) {
+                for (final PluginMetadata target : targets) {
+                    if (target != declarer) {
+                        results.add(new ConflictResult(declarer, conflict, target));
+                    }
+                }
+            }
+        }
+    }
+
+    private static <V> NavigableMap<ArtifactVersion, V> view(final NavigableMap<ArtifactVersion, V> map, final Restriction restriction) {
+        final ArtifactVersion lower = restriction.getLowerBound(), upper = restriction.getUpperBound();
+        if (lower == null && upper == null) {
+            return map;
+        }
+        if (lower == null) {
+            return map.headMap(upper, restriction.isUpperBoundInclusive());
+        }
+        if (upper == null) {
+            return map.tailMap(lower, restriction.isLowerBoundInclusive());
+        }
+        return map.subMap(lower, restriction.isLowerBoundInclusive(), upper, restriction.isUpperBoundInclusive());
+    }
+}
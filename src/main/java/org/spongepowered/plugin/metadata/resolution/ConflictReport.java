@@ -0,0 +1,50 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The active conflicts of a set of plugins, split by severity.
+ *
+ * @param fatal The conflicts that should prevent loading
+ * @param warnings The conflicts that should only be logged
+ */
+public record ConflictReport(List<ConflictResult> fatal, List<ConflictResult> warnings) {
+
+    public ConflictReport {
+        fatal = List.copyOf(Objects.requireNonNull(fatal, "fatal"));
+        warnings = List.copyOf(Objects.requireNonNull(warnings, "warnings"));
+    }
+
+    public boolean hasFatal() {
+        return !this.fatal.isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return this.fatal.isEmpty() && this.warnings.isEmpty();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+
+import java.util.Objects;
+
+/**
+ * A {@link PluginConflict conflict} declared by a plugin that matches another loaded plugin.
+ *
+ * @param declarer The {@link PluginMetadata plugin} declaring the conflict
+ * @param conflict The conflict
+ * @param target The {@link PluginMetadata plugin} matched by the conflict
+ */
+public record ConflictResult(PluginMetadata declarer, PluginConflict conflict, PluginMetadata target) {
+
+    public ConflictResult {
+        Objects.requireNonNull(declarer, "declarer");
+        Objects.requireNonNull(conflict, "conflict");
+        Objects.requireNonNull(target, "target");
+    }
+
+    /**
+     * @return Whether this conflict should prevent loading
+     */
+    public boolean fatal() {
+        return this.conflict.fatal();
+    }
+}
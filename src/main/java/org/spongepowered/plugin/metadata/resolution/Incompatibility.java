@@ -0,0 +1,77 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A constraint that took part in making a version selection unsatisfiable.
+ *
+ * @param kind The {@link Kind kind} of constraint
+ * @param id The id of the plugin, or of the loader for {@link Kind#LOADER}, the constraint applies to
+ * @param declarer The {@link PluginMetadata plugin} declaring the constraint, if any
+ * @param version The {@link VersionRange range} of the constraint, if any
+ */
+public record Incompatibility(Kind kind, String id, Optional<PluginMetadata> declarer, Optional<VersionRange> version) {
+
+    public Incompatibility {
+        Objects.requireNonNull(kind, "kind");
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(declarer, "declarer");
+        Objects.requireNonNull(version, "version");
+    }
+
+    public Incompatibility(final Kind kind, final String id, final @Nullable PluginMetadata declarer, final @Nullable VersionRange version) {
+        this(kind, id, Optional.ofNullable(declarer), Optional.ofNullable(version));
+    }
+
+    public enum Kind {
+        /**
+         * The plugin was requested.
+         */
+        REQUESTED,
+        /**
+         * No version of the plugin is available.
+         */
+        MISSING,
+        /**
+         * The declarer requires the plugin within the range.
+         */
+        DEPENDENCY,
+        /**
+         * The declarer fatally conflicts with the plugin within the range.
+         */
+        CONFLICT,
+        /**
+         * The declarer requires a loader within the range that is not available.
+         */
+        LOADER
+    }
+}
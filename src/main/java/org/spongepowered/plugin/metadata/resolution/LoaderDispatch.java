@@ -0,0 +1,54 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import org.spongepowered.plugin.metadata.PluginMetadata;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The plugins handed to each loader by a {@link LoaderDispatcher}.
+ *
+ * @param partitions The plugins accepted by each loader, by loader name
+ * @param rejected The plugins accepted by no loader
+ */
+public record LoaderDispatch(Map<String, List<PluginMetadata>> partitions, List<PluginMetadata> rejected) {
+
+    public LoaderDispatch {
+        Objects.requireNonNull(partitions, "partitions");
+        Objects.requireNonNull(rejected, "rejected");
+        rejected = List.copyOf(rejected);
+    }
+
+    /**
+     * @param loader The loader name
+     * @return The plugins accepted by the loader, in the order they were dispatched
+     */
+    public List<PluginMetadata> plugins(final String loader) {
+        return this.partitions.getOrDefault(Objects.requireNonNull(loader, "loader"), List.of());
+    }
+}
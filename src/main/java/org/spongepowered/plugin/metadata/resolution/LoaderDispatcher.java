@@ -0,0 +1,133 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+import org.spongepowered.plugin.metadata.util.VersionRanges;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Partitions plugins between the registered loaders according to their {@link PluginLoaderSpecification loader}.
+ * <p>
+ * Plugins are bucketed by loader name in a single pass, and each distinct range a plugin requires of a loader is only
+ * checked once per dispatch against the registered version of that loader, however many plugins share it. The
+ * checks are dropped once the dispatch is done, as the ranges come from untrusted metadata.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class LoaderDispatcher {
+    private final Map<String, ArtifactVersion> loaders;
+
+    private LoaderDispatcher(final Builder builder) {
+        this.loaders = Collections.unmodifiableMap(new LinkedHashMap<>(builder.loaders));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The registered loader versions, by name
+     */
+    public Map<String, ArtifactVersion> loaders() {
+        return this.loaders;
+    }
+
+    /**
+     * Checks whether a registered loader accepts a {@link PluginLoaderSpecification specification}.
+     *
+     * @param specification The specification
+     * @return True if a loader with the same name is registered and its version is within the range
+     */
+    public boolean accepts(final PluginLoaderSpecification specification) {
+        final ArtifactVersion version = this.loaders.get(Objects.requireNonNull(specification, "specification").name());
+        if (version == null) {
+            return false;
+        }
+        return VersionRanges.contains(specification.version(), version);
+    }
+
+    /**
+     * Partitions plugins between the registered loaders.
+     *
+     * @param plugins The plugins
+     * @return The dispatch
+     */
+    public LoaderDispatch dispatch(final Collection<? extends PluginMetadata> plugins) {
+        final Map<String, List<PluginMetadata>> partitions = new LinkedHashMap<>();
+        for (final String loader : this.loaders.keySet()) {
+            partitions.put(loader, new ArrayList<>());
+        }
+        final List<PluginMetadata> rejected = new ArrayList<>();
+        final Map<PluginLoaderSpecification, Boolean> checked = new HashMap<>();
+        for (final PluginMetadata plugin : Objects.requireNonNull(plugins, "plugins")) {
+            if (checked.computeIfAbsent(plugin.loader(), this::accepts)) {
+                partitions.get(plugin.loader().name()).add(plugin);
+            } else {
+                rejected.add(plugin);
+            }
+        }
+        partitions.replaceAll((loader, accepted) -> List.copyOf(accepted));
+        return new LoaderDispatch(Collections.unmodifiableMap(partitions), rejected);
+    }
+
+    public static final class Builder {
+
+        private final Map<String, ArtifactVersion> loaders = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Registers a loader.
+         *
+         * @param name The name
+         * @param version The version
+         * @return This builder, for chaining
+         * @throws IllegalArgumentException if a loader with the same name is already registered
+         */
+        public Builder loader(final String name, final ArtifactVersion version) {
+            Objects.requireNonNull(name, "name");
+            Objects.requireNonNull(version, "version");
+            if (this.loaders.putIfAbsent(name, version) != null) {
+                throw new IllegalArgumentException(String.format("Loader '%s' is already registered", name));
+            }
+            return this;
+        }
+
+        public LoaderDispatcher build() {
+            return new LoaderDispatcher(this);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public final class UnsatisfiableSelectionException extends IllegalStateException {
+
+    @Serial
+    private static final long serialVersionUID = 2291547802734218846L;
+
+    private final transient List<Incompatibility> core;
+    private final transient Map<String, List<String>> suggestions;
+
+    public UnsatisfiableSelectionException(final List<Incompatibility> core) {
+        this(core, Map.of());
+    }
+
+    public UnsatisfiableSelectionException(final List<Incompatibility> core, final Map<String, List<String>> suggestions) {
+        super("No version selection satisfies: " + core.stream()
+                .map(incompatibility -> UnsatisfiableSelectionException.describe(incompatibility, suggestions))
+                .collect(Collectors.joining(", ")));
+        this.core = List.copyOf(core);
+        this.suggestions = Map.copyOf(suggestions);
+    }
+
+    /**
+     * @return The constraints that together cannot be satisfied
+     */
+    public List<Incompatibility> core() {
+        return this.core;
+    }
+
+    /**
+     * @return The ids that may have been meant instead of the {@link Incompatibility.Kind#MISSING missing} ids
+     */
+    public Map<String, List<String>> suggestions() {
+        return this.suggestions;
+    }
+
+    private static String describe(final Incompatibility incompatibility, final Map<String, List<String>> suggestions) {
+        final String declarer = incompatibility.declarer().map(p -> p.id() + " " + p.version()).orElse("");
+        final String version = incompatibility.version().map(Object::toString).orElse("");
+        return switch (incompatibility.kind()) {
+            case REQUESTED -> String.format("'%s' is requested", incompatibility.id());
+            case MISSING -> {
+                final List<String> similar = suggestions.getOrDefault(incompatibility.id(), List.of());
+                yield similar.isEmpty() ? String.format("'%s' is not available", incompatibility.id())
+                        : String.format("'%s' is not available (did you mean '%s'?)", incompatibility.id(), String.join("', '", similar));
+            }
+            case DEPENDENCY -> String.format("%s depends on '%s' %s", declarer, incompatibility.id(), version);
+            case CONFLICT -> String.format("%s conflicts with '%s' %s", declarer, incompatibility.id(), version);
+            case LOADER -> String.format("%s requires loader '%s' %s", declarer, incompatibility.id(), version);
+        };
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+import org.spongepowered.plugin.metadata.registry.PluginIdIndex;
+import org.spongepowered.plugin.metadata.util.VersionRanges;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Selects one version of each requested plugin, and of everything they require, from a repository holding many
+ * versions of each plugin.
+ * <p>
+ * A selection satisfies the {@link PluginDependency dependency} ranges declared between selected plugins, their
+ * {@link PluginConflict#fatal() fatal} conflicts and, when loaders are registered, their
+ * {@link PluginLoaderSpecification loader} requirements. Optional dependencies do not cause a plugin to be selected
+ * but still constrain its version when it is. Newer versions are preferred.
+ * <p>
+ * The search backtracks over one plugin at a time. When every version of a plugin is rejected, the plugins whose
+ * selected versions caused the rejections are recorded, the search jumps straight back to the most recent of them and
+ * their combination is remembered as a failed partial selection, so it is pruned immediately wherever it appears
+ * again. If the search jumps back past every selection, the constraints involved are reported as the unsatisfiable
+ * core.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ */
+public final class VersionSolver {
+    private final Map<String, List<PluginMetadata>> repository;
+    private final Map<String, ArtifactVersion> loaders;
+    private final PluginIdIndex ids;
+
+    private VersionSolver(final Builder builder) {
+        final Map<String, List<PluginMetadata>> repository = new HashMap<>();
+        for (final PluginMetadata plugin : builder.plugins) {
+            repository.computeIfAbsent(plugin.id(), k -> new ArrayList<>()).add(plugin);
+        }
+        final Comparator<PluginMetadata> newest = Comparator.comparing(PluginMetadata::version);
+        repository.replaceAll((id, versions) -> {
+            versions.sort(newest.reversed());
+            return List.copyOf(versions);
+        });
+        this.repository = repository;
+        this.loaders = Map.copyOf(builder.loaders);
+        this.ids = PluginIdIndex.of(repository.keySet());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the available versions of a plugin.
+     *
+     * @param id The id
+     * @return The versions, newest first
+     */
+    public List<PluginMetadata> versions(final String id) {
+        return this.repository.getOrDefault(Objects.requireNonNull(id, "id"), List.of());
+    }
+
+    /**
+     * Selects the versions of the given plugins and of everything they require.
+     *
+     * @param requested The ids of the requested plugins
+     * @return The selected plugins by id, requested plugins first and then in the order they became required
+     * @throws UnsatisfiableSelectionException if no selection satisfies every constraint
+     */
+    public Map<String, PluginMetadata> solve(final Collection<String> requested) {
+        final Search search = new Search();
+        for (final String id : Objects.requireNonNull(requested, "requested")) {
+            search.require(Objects.requireNonNull(id, "id"), null);
+        }
+        return search.run();
+    }
+
+    private record Requirement(PluginMetadata declarer, PluginDependency dependency) {
+    }
+
+    private record Nogood(Map<String, PluginMetadata> selection, Set<Incompatibility> causes) {
+    }
+
+    private static final class Frame {
+        final String id;
+        final @Nullable Requirement requirement;
+        final List<PluginMetadata> candidates = new ArrayList<>();
+        final Set<String> conflicts = new LinkedHashSet<>();
+        final Set<Incompatibility> causes = new LinkedHashSet<>();
+        int next;
+        @Nullable PluginMetadata value;
+        int required;
+
+        Frame(final String id, final @Nullable Requirement requirement) {
+            this.id = id;
+            this.requirement = requirement;
+        }
+    }
+
+    private final class Search {
+        // Required ids in the order they are selected, every id before frames.size() is selected
+        private final List<String> order = new ArrayList<>();
+        private final List<@Nullable Requirement> requirements = new ArrayList<>();
+        private final Set<String> required = new HashSet<>();
+        private final List<Frame> frames = new ArrayList<>();
+        private final Map<String, PluginMetadata> selected = new HashMap<>();
+        // Selected plugins declaring a dependency or a fatal conflict, by targeted id
+        private final Map<String, List<PluginMetadata>> declarers = new HashMap<>();
+        private final Map<PluginMetadata, List<Nogood>> nogoods = new IdentityHashMap<>();
+
+        void require(final String id, final @Nullable Requirement requirement) {
+            if (this.required.add(id)) {
+                this.order.add(id);
+                this.requirements.add(requirement);
+            }
+        }
+
+        Map<String, PluginMetadata> run() {
+            @Nullable Frame frame = null;
+            while (true) {
+                if (frame == null) {
+                    if (this.frames.size() == this.order.size()) {
+                        final Map<String, PluginMetadata> result = new LinkedHashMap<>();
+                        for (final String id : this.order) {
+                            result.put(id, this.selected.get(id));
+                        }
+                        return Collections.unmodifiableMap(result);
+                    }
+                    frame = this.open(this.frames.size());
+                    this.frames.add(frame);
+                }
+                frame = this.advance(frame) ? null : this.backjump(frame);
+            }
+        }
+
+        private Frame open(final int level) {
+            final Frame frame = new Frame(this.order.get(level), this.requirements.get(level));
+            final List<PluginMetadata> versions = VersionSolver.this.repository.get(frame.id);
+            if (versions == null) {
+                frame.causes.add(new Incompatibility(Incompatibility.Kind.MISSING, frame.id, Optional.empty(), Optional.empty()));
+                return frame;
+            }
+            for (final PluginMetadata candidate : versions) {
+                if (this.accepts(frame, candidate)) {
+                    frame.candidates.add(candidate);
+                }
+            }
+            return frame;
+        }
+
+        /**
+         * Checks a candidate against the current selection, recording the cause and the culprit of a rejection.
+         */
+        private boolean accepts(final Frame frame, final PluginMetadata candidate) {
+            if (!VersionSolver.this.loaders.isEmpty()) {
+                final PluginLoaderSpecification loader = candidate.loader();
+                final ArtifactVersion version = VersionSolver.this.loaders.get(loader.name());
+                if (version == null || !VersionRanges.contains(loader.version(), version)) {
+                    frame.causes.add(new Incompatibility(Incompatibility.Kind.LOADER, loader.name(), candidate, loader.version()));
+                    return false;
+                }
+            }
+            for (final PluginMetadata declarer : this.declarers.getOrDefault(frame.id, List.of())) {
+                for (final PluginDependency dependency : declarer.dependencies()) {
+                    if (dependency.id().equals(frame.id) && !VersionRanges.contains(dependency.version(), candidate.version())) {
+                        return this.reject(frame, declarer.id(),
+                                new Incompatibility(Incompatibility.Kind.DEPENDENCY, frame.id, declarer, dependency.version()));
+                    }
+                }
+                for (final PluginConflict conflict : declarer.conflicts()) {
+                    if (conflict.fatal() && conflict.id().equals(frame.id) && VersionRanges.contains(conflict.version(), candidate.version())) {
+                        return this.reject(frame, declarer.id(),
+                                new Incompatibility(Incompatibility.Kind.CONFLICT, frame.id, declarer, conflict.version()));
+                    }
+                }
+            }
+            for (final PluginDependency dependency : candidate.dependencies()) {
+                final PluginMetadata target = this.selected.get(dependency.id());
+                if (target != null && !VersionRanges.contains(dependency.version(), target.version())) {
+                    return this.reject(frame, target.id(),
+                            new Incompatibility(Incompatibility.Kind.DEPENDENCY, dependency.id(), candidate, dependency.version()));
+                }
+            }
+            for (final PluginConflict conflict : candidate.conflicts()) {
+                final PluginMetadata target = this.selected.get(conflict.id());
+                if (conflict.fatal() && target != null && VersionRanges.contains(conflict.version(), target.version())) {
+                    return this.reject(frame, target.id(),
+                            new Incompatibility(Incompatibility.Kind.CONFLICT, conflict.id(), candidate, conflict.version()));
+                }
+            }
+            return true;
+        }
+
+        private boolean reject(final Frame frame, final String culprit, final Incompatibility cause) {
+            frame.conflicts.add(culprit);
+            frame.causes.add(cause);
+            return false;
+        }
+
+        private boolean advance(final Frame frame) {
+            while (frame.next < frame.candidates.size()) {
+                final PluginMetadata candidate = frame.candidates.get(frame.next++);
+                if (!this.learned(frame, candidate)) {
+                    this.select(frame, candidate);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Checks whether selecting the candidate would repeat a partial selection already known to fail.
+         */
+        private boolean learned(final Frame frame, final PluginMetadata candidate) {
+            for (final Nogood nogood : this.nogoods.getOrDefault(candidate, List.of())) {
+                boolean matches = true;
+                for (final Map.Entry<String, PluginMetadata> entry : nogood.selection().entrySet()) {
+                    if (!entry.getKey().equals(frame.id) && this.selected.get(entry.getKey()) != entry.getValue()) {
+                        matches = false;
+                        break;
+                    }
+                }
+                if (matches) {
+                    for (final String id : nogood.selection().keySet()) {
+                        if (!id.equals(frame.id)) {
+                            frame.conflicts.add(id);
+                        }
+                    }
+                    frame.causes.addAll(nogood.causes());
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void select(final Frame frame, final PluginMetadata plugin) {
+            frame.value = plugin;
+            this.selected.put(frame.id, plugin);
+            for (final String target : VersionSolver.targets(plugin)) {
+                this.declarers.computeIfAbsent(target, k -> new ArrayList<>()).add(plugin);
+            }
+            final int size = this.order.size();
+            for (final PluginDependency dependency : plugin.dependencies()) {
+                if (!dependency.optional()) {
+                    this.require(dependency.id(), new Requirement(plugin, dependency));
+                }
+            }
+            frame.required = this.order.size() - size;
+        }
+
+        private void deselect(final Frame frame) {
+            final PluginMetadata plugin = frame.value;
+            if (plugin == null) {
+                return;
+            }
+            // Later frames are already gone, so everything this selection added is last
+            for (int i = 0; i < frame.required; i++) {
+                this.required.remove(this.order.remove(this.order.size() - 1));
+                this.requirements.remove(this.requirements.size() - 1);
+            }
+            for (final String target : VersionSolver.targets(plugin)) {
+                final List<PluginMetadata> declarers = this.declarers.get(target);
+                declarers.remove(declarers.size() - 1);
+                if (declarers.isEmpty()) {
+                    this.declarers.remove(target);
+                }
+            }
+            this.selected.remove(frame.id);
+            frame.value = null;
+            frame.required = 0;
+        }
+
+        /**
+         * Learns from an exhausted frame and jumps back to the most recent selection responsible for it.
+         *
+         * @return The frame to retry
+         */
+        private Frame backjump(final Frame exhausted) {
+            final Set<String> conflicts = new LinkedHashSet<>(exhausted.conflicts);
+            final Set<Incompatibility> causes = new LinkedHashSet<>(exhausted.causes);
+            final Requirement requirement = exhausted.requirement;
+            if (requirement == null) {
+                causes.add(new Incompatibility(Incompatibility.Kind.REQUESTED, exhausted.id, Optional.empty(), Optional.empty()));
+            } else {
+                conflicts.add(requirement.declarer().id());
+                causes.add(new Incompatibility(Incompatibility.Kind.DEPENDENCY, exhausted.id, requirement.declarer(),
+                        requirement.dependency().version()));
+            }
+            this.frames.remove(this.frames.size() - 1);
+            if (conflicts.isEmpty()) {
+                final Map<String, List<String>> suggestions = new HashMap<>();
+                for (final Incompatibility cause : causes) {
+                    if (cause.kind() == Incompatibility.Kind.MISSING) {
+                        suggestions.put(cause.id(), VersionSolver.this.ids.suggest(cause.id(), 3));
+                    }
+                }
+                throw new UnsatisfiableSelectionException(new ArrayList<>(causes), suggestions);
+            }
+
+            final Map<String, PluginMetadata> selection = new HashMap<>(conflicts.size() * 4 / 3 + 1);
+            for (final String id : conflicts) {
+                selection.put(id, this.selected.get(id));
+            }
+            final Nogood nogood = new Nogood(Map.copyOf(selection), Set.copyOf(causes));
+            for (final PluginMetadata plugin : nogood.selection().values()) {
+                this.nogoods.computeIfAbsent(plugin, k -> new ArrayList<>()).add(nogood);
+            }
+
+            while (true) {
+                final Frame frame = this.frames.get(this.frames.size() - 1);
+                this.deselect(frame);
+                if (conflicts.remove(frame.id)) {
+                    frame.conflicts.addAll(conflicts);
+                    frame.causes.addAll(causes);
+                    return frame;
+                }
+                this.frames.remove(this.frames.size() - 1);
+            }
+        }
+    }
+
+    private static Set<String> targets(final PluginMetadata plugin) {
+        final Set<String> targets = new LinkedHashSet<>();
+        for (final PluginDependency dependency : plugin.dependencies()) {
+            targets.add(dependency.id());
+        }
+        for (final PluginConflict conflict : plugin.conflicts()) {
+            if (conflict.fatal()) {
+                targets.add(conflict.id());
+            }
+        }
+        return targets;
+    }
+
+    public static final class Builder {
+
+        private final List<PluginMetadata> plugins = new ArrayList<>();
+        private final Map<String, ArtifactVersion> loaders = new HashMap<>();
+
+        private Builder() {}
+
+        public Builder add(final PluginMetadata plugin) {
+            this.plugins.add(Objects.requireNonNull(plugin, "plugin"));
+            return this;
+        }
+
+        public Builder addAll(final Collection<? extends PluginMetadata> plugins) {
+            for (final PluginMetadata plugin : Objects.requireNonNull(plugins, "plugins")) {
+                this.add(plugin);
+            }
+            return this;
+        }
+
+        /**
+         * Registers an available loader. When no loader is registered, loader requirements are not checked.
+         *
+         * @param name The name
+         * @param version The version
+         * @return This builder, for chaining
+         */
+        public Builder loader(final String name, final ArtifactVersion version) {
+            this.loaders.put(Objects.requireNonNull(name, "name"), Objects.requireNonNull(version, "version"));
+            return this;
+        }
+
+        public VersionSolver build() {
+            return new VersionSolver(this);
+        }
+    }
+}
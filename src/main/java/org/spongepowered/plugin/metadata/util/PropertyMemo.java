@@ -0,0 +1,90 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.util;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.PropertyKey;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Remembers the properties of a plugin metadata decoded by {@link PropertyKey key}.
+ * <p>
+ * The decoded properties are kept in a small copy-on-write array of key and value pairs, compared by key identity, so
+ * lookups neither lock nor allocate. Once {@link #MAX_KEYS} keys are remembered, properties of further keys are
+ * decoded on every lookup instead, so metadata looked up with keys created on the fly does not grow without bound.
+ * <p>
+ * This is not public API as this package is not exported by the module.
+ */
+public final class PropertyMemo {
+    private static final int MAX_KEYS = 16;
+    private static final Object[] EMPTY = new Object[0];
+
+    private volatile Object[] entries = PropertyMemo.EMPTY;
+
+    /**
+     * Gets the decoded property of a key, decoding and remembering it the first time.
+     *
+     * @param key The key
+     * @param decoder The decoder of the property
+     * @param <T> The type
+     * @return The property
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(final PropertyKey<T> key, final Function<PropertyKey<T>, Optional<T>> decoder) {
+        Objects.requireNonNull(key, "key");
+        final @Nullable Optional<?> remembered = PropertyMemo.find(this.entries, key);
+        if (remembered != null) {
+            return (Optional<T>) remembered;
+        }
+        final Optional<T> property = decoder.apply(key);
+        synchronized (this) {
+            final Object[] entries = this.entries;
+            final @Nullable Optional<?> existing = PropertyMemo.find(entries, key);
+            if (existing != null) {
+                return (Optional<T>) existing;
+            }
+            if (entries.length < PropertyMemo.MAX_KEYS * 2) {
+                final Object[] copy = Arrays.copyOf(entries, entries.length + 2);
+                copy[entries.length] = key;
+                copy[entries.length + 1] = property;
+                this.entries = copy;
+            }
+        }
+        return property;
+    }
+
+    private static @Nullable Optional<?> find(final Object[] entries, final PropertyKey<?> key) {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i] == key) {
+                return (Optional<?>) entries[i + 1];
+            }
+        }
+        return null;
+    }
+}
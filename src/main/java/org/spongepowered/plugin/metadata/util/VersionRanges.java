@@ -0,0 +1,92 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.util;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.Restriction;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is not public API as this package is not exported by the module.
+ */
+public final class VersionRanges {
+    // Specs come from untrusted metadata, once full further specs are parsed each time instead of being cached
+    private static final int MAX_CACHED_SPECS = 4096;
+    private static final Map<String, VersionRange> SPECS = new ConcurrentHashMap<>();
+    private static final VersionRange INVALID = VersionRange.createFromVersion("invalid");
+
+    private VersionRanges() {
+    }
+
+    /**
+     * Checks whether a {@link VersionRange range} accepts a {@link ArtifactVersion version}.
+     * <p>
+     * Ranges read from metadata are created with {@link VersionRange#createFromVersion(String)}, which keeps
+     * the spec as a recommended version without restrictions, so {@link VersionRange#containsVersion(ArtifactVersion)}
+     * would reject everything. The spec is instead interpreted as a maven range where a bare version is a soft
+     * requirement accepting any version. A spec that is not a valid range accepts nothing.
+     */
+    public static boolean contains(final VersionRange range, final ArtifactVersion version) {
+        final VersionRange effective = VersionRanges.effective(range);
+        return effective != VersionRanges.INVALID && effective.containsVersion(version);
+    }
+
+    /**
+     * Gets the {@link Restriction restrictions} of a {@link VersionRange range}, interpreted as in
+     * {@link #contains(VersionRange, ArtifactVersion)}. A bound of {@code null} is unbounded.
+     */
+    public static List<Restriction> restrictions(final VersionRange range) {
+        final VersionRange effective = VersionRanges.effective(range);
+        return effective == VersionRanges.INVALID ? List.of() : effective.getRestrictions();
+    }
+
+    private static VersionRange effective(final VersionRange range) {
+        if (!range.getRestrictions().isEmpty()) {
+            return range;
+        }
+        final String spec = range.toString();
+        final VersionRange cached = VersionRanges.SPECS.get(spec);
+        if (cached != null) {
+            return cached;
+        }
+        if (VersionRanges.SPECS.size() >= VersionRanges.MAX_CACHED_SPECS) {
+            return VersionRanges.parse(spec);
+        }
+        return VersionRanges.SPECS.computeIfAbsent(spec, VersionRanges::parse);
+    }
+
+    private static VersionRange parse(final String spec) {
+        try {
+            return VersionRange.createFromVersionSpec(spec);
+        } catch (final InvalidVersionSpecificationException e) {
+            return VersionRanges.INVALID;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.verification;
+
+import java.util.Objects;
+
+/**
+ * An entrypoint of a plugin that cannot be loaded.
+ *
+ * @param plugin The id of the plugin declaring the entrypoint
+ * @param className The fully qualified class name of the entrypoint
+ * @param reason The {@link Reason reason}
+ */
+public record EntrypointProblem(String plugin, String className, Reason reason) {
+
+    public EntrypointProblem {
+        Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(className, "className");
+        Objects.requireNonNull(reason, "reason");
+    }
+
+    public enum Reason {
+        /**
+         * The jar has no entry for the class.
+         */
+        MISSING,
+        /**
+         * The entry for the class does not start with a class file header.
+         */
+        MALFORMED,
+        /**
+         * The class is already the entrypoint of another plugin.
+         */
+        DUPLICATE
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.verification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The result of verifying the entrypoints of a jar.
+ *
+ * @param owners The id of the plugin declaring each entrypoint class
+ * @param problems The {@link EntrypointProblem problems}
+ */
+public record EntrypointReport(Map<String, String> owners, List<EntrypointProblem> problems) {
+
+    public EntrypointReport {
+        owners = Map.copyOf(Objects.requireNonNull(owners, "owners"));
+        problems = List.copyOf(Objects.requireNonNull(problems, "problems"));
+    }
+
+    /**
+     * @param className The fully qualified class name
+     * @return The id of the plugin declaring the class as an entrypoint
+     */
+    public Optional<String> owner(final String className) {
+        return Optional.ofNullable(this.owners.get(Objects.requireNonNull(className, "className")));
+    }
+
+    /**
+     * @return Whether every entrypoint can be loaded
+     */
+    public boolean valid() {
+        return this.problems.isEmpty();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.verification;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.model.PluginEntrypoints;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+/**
+ * Verifies that the {@link PluginEntrypoints entrypoints} of the plugins of a {@link MetadataContainer container}
+ * exist in their jar, before anything is loaded from it.
+ * <p>
+ * Only the central directory of the jar and the first bytes of each entrypoint class are read. Multi-release jars are
+ * resolved against the {@link Runtime#version() running version}, so an entrypoint only present under
+ * {@code META-INF/versions} is found when it would be loaded.
+ */
+public final class EntrypointVerifier {
+    private static final int MAGIC = 0xCAFEBABE;
+    // The oldest class file version, JDK 1.0.2
+    private static final int MINIMUM_MAJOR_VERSION = 45;
+
+    private EntrypointVerifier() {
+    }
+
+    /**
+     * Verifies the entrypoints of a container against a jar, on the calling thread.
+     *
+     * @param jar The jar
+     * @param container The container read from the jar
+     * @return The report
+     * @throws IOException if the jar fails to be read
+     */
+    public static EntrypointReport verify(final Path jar, final MetadataContainer container) throws IOException {
+        return EntrypointVerifier.verify(jar, container, Runnable::run);
+    }
+
+    /**
+     * Verifies the entrypoints of a container against a jar, checking the entrypoints on the given
+     * {@link Executor executor}.
+     *
+     * @param jar The jar
+     * @param container The container read from the jar
+     * @param executor The executor checking the entrypoints
+     * @return The report
+     * @throws IOException if the jar fails to be read
+     */
+    public static EntrypointReport verify(final Path jar, final MetadataContainer container, final Executor executor)
+            throws IOException {
+        Objects.requireNonNull(jar, "jar");
+        Objects.requireNonNull(container, "container");
+        Objects.requireNonNull(executor, "executor");
+
+        final Map<String, String> owners = new HashMap<>();
+        final List<EntrypointProblem> problems = new ArrayList<>();
+        final List<Entrypoint> entrypoints = new ArrayList<>();
+        for (final PluginMetadata plugin : container.plugins()) {
+            final PluginEntrypoints declared = plugin.entrypoints();
+            Stream.of(declared.main(), declared.server(), declared.client()).flatMap(List::stream).distinct()
+                    .forEach(className -> {
+                        final String owner = owners.putIfAbsent(className, plugin.id());
+                        if (owner == null) {
+                            entrypoints.add(new Entrypoint(plugin.id(), className));
+                        } else if (!owner.equals(plugin.id())) {
+                            problems.add(new EntrypointProblem(plugin.id(), className, EntrypointProblem.Reason.DUPLICATE));
+                        }
+                    });
+        }
+
+        // Not verifying signatures, which would read the signature files of a signed jar and report nothing from them
+        try (final JarFile file = new JarFile(jar.toFile(), false, ZipFile.OPEN_READ, Runtime.version())) {
+            final List<CompletableFuture<@Nullable EntrypointProblem>> checks = new ArrayList<>(entrypoints.size());
+            for (final Entrypoint entrypoint : entrypoints) {
+                checks.add(CompletableFuture.supplyAsync(() -> EntrypointVerifier.check(file, entrypoint), executor));
+            }
+            // Wait for every check before the jar is closed, even if one of them failed
+            CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+            for (final CompletableFuture<@Nullable EntrypointProblem> check : checks) {
+                final @Nullable EntrypointProblem problem = check.join();
+                if (problem != null) {
+                    problems.add(problem);
+                }
+            }
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            throw e;
+        }
+        return new EntrypointReport(owners, problems);
+    }
+
+    private static @Nullable EntrypointProblem check(final JarFile file, final Entrypoint entrypoint) {
+        final JarEntry entry = file.getJarEntry(entrypoint.className().replace('.', '/') + ".class");
+        if (entry == null || entry.isDirectory()) {
+            return new EntrypointProblem(entrypoint.plugin(), entrypoint.className(), EntrypointProblem.Reason.MISSING);
+        }
+        try (final InputStream in = file.getInputStream(entry)) {
+            final byte[] header = in.readNBytes(8);
+            if (header.length < 8 || EntrypointVerifier.readInt(header, 0) != EntrypointVerifier.MAGIC
+                    || EntrypointVerifier.readShort(header, 6) < EntrypointVerifier.MINIMUM_MAJOR_VERSION) {
+                return new EntrypointProblem(entrypoint.plugin(), entrypoint.className(), EntrypointProblem.Reason.MALFORMED);
+            }
+            return null;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int readInt(final byte[] bytes, final int offset) {
+        return (EntrypointVerifier.readShort(bytes, offset) << 16) | EntrypointVerifier.readShort(bytes, offset + 2);
+    }
+
+    private static int readShort(final byte[] bytes, final int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private record Entrypoint(String plugin, String className) {
+    }
+}
@@ -24,11 +24,16 @@
  */
 package org.spongepowered.plugin.metadata.builtin;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.PropertyKey;
+import org.spongepowered.plugin.metadata.model.PluginBranding;
 import org.spongepowered.plugin.metadata.model.PluginConflict;
 import org.spongepowered.plugin.metadata.model.PluginContributor;
 import org.spongepowered.plugin.metadata.model.PluginDependency;
@@ -38,8 +43,13 @@
 
 import java.io.*;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 public class MetadataParserTest {
 
@@ -207,6 +217,349 @@ public void readLegacyDashInId() throws IOException {
         Assertions.assertTrue(MetadataParser.warnings().contains(dependencyIdWarning));
     }
 
+    @Test
+    public void readLegacyDashInIdWithContext() throws IOException {
+        final ParseContext context = ParseContext.create();
+        final MetadataContainer parsed;
+        try (final Reader reader = MetadataParserTest.resourceReader("/legacy/dash_in_id.json")) {
+            parsed = MetadataParser.read(reader, context);
+        }
+
+        Assertions.assertEquals(1, parsed.plugins().size());
+        final PluginMetadata plugin = parsed.plugins().getFirst();
+        Assertions.assertEquals("test_plugin", plugin.id());
+
+        Assertions.assertEquals(1, plugin.dependencies().size());
+        final PluginDependency dependency = plugin.dependencies().iterator().next();
+        Assertions.assertEquals("test_dependency", dependency.id());
+
+        Assertions.assertEquals(List.of(
+                new ParseWarning(ParseWarning.LEGACY_ID, "test_plugin", null,
+                        "Plugin id 'test-plugin' is invalid and has been converted to 'test_plugin'.", 1),
+                new ParseWarning(ParseWarning.LEGACY_ID, "test_plugin", null,
+                        "Plugin id 'test-dependency' is invalid and has been converted to 'test_dependency'.", 1)
+        ), context.warnings());
+        Assertions.assertTrue(ParseContext.current().isEmpty());
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void readLegacyDashInIdWithoutContext() {
+        // Not the legacy resource, whose warnings readLegacyDashInId expects to be absent before it reads it
+        final MetadataContainer parsed = MetadataParser.gson().fromJson("{\"loader\": {\"name\": \"java_plain\", \"version\": \"1.0\"},"
+                + " \"plugins\": [{\"id\": \"gson-plugin\", \"version\": \"1.0\", \"entrypoints\": [\"org.example.Main\"]}]}",
+                MetadataContainer.class);
+        Assertions.assertEquals("gson_plugin", parsed.plugins().getFirst().id());
+        Assertions.assertTrue(MetadataParser.warnings().contains(
+                "Plugin id 'gson-plugin' is invalid and has been converted to 'gson_plugin'."));
+
+        MetadataParser.addWarning("Some warning");
+        Assertions.assertTrue(MetadataParser.warnings().contains("Some warning"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> MetadataParser.warnings().clear());
+    }
+
+    @Test
+    public void readTolerantSkipsBadPluginEntry() throws IOException {
+        Assertions.assertThrows(JsonParseException.class, () -> MetadataParserTest.readContainer("/invalid/bad_plugin_entry.json"));
+
+        final ParseContext context = ParseContext.builder().tolerant(true).build();
+        final MetadataContainer parsed;
+        try (final Reader reader = MetadataParserTest.resourceReader("/invalid/bad_plugin_entry.json")) {
+            parsed = MetadataParser.read(reader, context);
+        }
+
+        Assertions.assertEquals(List.of("test_plugin"), parsed.plugins().stream().map(PluginMetadata::id).toList());
+        Assertions.assertEquals(1, context.rejected().size());
+        final RejectedPlugin rejected = context.rejected().getFirst();
+        Assertions.assertEquals("$.plugins[0]", rejected.location());
+        Assertions.assertEquals(Optional.of("Bad Plugin"), rejected.id());
+    }
+
+    @Test
+    public void readTolerantBoundsRejections() throws IOException {
+        final String json = "{\"global\": {\"version\": \"1.0\", \"loader\": {\"name\": \"java_plain\", \"version\": \"1.0\"}},"
+                + " \"plugins\": [{\"id\": \"First Bad\"}, {\"id\": \"good\"}, {\"id\": \"Second Bad\"}, {\"id\": \"Third Bad\"}]}";
+        final ParseContext context = ParseContext.builder().tolerant(true).limit(2).build();
+        final MetadataContainer parsed;
+        try (final Reader reader = new StringReader(json)) {
+            parsed = MetadataParser.read(reader, context);
+        }
+        Assertions.assertEquals(List.of("good"), parsed.plugins().stream().map(PluginMetadata::id).toList());
+        Assertions.assertEquals(List.of(Optional.of("First Bad"), Optional.of("Second Bad")),
+                context.rejected().stream().map(RejectedPlugin::id).toList());
+        Assertions.assertEquals(1, context.droppedRejections());
+        Assertions.assertEquals(0, context.dropped());
+    }
+
+    private static ParseLimitException readLimited(final String json, final ParseLimits limits) {
+        final ParseContext context = ParseContext.builder().limits(limits).build();
+        return Assertions.assertThrows(ParseLimitException.class, () -> {
+            try (final Reader reader = new StringReader(json)) {
+                MetadataParser.read(reader, context);
+            }
+        });
+    }
+
+    @Test
+    public void readEnforcesLimits() throws IOException {
+        final String json = "{\"global\": {\"version\": \"1.0\", \"loader\": {\"name\": \"java_plain\", \"version\": \"1.0\"}},"
+                + " \"plugins\": [{\"id\": \"example\", \"description\": \"An example plugin\","
+                + " \"contributors\": [{\"name\": \"first\"}, {\"name\": \"second\"}, {\"name\": \"third\"}],"
+                + " \"properties\": {\"first\": \"1\", \"second\": \"2\", \"third\": {\"nested\": [[\"value\"]]}}}]}";
+        final ParseContext context = ParseContext.builder().limits(ParseLimits.defaults()).build();
+        try (final Reader reader = new StringReader(json)) {
+            Assertions.assertEquals("example", MetadataParser.read(reader, context).plugins().getFirst().id());
+        }
+
+        final ParseLimitException size = MetadataParserTest.readLimited(json, ParseLimits.builder().maxDocumentSize(100).build());
+        Assertions.assertEquals("maxDocumentSize", size.limit());
+        Assertions.assertEquals(100, size.max());
+
+        final ParseLimitException depth = MetadataParserTest.readLimited(json, ParseLimits.builder().maxDepth(5).build());
+        Assertions.assertEquals("maxDepth", depth.limit());
+        Assertions.assertEquals("$.plugins[0].properties.third.nested", depth.path());
+
+        final ParseLimitException string = MetadataParserTest.readLimited(json, ParseLimits.builder().maxStringLength(10).build());
+        Assertions.assertEquals("maxStringLength", string.limit());
+        Assertions.assertEquals("$.plugins[0].description", string.path());
+
+        final ParseLimitException array = MetadataParserTest.readLimited(json, ParseLimits.builder().maxArrayLength(2).build());
+        Assertions.assertEquals("maxArrayLength", array.limit());
+        Assertions.assertEquals(2, array.max());
+        Assertions.assertEquals("$.plugins[0].contributors[2]", array.path());
+
+        final ParseLimitException object = MetadataParserTest.readLimited(json, ParseLimits.builder().maxObjectSize(2).build());
+        Assertions.assertEquals("maxObjectSize", object.limit());
+        Assertions.assertEquals("$.plugins[0].description", object.path());
+    }
+
+    @Test
+    public void skipEnforcesLimits() throws IOException {
+        final String json = "{\"skipped\": {\"first\": [1, 2, 3], \"second\": [[[true]]]}, \"read\": null}";
+        try (final LimitedJsonReader reader = new LimitedJsonReader(new StringReader(json), ParseLimits.defaults())) {
+            reader.beginObject();
+            Assertions.assertEquals("skipped", reader.nextName());
+            reader.skipValue();
+            Assertions.assertEquals("read", reader.nextName());
+            reader.nextNull();
+            reader.endObject();
+        }
+
+        try (final LimitedJsonReader reader = new LimitedJsonReader(new StringReader(json), ParseLimits.builder().maxDepth(3).build())) {
+            reader.beginObject();
+            reader.nextName();
+            final ParseLimitException depth = Assertions.assertThrows(ParseLimitException.class, reader::skipValue);
+            Assertions.assertEquals("maxDepth", depth.limit());
+            Assertions.assertEquals("$.skipped.<skipped>[0]", depth.path());
+        }
+
+        try (final LimitedJsonReader reader = new LimitedJsonReader(new StringReader(json), ParseLimits.builder().maxArrayLength(2).build())) {
+            reader.beginObject();
+            reader.nextName();
+            Assertions.assertEquals("maxArrayLength", Assertions.assertThrows(ParseLimitException.class, reader::skipValue).limit());
+        }
+
+        try (final LimitedJsonReader reader = new LimitedJsonReader(new StringReader(json), ParseLimits.builder().maxObjectSize(1).build())) {
+            reader.beginObject();
+            reader.nextName();
+            Assertions.assertEquals("maxObjectSize", Assertions.assertThrows(ParseLimitException.class, reader::skipValue).limit());
+        }
+    }
+
+    @Test
+    public void readReportsInvalidLinks() throws IOException {
+        Assertions.assertThrows(JsonParseException.class, () -> MetadataParserTest.readContainer("/invalid/bad_links.json"));
+
+        final ParseContext context = ParseContext.builder().tolerant(true).build();
+        final MetadataContainer parsed;
+        try (final Reader reader = MetadataParserTest.resourceReader("/invalid/bad_links.json")) {
+            parsed = MetadataParser.read(reader, context);
+        }
+        Assertions.assertEquals(List.of("test_plugin"), parsed.plugins().stream().map(PluginMetadata::id).toList());
+        Assertions.assertEquals(1, context.rejected().size());
+        Assertions.assertEquals(Optional.of("bad_links"), context.rejected().getFirst().id());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PluginLinks.of(null, "not a uri", null));
+        Assertions.assertSame(PluginLinks.none(), PluginLinks.of(null, null, null));
+        Assertions.assertEquals(Optional.of(URI.create("https://spongepowered.org/")),
+                PluginLinks.of("https://spongepowered.org/", null, null).homepage());
+    }
+
+    private static void assertParallelMatches(final Path file, final ForkJoinPool pool) throws IOException {
+        final ParseContext sequentialContext = ParseContext.builder().tolerant(true).build();
+        final ParseContext parallelContext = ParseContext.builder().tolerant(true).build();
+        final MetadataContainer sequential = MetadataParser.read(file, MetadataParser.gson(), sequentialContext);
+        final MetadataContainer parallel = MetadataParser.readParallel(file, MetadataParser.gson(), parallelContext, pool);
+
+        Assertions.assertEquals(sequential, parallel, file::toString);
+        Assertions.assertEquals(Set.copyOf(sequentialContext.warnings()), Set.copyOf(parallelContext.warnings()), file::toString);
+        Assertions.assertEquals(sequentialContext.rejected().size(), parallelContext.rejected().size(), file::toString);
+        for (int i = 0; i < sequentialContext.rejected().size(); i++) {
+            final RejectedPlugin expected = sequentialContext.rejected().get(i);
+            final RejectedPlugin actual = parallelContext.rejected().get(i);
+            Assertions.assertEquals(expected.file(), actual.file());
+            Assertions.assertEquals(expected.index(), actual.index());
+            Assertions.assertEquals(expected.id(), actual.id());
+            Assertions.assertEquals(expected.cause().getMessage(), actual.cause().getMessage());
+        }
+    }
+
+    @Test
+    public void readParallelMatchesRead(final @TempDir Path directory) throws IOException {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final String resource : List.of("/valid/full_global.json", "/valid/full_override.json", "/valid/main_entrypoint_only.json",
+                    "/valid/mix.json", "/valid/mix_in_root.json", "/valid/properties.json", "/invalid/bad_links.json",
+                    "/invalid/bad_plugin_entry.json", "/legacy/dash_in_id.json", "/legacy/entrypoint.json")) {
+                final Path file = directory.resolve(resource.substring(resource.lastIndexOf('/') + 1));
+                try (final InputStream in = Objects.requireNonNull(MetadataParserTest.class.getResourceAsStream(resource))) {
+                    Files.copy(in, file);
+                }
+                MetadataParserTest.assertParallelMatches(file, pool);
+            }
+
+            final Path missing = Files.writeString(directory.resolve("null_plugins.json"),
+                    "{\"global\": {\"loader\": {\"name\": \"java_plain\", \"version\": \"1.0\"}}, \"plugins\": null}");
+            Assertions.assertThrows(MissingRequiredFieldException.class, () -> MetadataParser.read(missing));
+            Assertions.assertThrows(MissingRequiredFieldException.class, () -> MetadataParser.readParallel(missing, pool));
+
+            // Escapes and brackets the scan has to skip over within strings, and enough bad entries to be rejected out of order
+            final StringBuilder json = new StringBuilder("{\"global\": {\"loader\": {\"name\": \"java_plain\", \"version\": \"1.0\"},"
+                    + " \"license\": \"MIT \\\\\"},\n\"quoted\": [\"]\\\\\", {\"}\": \"\\\"{\"}],\r\n\"plugins\": [");
+            for (int i = 0; i < 200; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                if (i % 3 == 0) {
+                    json.append(String.format("{\"id\": \"Bad \\\"%d\\\"\"}", i));
+                } else {
+                    json.append(String.format("{\"id\": \"plugin_%d\", \"version\": \"1.0\", \"entrypoints\": [\"org.example.Main\"],"
+                            + " \"description\": \"A \\\"quoted\\\" [path] C:\\\\plugins\\\\\"}", i));
+                }
+            }
+            final Path file = Files.writeString(directory.resolve("escapes.json"), json.append("]}"));
+            MetadataParserTest.assertParallelMatches(file, pool);
+            final MetadataContainer parsed = MetadataParser.readParallel(file, MetadataParser.gson(),
+                    ParseContext.builder().tolerant(true).build(), pool);
+            Assertions.assertEquals(Optional.of("MIT \\"), parsed.global().license());
+            Assertions.assertEquals(Optional.of("A \"quoted\" [path] C:\\plugins\\"), parsed.plugins().getFirst().description());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void readSharesEmptyModels() {
+        final Gson gson = MetadataParser.gson();
+        Assertions.assertSame(PluginLinks.none(), gson.fromJson("{}", PluginLinks.class));
+        Assertions.assertSame(PluginLinks.none(), gson.fromJson("{\"homepage\": null}", PluginLinks.class));
+        Assertions.assertSame(PluginBranding.none(), gson.fromJson("{}", PluginBranding.class));
+        Assertions.assertSame(PluginEntrypoints.none(), gson.fromJson("[]", PluginEntrypoints.class));
+        Assertions.assertSame(PluginEntrypoints.none(), gson.fromJson("{\"main\": []}", PluginEntrypoints.class));
+        Assertions.assertNotSame(PluginLinks.none(), gson.fromJson("{\"source\": \"https://spongepowered.org/\"}", PluginLinks.class));
+    }
+
+    @Test
+    public void catalogRoundTrip(final @TempDir Path directory) throws IOException {
+        final Path catalog = directory.resolve("catalog.jsonl");
+        try (final CatalogWriter writer = MetadataParser.catalogWriter(catalog, false)) {
+            writer.write(fullOverrideContainer);
+        }
+        try (final CatalogWriter writer = MetadataParser.catalogWriter(catalog, true)) {
+            for (final StandardPluginMetadata plugin : fullOverrideContainer.plugins()) {
+                writer.write(plugin);
+            }
+        }
+
+        final List<MetadataContainer> records = MetadataParser.readCatalog(catalog, ForkJoinPool.commonPool());
+        Assertions.assertEquals(1 + fullOverrideContainer.plugins().size(), records.size());
+        Assertions.assertEquals(fullOverrideContainer, records.getFirst());
+        for (int i = 0; i < fullOverrideContainer.plugins().size(); i++) {
+            final StandardPluginMetadata expected = fullOverrideContainer.plugins().get(i);
+            final MetadataContainer record = records.get(i + 1);
+            Assertions.assertEquals(InheritableMetadata.none(), record.global());
+            Assertions.assertEquals(1, record.plugins().size());
+            final StandardPluginMetadata plugin = record.plugins().getFirst();
+            Assertions.assertEquals(expected.id(), plugin.id());
+            Assertions.assertEquals(expected.version(), plugin.version());
+            Assertions.assertEquals(expected.loader(), plugin.loader());
+            Assertions.assertEquals(expected.license(), plugin.license());
+            Assertions.assertEquals(List.copyOf(expected.dependencies()), List.copyOf(plugin.dependencies()));
+        }
+    }
+
+    @Test
+    public void catalogAcrossChunks(final @TempDir Path directory) throws IOException {
+        final StringWriter records = new StringWriter();
+        try (final CatalogWriter writer = new CatalogWriter(records, MetadataParser.gson())) {
+            for (int i = 0; i < 400; i++) {
+                writer.write(fullOverrideContainer);
+                writer.write(fullOverrideContainer.plugins().get(i % fullOverrideContainer.plugins().size()));
+            }
+        }
+        final String badRecord = "{\"id\": \"Bad Plugin\"}\n\n";
+        final String text = records.toString();
+        final int middle = text.indexOf('\n', text.length() / 2) + 1;
+        // Line breaks only appear between records, the ones within strings being escaped
+        final Path file = Files.writeString(directory.resolve("catalog.jsonl"),
+                (text.substring(0, middle) + badRecord + text.substring(middle)).replace("\n", "\r\n"));
+        Assertions.assertTrue(Files.size(file) > 4 * 64 * 1024);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assertions.assertThrows(JsonParseException.class, () -> MetadataParser.readCatalog(file, pool));
+
+            final ParseContext context = ParseContext.builder().tolerant(true).build();
+            final List<MetadataContainer> read = MetadataParser.readCatalog(file, MetadataParser.gson(), context, pool);
+            Assertions.assertEquals(800, read.size());
+            for (int i = 0; i < read.size(); i++) {
+                final MetadataContainer record = read.get(i);
+                if (i % 2 == 0) {
+                    Assertions.assertEquals(fullOverrideContainer, record);
+                } else {
+                    final StandardPluginMetadata expected = fullOverrideContainer.plugins().get(i / 2 % fullOverrideContainer.plugins().size());
+                    Assertions.assertEquals(1, record.plugins().size());
+                    Assertions.assertEquals(expected.id(), record.plugins().getFirst().id());
+                    Assertions.assertEquals(expected.version(), record.plugins().getFirst().version());
+                }
+            }
+            Assertions.assertEquals(1, context.rejected().size());
+            Assertions.assertEquals(Optional.of("Bad Plugin"), context.rejected().getFirst().id());
+            Assertions.assertEquals(Optional.of(file), context.rejected().getFirst().file());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void propertiesRoundTrip() throws IOException {
+        final MetadataContainer parsed = MetadataParserTest.readContainer("/valid/properties.json");
+        final StandardPluginMetadata plugin = parsed.plugins().getFirst();
+        // Scalars are kept as strings
+        Assertions.assertEquals(Optional.of("Test"), plugin.property("name"));
+        Assertions.assertEquals(Optional.of("25565"), plugin.property("port"));
+        Assertions.assertEquals(Optional.of("true"), plugin.property("enabled"));
+        Assertions.assertEquals(Optional.of(25565), plugin.property(PropertyKey.integer("port")));
+        Assertions.assertEquals(Optional.of(true), plugin.property(PropertyKey.bool("enabled")));
+        Assertions.assertEquals(Optional.of(List.of("first", "second, third", "quoted \"tag\"", "4")),
+                plugin.property(JsonProperty.list("tags")));
+        Assertions.assertEquals(Optional.of(List.of(1, 2)),
+                plugin.property(JsonProperty.key("nested", NestedProperty.class)).map(NestedProperty::values));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> plugin.property(JsonProperty.list("nested")));
+
+        final StringWriter writer = new StringWriter();
+        MetadataParser.write(writer, parsed, true);
+        final MetadataContainer written;
+        try (final Reader reader = new StringReader(writer.toString())) {
+            written = MetadataParser.read(reader);
+        }
+        Assertions.assertEquals(parsed, written);
+        Assertions.assertEquals(plugin.properties(), written.plugins().getFirst().properties());
+    }
+
+    private record NestedProperty(List<Integer> values) {
+    }
+
     @Test
     public void readLegacyEntrypoint() throws IOException {
         final MetadataContainer parsed = MetadataParserTest.readContainer("/legacy/entrypoint.json");
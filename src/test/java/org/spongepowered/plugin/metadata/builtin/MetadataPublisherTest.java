@@ -0,0 +1,215 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import com.google.gson.JsonParseException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+public class MetadataPublisherTest {
+
+    private static final String GLOBAL = "\"global\":{\"loader\":{\"name\":\"java_plain\",\"version\":\"1.0\"},\"license\":\"MIT\"}";
+
+    private static Reader resourceReader(final String path) {
+        return new InputStreamReader(Objects.requireNonNull(MetadataPublisherTest.class.getResourceAsStream(path)));
+    }
+
+    private static String plugin(final int index) {
+        return String.format("{\"id\":\"plugin_%d\",\"version\":\"1.0\",\"entrypoints\":[\"org.example.Main%d\"]}", index, index);
+    }
+
+    private static Recorder subscribe(final Reader reader) {
+        final Recorder recorder = new Recorder();
+        MetadataParser.publish(reader, Runnable::run).subscribe(recorder);
+        return recorder;
+    }
+
+    @Test
+    public void publishRequestedPlugins() throws IOException {
+        final MetadataContainer container;
+        try (final Reader reader = MetadataPublisherTest.resourceReader("/valid/mix.json")) {
+            container = MetadataParser.read(reader);
+        }
+        final Recorder recorder = MetadataPublisherTest.subscribe(MetadataPublisherTest.resourceReader("/valid/mix.json"));
+        Assertions.assertTrue(recorder.plugins.isEmpty());
+
+        recorder.subscription().request(1);
+        Assertions.assertEquals(container.plugins().subList(0, 1), recorder.plugins);
+        Assertions.assertFalse(recorder.completed);
+
+        recorder.subscription().request(Long.MAX_VALUE);
+        Assertions.assertEquals(container.plugins(), recorder.plugins);
+        Assertions.assertTrue(recorder.completed);
+        Assertions.assertNull(recorder.error);
+    }
+
+    @Test
+    public void rejectNonPositiveDemand() {
+        final Recorder recorder = MetadataPublisherTest.subscribe(MetadataPublisherTest.resourceReader("/valid/mix.json"));
+        recorder.subscription().request(0);
+        Assertions.assertInstanceOf(IllegalArgumentException.class, recorder.error);
+        recorder.subscription().request(1);
+        Assertions.assertTrue(recorder.plugins.isEmpty());
+    }
+
+    @Test
+    public void cancelClosesSource() {
+        final CountingReader source = new CountingReader(Integer.MAX_VALUE);
+        final Recorder recorder = MetadataPublisherTest.subscribe(source);
+        recorder.subscription().request(2);
+        recorder.subscription().cancel();
+        Assertions.assertTrue(source.closed);
+
+        recorder.subscription().request(1);
+        Assertions.assertEquals(2, recorder.plugins.size());
+        Assertions.assertFalse(recorder.completed);
+        Assertions.assertNull(recorder.error);
+    }
+
+    @Test
+    public void rejectSecondSubscriber() {
+        final MetadataPublisher publisher = MetadataParser.publish(MetadataPublisherTest.resourceReader("/valid/mix.json"), Runnable::run);
+        final Recorder first = new Recorder();
+        publisher.subscribe(first);
+        final Recorder second = new Recorder();
+        publisher.subscribe(second);
+        Assertions.assertNotNull(second.subscription);
+        Assertions.assertInstanceOf(IllegalStateException.class, second.error);
+
+        first.subscription().request(Long.MAX_VALUE);
+        Assertions.assertTrue(first.completed);
+        Assertions.assertFalse(first.plugins.isEmpty());
+    }
+
+    @Test
+    public void readOnlyRequestedPlugins() {
+        // Far more plugins than could be held, of which only a few are read
+        final CountingReader source = new CountingReader(10_000_000);
+        final Recorder recorder = MetadataPublisherTest.subscribe(source);
+        for (int i = 0; i < 1000; i++) {
+            recorder.subscription().request(1);
+            // Dropping what was received, as a subscriber streaming plugins would
+            Assertions.assertEquals(1, recorder.plugins.size());
+            Assertions.assertEquals("plugin_" + i, recorder.plugins.getFirst().id());
+            recorder.plugins.clear();
+        }
+        // Each plugin is read as it is requested, so what was read is the requested plugins and a buffer beyond them
+        Assertions.assertTrue(source.read < (long) (MetadataPublisherTest.plugin(1000).length() + 1) * 1000 + 16384,
+                () -> String.format("Read %d characters", source.read));
+        Assertions.assertNull(recorder.error);
+    }
+
+    @Test
+    public void rejectGlobalAfterPlugins() {
+        final Recorder recorder = MetadataPublisherTest.subscribe(new StringReader(
+                "{\"loader\":{\"name\":\"java_plain\",\"version\":\"1.0\"},\"plugins\":[" + MetadataPublisherTest.plugin(0) + "],"
+                        + MetadataPublisherTest.GLOBAL + "}"));
+        recorder.subscription().request(Long.MAX_VALUE);
+        Assertions.assertInstanceOf(JsonParseException.class, recorder.error);
+        Assertions.assertEquals(1, recorder.plugins.size());
+        Assertions.assertFalse(recorder.completed);
+    }
+
+    private static final class Recorder implements Flow.Subscriber<StandardPluginMetadata> {
+        final List<StandardPluginMetadata> plugins = new ArrayList<>();
+        Flow.@Nullable Subscription subscription;
+        @Nullable Throwable error;
+        boolean completed;
+
+        Flow.Subscription subscription() {
+            return Objects.requireNonNull(this.subscription);
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final StandardPluginMetadata item) {
+            this.plugins.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+
+    /**
+     * Generates a container of the given number of plugins as it is read, counting the characters read.
+     */
+    private static final class CountingReader extends Reader {
+        private final int plugins;
+        private final StringBuilder pending = new StringBuilder("{" + MetadataPublisherTest.GLOBAL + ",\"plugins\":[");
+        private int generated;
+        private long read;
+        private boolean closed;
+
+        CountingReader(final int plugins) {
+            this.plugins = plugins;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) {
+            if (this.pending.isEmpty()) {
+                if (this.generated > this.plugins) {
+                    return -1;
+                }
+                if (this.generated == this.plugins) {
+                    this.pending.append("]}");
+                } else {
+                    this.pending.append(this.generated == 0 ? "" : ",").append(MetadataPublisherTest.plugin(this.generated));
+                }
+                this.generated++;
+            }
+            final int count = Math.min(length, this.pending.length());
+            this.pending.getChars(0, count, buffer, offset);
+            this.pending.delete(0, count);
+            this.read += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.builtin;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PropertyKey;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StandardPluginMetadataTest {
+
+    private static StandardPluginMetadata plugin(final Map<String, Object> properties) {
+        return StandardPluginMetadata.builder()
+                .id("example")
+                .global(InheritableMetadata.builder()
+                        .version(new DefaultArtifactVersion("1.0"))
+                        .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+                        .properties(properties)
+                        .build())
+                .build();
+    }
+
+    @Test
+    public void propertyDecodesOnce() {
+        final StandardPluginMetadata plugin = StandardPluginMetadataTest.plugin(Map.of("port", "25565", "tags", "a, b"));
+        final AtomicInteger decodes = new AtomicInteger();
+        final PropertyKey<Integer> port = PropertyKey.of("port", Integer.class, value -> {
+            decodes.incrementAndGet();
+            return Integer.parseInt(value.toString());
+        });
+
+        final Optional<Integer> first = plugin.property(port);
+        Assertions.assertEquals(Optional.of(25565), first);
+        Assertions.assertSame(first, plugin.property(port));
+        Assertions.assertEquals(1, decodes.get());
+        Assertions.assertEquals(Optional.of(List.of("a", "b")), plugin.property(PropertyKey.list("tags")));
+        Assertions.assertEquals(Optional.empty(), plugin.property(PropertyKey.integer("missing")));
+        Assertions.assertEquals(Optional.of("25565"), plugin.property("port"));
+    }
+
+    @Test
+    public void propertyRejectsInvalidValues() {
+        final StandardPluginMetadata plugin = StandardPluginMetadataTest.plugin(Map.of("enabled", "maybe"));
+        final PropertyKey<Boolean> enabled = PropertyKey.bool("enabled");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> plugin.property(enabled));
+        // Failures are not remembered
+        Assertions.assertThrows(IllegalArgumentException.class, () -> plugin.property(enabled));
+    }
+
+    @Test
+    public void propertyDecodesPastMemo() {
+        final StandardPluginMetadata plugin = StandardPluginMetadataTest.plugin(Map.of("port", "25565"));
+        final AtomicInteger decodes = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            // Keys created on the fly are decoded again once the memo is full
+            Assertions.assertEquals(Optional.of(25565), plugin.property(PropertyKey.of("port", Integer.class, value -> {
+                decodes.incrementAndGet();
+                return Integer.parseInt(value.toString());
+            })));
+        }
+        Assertions.assertEquals(100, decodes.get());
+
+        final PropertyKey<Integer> port = PropertyKey.integer("port");
+        Assertions.assertEquals(Optional.of(25565), plugin.property(port));
+        Assertions.assertEquals(plugin.property(port), plugin.property(port));
+    }
+}
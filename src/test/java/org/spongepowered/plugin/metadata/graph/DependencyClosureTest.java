@@ -0,0 +1,122 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+public class DependencyClosureTest {
+
+    private static final InheritableMetadata global = InheritableMetadata.builder()
+            .version(new DefaultArtifactVersion("1.0"))
+            .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+            .build();
+
+    private static PluginMetadata plugin(final String id, final PluginDependency... dependencies) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(DependencyClosureTest.global)
+                .override(InheritableMetadata.builder().dependencies(List.of(dependencies)).build())
+                .build();
+    }
+
+    private static PluginDependency dependency(final String id, final boolean optional) {
+        return new PluginDependency(id, VersionRange.createFromVersion("1.0"), PluginDependency.LoadOrder.UNDEFINED, optional);
+    }
+
+    private static List<String> ids(final List<PluginMetadata> plugins) {
+        return plugins.stream().map(PluginMetadata::id).toList();
+    }
+
+    @Test
+    public void closureFollowsChainsAndCycles() {
+        final DependencyClosure closure = DependencyClosure.of(List.of(
+                DependencyClosureTest.plugin("addon", DependencyClosureTest.dependency("library", false),
+                        DependencyClosureTest.dependency("missing", false)),
+                DependencyClosureTest.plugin("library", DependencyClosureTest.dependency("core", false)),
+                DependencyClosureTest.plugin("core"),
+                DependencyClosureTest.plugin("ping", DependencyClosureTest.dependency("pong", false)),
+                DependencyClosureTest.plugin("pong", DependencyClosureTest.dependency("ping", false),
+                        DependencyClosureTest.dependency("core", true))
+        ));
+
+        Assertions.assertEquals(List.of("library", "core"), DependencyClosureTest.ids(closure.closure("addon")));
+        Assertions.assertEquals(List.of(), DependencyClosureTest.ids(closure.closure("core")));
+        Assertions.assertEquals(List.of("core", "ping", "pong"), DependencyClosureTest.ids(closure.closure("ping")));
+        Assertions.assertTrue(closure.dependsOnTransitively("ping", "ping"));
+        Assertions.assertFalse(closure.dependsOnTransitively("core", "core"));
+        Assertions.assertTrue(closure.dependsOnTransitively("addon", "core"));
+        Assertions.assertFalse(closure.dependsOnTransitively("core", "addon"));
+        Assertions.assertFalse(closure.dependsOnTransitively("addon", "missing"));
+        Assertions.assertEquals(OptionalInt.empty(), closure.ordinal("missing"));
+        Assertions.assertEquals(3, closure.closureSize(closure.ordinal("pong").orElseThrow()));
+    }
+
+    @Test
+    public void closureSkipsOptional() {
+        final DependencyClosure closure = DependencyClosure.of(List.of(
+                DependencyClosureTest.plugin("addon", DependencyClosureTest.dependency("library", true)),
+                DependencyClosureTest.plugin("library")
+        ), false);
+        Assertions.assertEquals(List.of(), DependencyClosureTest.ids(closure.closure("addon")));
+    }
+
+    @Test
+    public void closureSpansWords() {
+        // A chain longer than a word of the bitsets
+        final List<PluginMetadata> plugins = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            plugins.add(i == 149 ? DependencyClosureTest.plugin("plugin_" + i)
+                    : DependencyClosureTest.plugin("plugin_" + i, DependencyClosureTest.dependency("plugin_" + (i + 1), false)));
+        }
+        final DependencyClosure closure = DependencyClosure.of(plugins);
+        Assertions.assertEquals(149, closure.closureSize(0));
+        Assertions.assertEquals(0, closure.closureSize(149));
+        Assertions.assertEquals(List.of(100, 101), closure.closure(99).limit(2).boxed().toList());
+        Assertions.assertTrue(closure.dependsOnTransitively(3, 130));
+        Assertions.assertFalse(closure.dependsOnTransitively(130, 3));
+    }
+
+    @Test
+    public void rejectInvalidOrdinals() {
+        final DependencyClosure closure = DependencyClosure.of(List.of(DependencyClosureTest.plugin("core")));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> closure.closure(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> closure.closureSize(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> closure.dependsOnTransitively(2, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DependencyClosure.of(List.of(
+                DependencyClosureTest.plugin("core"), DependencyClosureTest.plugin("core"))));
+    }
+}
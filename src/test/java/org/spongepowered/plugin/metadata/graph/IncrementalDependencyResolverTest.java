@@ -0,0 +1,153 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.List;
+import java.util.Set;
+
+public class IncrementalDependencyResolverTest {
+
+    private static final InheritableMetadata global = InheritableMetadata.builder()
+            .version(new DefaultArtifactVersion("1.0"))
+            .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+            .build();
+
+    private static PluginMetadata plugin(final String id, final PluginDependency... dependencies) {
+        return IncrementalDependencyResolverTest.plugin(id, "1.0", List.of(), dependencies);
+    }
+
+    private static PluginMetadata plugin(final String id, final String version, final List<PluginConflict> conflicts,
+            final PluginDependency... dependencies) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(IncrementalDependencyResolverTest.global)
+                .override(InheritableMetadata.builder()
+                        .version(new DefaultArtifactVersion(version))
+                        .dependencies(List.of(dependencies))
+                        .conflicts(conflicts)
+                        .build())
+                .build();
+    }
+
+    private static PluginDependency after(final String id) {
+        return new PluginDependency(id, VersionRange.createFromVersion("1.0"), PluginDependency.LoadOrder.AFTER, false);
+    }
+
+    private static List<String> order(final IncrementalDependencyResolver resolver) {
+        return resolver.order().stream().map(PluginMetadata::id).toList();
+    }
+
+    @Test
+    public void addSatisfiesDependency() {
+        final IncrementalDependencyResolver resolver = new IncrementalDependencyResolver();
+        resolver.add(IncrementalDependencyResolverTest.plugin("library"));
+        final ResolutionDelta delta = resolver.add(IncrementalDependencyResolverTest.plugin("addon", IncrementalDependencyResolverTest.after("library")));
+
+        Assertions.assertEquals(ResolutionDelta.Change.ADDED, delta.change());
+        Assertions.assertEquals(List.of("addon"), delta.satisfied().stream().map(ResolutionDelta.Link::dependent).toList());
+        Assertions.assertTrue(delta.unsatisfied().isEmpty());
+        Assertions.assertTrue(delta.reordered().isEmpty());
+        Assertions.assertEquals(List.of("library", "addon"), IncrementalDependencyResolverTest.order(resolver));
+    }
+
+    @Test
+    public void addRepairsOrder() {
+        final IncrementalDependencyResolver resolver = new IncrementalDependencyResolver();
+        final ResolutionDelta missing = resolver.add(IncrementalDependencyResolverTest.plugin("addon", IncrementalDependencyResolverTest.after("library")));
+        Assertions.assertEquals(1, missing.unsatisfied().size());
+        resolver.add(IncrementalDependencyResolverTest.plugin("other", IncrementalDependencyResolverTest.after("addon")));
+
+        final ResolutionDelta delta = resolver.add(IncrementalDependencyResolverTest.plugin("library"));
+        Assertions.assertEquals(List.of("addon"), delta.satisfied().stream().map(ResolutionDelta.Link::dependent).toList());
+        Assertions.assertFalse(delta.reordered().isEmpty());
+        Assertions.assertTrue(delta.affected().containsAll(Set.of("library", "addon")));
+        Assertions.assertEquals(List.of("library", "addon", "other"), IncrementalDependencyResolverTest.order(resolver));
+    }
+
+    @Test
+    public void addRejectsCycle() {
+        final IncrementalDependencyResolver resolver = new IncrementalDependencyResolver();
+        resolver.add(IncrementalDependencyResolverTest.plugin("first", IncrementalDependencyResolverTest.after("second")));
+        final LoadOrderCycleException exception = Assertions.assertThrows(LoadOrderCycleException.class,
+                () -> resolver.add(IncrementalDependencyResolverTest.plugin("second", IncrementalDependencyResolverTest.after("first"))));
+
+        Assertions.assertEquals(exception.cycle().getFirst(), exception.cycle().getLast());
+        Assertions.assertEquals(1, resolver.size());
+        Assertions.assertTrue(resolver.plugin("second").isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> resolver.add(IncrementalDependencyResolverTest.plugin("first")));
+    }
+
+    @Test
+    public void addChecksVersions() {
+        final IncrementalDependencyResolver resolver = new IncrementalDependencyResolver();
+        resolver.add(IncrementalDependencyResolverTest.plugin("library"));
+        final ResolutionDelta delta = resolver.add(IncrementalDependencyResolverTest.plugin("addon", "1.0", List.of(),
+                new PluginDependency("library", VersionRange.createFromVersion("[2.0,)"), PluginDependency.LoadOrder.AFTER, false)));
+
+        Assertions.assertTrue(delta.satisfied().isEmpty());
+        Assertions.assertEquals(List.of("addon"), delta.unsatisfied().stream().map(ResolutionDelta.Link::dependent).toList());
+    }
+
+    @Test
+    public void addReportsConflicts() {
+        final IncrementalDependencyResolver resolver = new IncrementalDependencyResolver();
+        resolver.add(IncrementalDependencyResolverTest.plugin("strict", "1.0",
+                List.of(new PluginConflict("rival", VersionRange.createFromVersion("[2.0,)"), true, (String) null))));
+
+        Assertions.assertTrue(resolver.add(IncrementalDependencyResolverTest.plugin("rival", "1.0", List.of())).conflicts().isEmpty());
+        resolver.remove("rival");
+        final ResolutionDelta delta = resolver.add(IncrementalDependencyResolverTest.plugin("rival", "2.0", List.of()));
+        Assertions.assertEquals(List.of("strict"), delta.conflicts().stream().map(ResolutionDelta.ConflictLink::declarer).toList());
+    }
+
+    @Test
+    public void removeAffectsRequiringPlugins() {
+        final IncrementalDependencyResolver resolver = new IncrementalDependencyResolver();
+        resolver.add(IncrementalDependencyResolverTest.plugin("core"));
+        resolver.add(IncrementalDependencyResolverTest.plugin("library", IncrementalDependencyResolverTest.after("core")));
+        resolver.add(IncrementalDependencyResolverTest.plugin("addon", IncrementalDependencyResolverTest.after("library")));
+        resolver.add(IncrementalDependencyResolverTest.plugin("extra",
+                new PluginDependency("core", VersionRange.createFromVersion("1.0"), PluginDependency.LoadOrder.AFTER, true)));
+
+        final ResolutionDelta delta = resolver.remove("core");
+        Assertions.assertEquals(ResolutionDelta.Change.REMOVED, delta.change());
+        Assertions.assertEquals(Set.of("core", "library", "addon"), delta.affected());
+        Assertions.assertEquals(Set.of("library", "extra"),
+                Set.copyOf(delta.unsatisfied().stream().map(ResolutionDelta.Link::dependent).toList()));
+        Assertions.assertEquals(List.of("library", "addon", "extra"), IncrementalDependencyResolverTest.order(resolver));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> resolver.remove("core"));
+    }
+}
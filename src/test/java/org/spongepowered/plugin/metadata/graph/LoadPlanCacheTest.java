@@ -0,0 +1,100 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+public class LoadPlanCacheTest {
+
+    private static PluginMetadata plugin(final String id, final String version, final PluginDependency... dependencies) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(InheritableMetadata.builder()
+                        .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+                        .build())
+                .override(InheritableMetadata.builder()
+                        .version(new DefaultArtifactVersion(version))
+                        .dependencies(List.of(dependencies))
+                        .build())
+                .build();
+    }
+
+    private static final List<PluginMetadata> plugins = List.of(
+            LoadPlanCacheTest.plugin("core", "1.0"),
+            LoadPlanCacheTest.plugin("addon", "1.0",
+                    new PluginDependency("core", VersionRange.createFromVersion("1.0"), PluginDependency.LoadOrder.AFTER, false))
+    );
+
+    @Test
+    public void fingerprintIgnoresOrder() {
+        Assertions.assertEquals(LoadPlanCache.fingerprint(LoadPlanCacheTest.plugins),
+                LoadPlanCache.fingerprint(LoadPlanCacheTest.plugins.reversed()));
+        Assertions.assertNotEquals(LoadPlanCache.fingerprint(LoadPlanCacheTest.plugins),
+                LoadPlanCache.fingerprint(List.of(LoadPlanCacheTest.plugin("core", "1.1"), LoadPlanCacheTest.plugins.getLast())));
+        Assertions.assertNotEquals(LoadPlanCache.fingerprint(LoadPlanCacheTest.plugins),
+                LoadPlanCache.fingerprint(List.of(LoadPlanCacheTest.plugins.getFirst(), LoadPlanCacheTest.plugin("addon", "1.0"))));
+    }
+
+    @Test
+    public void resolveStoresPlan(final @TempDir Path directory) throws IOException {
+        final LoadPlanCache cache = new LoadPlanCache(directory.resolve("cache").resolve("plan.json"));
+        Assertions.assertEquals(Optional.empty(), cache.load(LoadPlanCacheTest.plugins));
+
+        final LoadPlan plan = cache.resolve(LoadPlanCacheTest.plugins);
+        Assertions.assertTrue(Files.exists(cache.path()));
+        final Optional<LoadPlan> cached = cache.load(LoadPlanCacheTest.plugins.reversed());
+        Assertions.assertTrue(cached.isPresent());
+        Assertions.assertEquals(plan.waves(), cached.get().waves());
+
+        Assertions.assertEquals(Optional.empty(), cache.load(List.of(LoadPlanCacheTest.plugins.getFirst())));
+    }
+
+    @Test
+    public void malformedCacheIsMiss(final @TempDir Path directory) throws IOException {
+        final LoadPlanCache cache = new LoadPlanCache(directory.resolve("plan.json"));
+        Files.writeString(cache.path(), "{\"format\": 1, \"fingerprint\": ");
+        Assertions.assertEquals(Optional.empty(), cache.load(LoadPlanCacheTest.plugins));
+        Files.writeString(cache.path(), "{\"format\": 1}");
+        Assertions.assertEquals(Optional.empty(), cache.load(LoadPlanCacheTest.plugins));
+
+        cache.resolve(LoadPlanCacheTest.plugins);
+        Assertions.assertTrue(cache.load(LoadPlanCacheTest.plugins).isPresent());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.List;
+
+public class LoadWavePlannerTest {
+
+    private static final InheritableMetadata global = InheritableMetadata.builder()
+            .version(new DefaultArtifactVersion("1.0"))
+            .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+            .build();
+
+    private static PluginMetadata plugin(final String id, final PluginDependency... dependencies) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(LoadWavePlannerTest.global)
+                .override(InheritableMetadata.builder().dependencies(List.of(dependencies)).build())
+                .build();
+    }
+
+    private static PluginDependency dependency(final String id, final PluginDependency.LoadOrder loadOrder) {
+        return new PluginDependency(id, VersionRange.createFromVersion("1.0"), loadOrder, false);
+    }
+
+    private static List<List<String>> ids(final LoadPlan plan) {
+        return plan.waves().stream().map(wave -> wave.stream().map(PluginMetadata::id).toList()).toList();
+    }
+
+    @Test
+    public void planWaves() {
+        final LoadPlan plan = LoadWavePlanner.plan(List.of(
+                LoadWavePlannerTest.plugin("addon", LoadWavePlannerTest.dependency("library", PluginDependency.LoadOrder.AFTER),
+                        LoadWavePlannerTest.dependency("core", PluginDependency.LoadOrder.AFTER)),
+                LoadWavePlannerTest.plugin("library", LoadWavePlannerTest.dependency("core", PluginDependency.LoadOrder.AFTER)),
+                LoadWavePlannerTest.plugin("core"),
+                LoadWavePlannerTest.plugin("standalone", LoadWavePlannerTest.dependency("missing", PluginDependency.LoadOrder.AFTER)),
+                LoadWavePlannerTest.plugin("early", LoadWavePlannerTest.dependency("core", PluginDependency.LoadOrder.BEFORE)),
+                LoadWavePlannerTest.plugin("unordered", LoadWavePlannerTest.dependency("core", PluginDependency.LoadOrder.UNDEFINED))
+        ));
+
+        Assertions.assertEquals(List.of(
+                List.of("standalone", "early", "unordered"),
+                List.of("core"),
+                List.of("library"),
+                List.of("addon")
+        ), LoadWavePlannerTest.ids(plan));
+        Assertions.assertEquals(4, plan.criticalPathLength());
+        Assertions.assertEquals(3, plan.maxParallelism());
+        Assertions.assertEquals(1.5, plan.estimatedParallelism());
+    }
+
+    @Test
+    public void detectCycle() {
+        final LoadOrderCycleException exception = Assertions.assertThrows(LoadOrderCycleException.class, () -> LoadWavePlanner.plan(List.of(
+                LoadWavePlannerTest.plugin("first", LoadWavePlannerTest.dependency("second", PluginDependency.LoadOrder.AFTER)),
+                LoadWavePlannerTest.plugin("second", LoadWavePlannerTest.dependency("third", PluginDependency.LoadOrder.AFTER)),
+                LoadWavePlannerTest.plugin("third", LoadWavePlannerTest.dependency("first", PluginDependency.LoadOrder.AFTER)),
+                LoadWavePlannerTest.plugin("other")
+        )));
+        Assertions.assertEquals(4, exception.cycle().size());
+        Assertions.assertEquals(exception.cycle().getFirst(), exception.cycle().getLast());
+    }
+
+    @Test
+    public void rejectDuplicateIds() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LoadWavePlanner.plan(List.of(
+                LoadWavePlannerTest.plugin("same"),
+                LoadWavePlannerTest.plugin("same")
+        )));
+    }
+}
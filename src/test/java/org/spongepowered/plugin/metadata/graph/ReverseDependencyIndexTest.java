@@ -0,0 +1,100 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.graph;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.List;
+import java.util.Optional;
+
+public class ReverseDependencyIndexTest {
+
+    private static final InheritableMetadata global = InheritableMetadata.builder()
+            .version(new DefaultArtifactVersion("1.0"))
+            .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+            .build();
+
+    private static PluginMetadata plugin(final String id, final PluginDependency... dependencies) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(ReverseDependencyIndexTest.global)
+                .override(InheritableMetadata.builder().dependencies(List.of(dependencies)).build())
+                .build();
+    }
+
+    private static PluginDependency dependency(final String id, final String range, final boolean optional) {
+        return new PluginDependency(id, VersionRange.createFromVersion(range), PluginDependency.LoadOrder.AFTER, optional);
+    }
+
+    private static ReverseDependencyIndex index() {
+        return ReverseDependencyIndex.of(List.of(
+                ReverseDependencyIndexTest.plugin("core"),
+                ReverseDependencyIndexTest.plugin("library", ReverseDependencyIndexTest.dependency("core", "[1.0,2.0)", false)),
+                ReverseDependencyIndexTest.plugin("extra", ReverseDependencyIndexTest.dependency("core", "1.0", true)),
+                ReverseDependencyIndexTest.plugin("addon", ReverseDependencyIndexTest.dependency("library", "1.0", false)),
+                ReverseDependencyIndexTest.plugin("viewer", ReverseDependencyIndexTest.dependency("addon", "1.0", true))
+        ));
+    }
+
+    @Test
+    public void dependents() {
+        final ReverseDependencyIndex index = ReverseDependencyIndexTest.index();
+        Assertions.assertEquals(List.of("library", "extra"),
+                index.dependents("core").stream().map(edge -> edge.dependent().id()).toList());
+        Assertions.assertEquals(List.of(), index.dependents("viewer"));
+        Assertions.assertEquals(List.of(), index.dependents("missing"));
+    }
+
+    @Test
+    public void impact() {
+        final ReverseDependencyIndex index = ReverseDependencyIndexTest.index();
+        Assertions.assertEquals(List.of("library", "extra", "addon", "viewer"), List.copyOf(index.impact("core")));
+        Assertions.assertEquals(List.of(), List.copyOf(index.impact("core", new DefaultArtifactVersion("1.5"))));
+        Assertions.assertEquals(List.of("library", "addon"), List.copyOf(index.impact("core", new DefaultArtifactVersion("2.0"))));
+        Assertions.assertEquals(List.of("library", "addon"), List.copyOf(index.impact("core", null)));
+    }
+
+    @Test
+    public void putReplacesDependencies() {
+        final ReverseDependencyIndex index = ReverseDependencyIndexTest.index();
+        final Optional<PluginMetadata> previous = index.put(ReverseDependencyIndexTest.plugin("library"));
+        Assertions.assertTrue(previous.isPresent());
+        Assertions.assertEquals(1, previous.get().dependencies().size());
+        Assertions.assertEquals(List.of("extra"), index.dependents("core").stream().map(edge -> edge.dependent().id()).toList());
+
+        Assertions.assertTrue(index.remove("extra").isPresent());
+        Assertions.assertEquals(List.of(), index.dependents("core"));
+        Assertions.assertTrue(index.remove("extra").isEmpty());
+        Assertions.assertTrue(index.plugin("extra").isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.PropertyKey;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginBranding;
+import org.spongepowered.plugin.metadata.model.PluginContributor;
+import org.spongepowered.plugin.metadata.model.PluginLinks;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class ArenaPluginMetadataTest {
+
+    private static StandardPluginMetadata plugin(final String id, final String description) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(InheritableMetadata.builder()
+                        .version(new DefaultArtifactVersion("1.0"))
+                        .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+                        .name("Example")
+                        .description(description)
+                        .branding(PluginBranding.of("icon.png", null))
+                        .links(PluginLinks.of("https://spongepowered.org/", null, "https://github.com/SpongePowered/Sponge/issues"))
+                        .addContributor(new PluginContributor("Spongie", "Mascot éè"))
+                        .addContributor(new PluginContributor("Zidane", (String) null))
+                        .properties(Map.of("port", "25565"))
+                        .build())
+                .build();
+    }
+
+    private static void assertCopied(final PluginMetadata expected, final PluginMetadata actual) {
+        Assertions.assertEquals(expected.id(), actual.id());
+        Assertions.assertEquals(expected.version(), actual.version());
+        Assertions.assertEquals(expected.loader(), actual.loader());
+        Assertions.assertEquals(expected.name(), actual.name());
+        Assertions.assertEquals(expected.description(), actual.description());
+        Assertions.assertEquals(expected.branding(), actual.branding());
+        Assertions.assertEquals(expected.links(), actual.links());
+        Assertions.assertEquals(expected.contributors(), actual.contributors());
+        Assertions.assertEquals(List.copyOf(expected.dependencies()), List.copyOf(actual.dependencies()));
+        Assertions.assertEquals(expected.properties(), actual.properties());
+    }
+
+    @Test
+    public void copy() throws IOException {
+        try (final TextArena arena = TextArena.direct()) {
+            final StandardPluginMetadata plugin = ArenaPluginMetadataTest.plugin("example", "An example plugin");
+            final ArenaPluginMetadata copy = ArenaPluginMetadata.of(arena, plugin);
+            ArenaPluginMetadataTest.assertCopied(plugin, copy);
+            Assertions.assertEquals(Optional.of(25565), copy.property(PropertyKey.integer("port")));
+
+            final ArenaPluginMetadata other = ArenaPluginMetadata.of(arena, plugin);
+            Assertions.assertEquals(copy, other);
+            Assertions.assertEquals(copy.hashCode(), other.hashCode());
+            Assertions.assertNotEquals(copy, ArenaPluginMetadata.of(arena, ArenaPluginMetadataTest.plugin("example", "Another")));
+            Assertions.assertNotEquals(copy, ArenaPluginMetadata.of(arena, ArenaPluginMetadataTest.plugin("other", "An example plugin")));
+        }
+    }
+
+    @Test
+    public void copyAcrossChunks() throws IOException {
+        // Chunks of 7 bytes split most strings, including the two byte characters of the contributor description
+        try (final TextArena arena = TextArena.direct(7)) {
+            for (int i = 0; i < 7; i++) {
+                arena.put("x".repeat(i));
+                final StandardPluginMetadata plugin = ArenaPluginMetadataTest.plugin("example", "Spans é€😀 chunks " + i);
+                ArenaPluginMetadataTest.assertCopied(plugin, ArenaPluginMetadata.of(arena, plugin));
+            }
+        }
+    }
+
+    @Test
+    public void copyIntoMappedFile(final @TempDir Path directory) throws IOException {
+        final StandardPluginMetadata plugin = ArenaPluginMetadataTest.plugin("example", "x".repeat(3 << 19));
+        final ArenaPluginMetadata copy;
+        try (final TextArena arena = TextArena.mapped(directory.resolve("arena.bin"))) {
+            arena.put("y".repeat((1 << 20) - 3));
+            copy = ArenaPluginMetadata.of(arena, plugin);
+            ArenaPluginMetadataTest.assertCopied(plugin, copy);
+        }
+        Assertions.assertThrows(IllegalStateException.class, copy::description);
+        Assertions.assertEquals(plugin.id(), copy.id());
+    }
+
+    @Test
+    public void searchIndexKeepsCopies() throws IOException {
+        try (final TextArena arena = TextArena.direct()) {
+            final PluginSearchIndex index = new PluginSearchIndex(arena);
+            final StandardPluginMetadata plugin = ArenaPluginMetadataTest.plugin("example", "An example plugin");
+            index.add(new MetadataContainer(plugin.global(), List.of(plugin)));
+            final PluginMetadata result = index.search("example", 1).getFirst().plugin();
+            Assertions.assertInstanceOf(ArenaPluginMetadata.class, result);
+            ArenaPluginMetadataTest.assertCopied(plugin, result);
+            Assertions.assertTrue(arena.size() > 0);
+        }
+    }
+}
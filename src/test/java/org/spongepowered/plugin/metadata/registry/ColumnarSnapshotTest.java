@@ -0,0 +1,123 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+public class ColumnarSnapshotTest {
+
+    private static PluginMetadata plugin(final String id, final String version, final String loader, final String license,
+            final PluginDependency... dependencies) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(InheritableMetadata.builder()
+                        .version(new DefaultArtifactVersion(version))
+                        .loader(new PluginLoaderSpecification(loader, VersionRange.createFromVersion("1.0")))
+                        .license(license)
+                        .dependencies(List.of(dependencies))
+                        .build())
+                .build();
+    }
+
+    private static PluginDependency dependency(final String id, final boolean optional) {
+        return new PluginDependency(id, VersionRange.createFromVersion("1.0"), PluginDependency.LoadOrder.AFTER, optional);
+    }
+
+    private static ColumnarSnapshot snapshot() {
+        return ColumnarSnapshot.builder().addAll(List.of(
+                ColumnarSnapshotTest.plugin("core", "2.0", "java_plain", "MIT"),
+                ColumnarSnapshotTest.plugin("library", "1.0", "java_plain", "MIT", ColumnarSnapshotTest.dependency("core", false)),
+                ColumnarSnapshotTest.plugin("addon", "1.0.0", "java_custom", null, ColumnarSnapshotTest.dependency("core", true),
+                        ColumnarSnapshotTest.dependency("external", false)),
+                ColumnarSnapshotTest.plugin("tool", "10.0", "java_plain", "GPL", ColumnarSnapshotTest.dependency("library", false))
+        )).build();
+    }
+
+    @Test
+    public void columns() {
+        final ColumnarSnapshot snapshot = ColumnarSnapshotTest.snapshot();
+        Assertions.assertEquals(4, snapshot.size());
+        final int addon = snapshot.row("addon").orElseThrow();
+        Assertions.assertEquals("addon", snapshot.id(addon));
+        Assertions.assertEquals("java_custom", snapshot.loader(addon));
+        Assertions.assertEquals(Optional.empty(), snapshot.license(addon));
+        Assertions.assertEquals(-1, snapshot.licenseOrdinal(addon));
+        Assertions.assertEquals(List.of("core", "external"), snapshot.dependencies(addon));
+        Assertions.assertEquals(OptionalInt.empty(), snapshot.row("external"));
+
+        // 1.0 and 1.0.0 are equal versions and share a rank
+        Assertions.assertEquals(List.of("1.0", "2.0", "10.0"), snapshot.versions().stream().map(Object::toString).toList());
+        Assertions.assertEquals(snapshot.versionRank(snapshot.row("library").orElseThrow()), snapshot.versionRank(addon));
+        Assertions.assertEquals(2, snapshot.versionRank(snapshot.row("tool").orElseThrow()));
+    }
+
+    @Test
+    public void aggregate() {
+        final ColumnarSnapshot snapshot = ColumnarSnapshotTest.snapshot();
+        for (final boolean parallel : new boolean[] {false, true}) {
+            Assertions.assertEquals(Map.of("java_plain", 3, "java_custom", 1), snapshot.countByLoader(parallel));
+            Assertions.assertEquals(Map.of("MIT", 2, "GPL", 1), snapshot.countByLicense(parallel));
+            Assertions.assertEquals(List.of(2, 1, 1), List.copyOf(snapshot.countByVersion(parallel).values()));
+            Assertions.assertEquals(Map.of("core", 2, "external", 1, "library", 1), snapshot.dependencyFanIn(true, parallel));
+            Assertions.assertEquals(Map.of("core", 1, "external", 1, "library", 1), snapshot.dependencyFanIn(false, parallel));
+        }
+    }
+
+    @Test
+    public void aggregateInParallel() {
+        final List<PluginMetadata> plugins = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            plugins.add(ColumnarSnapshotTest.plugin("plugin_" + i, "1." + (i % 7), i % 3 == 0 ? "java_custom" : "java_plain", "MIT",
+                    ColumnarSnapshotTest.dependency("plugin_" + (i / 2), false)));
+        }
+        final ColumnarSnapshot snapshot = ColumnarSnapshot.builder().addAll(plugins).build();
+        Assertions.assertEquals(snapshot.countByLoader(false), snapshot.countByLoader(true));
+        Assertions.assertEquals(snapshot.countByVersion(false), snapshot.countByVersion(true));
+        Assertions.assertEquals(snapshot.dependencyFanIn(true, false), snapshot.dependencyFanIn(true, true));
+        Assertions.assertEquals(1667, snapshot.countByLoader(true).get("java_custom"));
+    }
+
+    @Test
+    public void rejectDuplicateIds() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ColumnarSnapshot.builder()
+                .add(ColumnarSnapshotTest.plugin("core", "1.0", "java_plain", "MIT"))
+                .add(ColumnarSnapshotTest.plugin("core", "2.0", "java_plain", "MIT"))
+                .build());
+    }
+}
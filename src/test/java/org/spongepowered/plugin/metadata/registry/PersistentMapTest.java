@@ -0,0 +1,128 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class PersistentMapTest {
+
+    private static void assertMatches(final Map<Object, Object> expected, final PersistentMap<Object, Object> map) {
+        Assertions.assertEquals(expected.size(), map.size());
+        for (final Map.Entry<Object, Object> entry : expected.entrySet()) {
+            Assertions.assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        final Map<Object, Object> visited = new HashMap<>();
+        map.forEach(visited::put);
+        Assertions.assertEquals(expected, visited);
+        Assertions.assertEquals(Set.copyOf(expected.values()), new HashSet<>(map.values()));
+        Assertions.assertEquals(expected.size(), map.values().size());
+    }
+
+    @Test
+    public void matchesHashMap() {
+        final Random random = new Random(42);
+        final Map<Object, Object> expected = new HashMap<>();
+        PersistentMap<Object, Object> map = PersistentMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            final Integer key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, "value" + i);
+                map = map.put(key, "value" + i);
+            }
+        }
+        PersistentMapTest.assertMatches(expected, map);
+    }
+
+    @Test
+    public void sharesUnchangedVersions() {
+        final PersistentMap<Object, Object> first = PersistentMap.empty().put("a", "1").put("b", "2");
+        final PersistentMap<Object, Object> second = first.put("a", "3").remove("b");
+
+        PersistentMapTest.assertMatches(Map.of("a", "1", "b", "2"), first);
+        PersistentMapTest.assertMatches(Map.of("a", "3"), second);
+        Assertions.assertSame(first, first.remove("missing"));
+        final String value = "1";
+        final PersistentMap<Object, Object> same = PersistentMap.empty().put("a", value);
+        Assertions.assertSame(same, same.put("a", value));
+    }
+
+    @Test
+    public void chainsCollidingHashes() {
+        // "Aa" and "BB" share a hash code, as do every concatenation of them
+        final String[] keys = {"AaAa", "AaBB", "BBAa", "BBBB"};
+        PersistentMap<Object, Object> map = PersistentMap.empty();
+        final Map<Object, Object> expected = new HashMap<>();
+        for (final String key : keys) {
+            map = map.put(key, key.toLowerCase());
+            expected.put(key, key.toLowerCase());
+        }
+        map = map.put("other", "other");
+        expected.put("other", "other");
+        PersistentMapTest.assertMatches(expected, map);
+
+        map = map.put("AaBB", "replaced");
+        expected.put("AaBB", "replaced");
+        PersistentMapTest.assertMatches(expected, map);
+
+        for (final String key : keys) {
+            map = map.remove(key);
+            expected.remove(key);
+            PersistentMapTest.assertMatches(expected, map);
+        }
+    }
+
+    @Test
+    public void removeCollapsesNodes() {
+        // Keys sharing their low bits are pushed down into nested nodes
+        PersistentMap<Object, Object> map = PersistentMap.empty();
+        final Map<Object, Object> expected = new HashMap<>();
+        for (int i = 0; i < 6; i++) {
+            final Integer key = i << 25;
+            map = map.put(key, i);
+            expected.put(key, i);
+        }
+        PersistentMapTest.assertMatches(expected, map);
+        for (int i = 0; i < 6; i++) {
+            final Integer key = i << 25;
+            map = map.remove(key);
+            expected.remove(key);
+            PersistentMapTest.assertMatches(expected, map);
+        }
+        Assertions.assertTrue(map.isEmpty());
+        Assertions.assertFalse(map.values().iterator().hasNext());
+        map = map.put(1, 1);
+        PersistentMapTest.assertMatches(Map.of(1, 1), map);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class PluginIdIndexTest {
+
+    private static final PluginIdIndex index = PluginIdIndex.of(List.of(
+            "worldedit", "worldguard", "world", "chat", "chatter", "economy", "ecore", "spongeapi", "sponge"));
+
+    @Test
+    public void contains() {
+        Assertions.assertEquals(9, PluginIdIndexTest.index.size());
+        Assertions.assertTrue(PluginIdIndexTest.index.contains("world"));
+        Assertions.assertTrue(PluginIdIndexTest.index.contains("sponge"));
+        Assertions.assertFalse(PluginIdIndexTest.index.contains("worl"));
+        Assertions.assertFalse(PluginIdIndexTest.index.contains("worldedits"));
+        Assertions.assertFalse(PluginIdIndexTest.index.contains(""));
+        Assertions.assertFalse(PluginIdIndex.empty().contains("world"));
+        Assertions.assertTrue(PluginIdIndex.of(List.of("", "a")).contains(""));
+    }
+
+    @Test
+    public void withPrefix() {
+        Assertions.assertEquals(List.of("world", "worldedit", "worldguard"), PluginIdIndexTest.index.withPrefix("wor", 10));
+        Assertions.assertEquals(List.of("world", "worldedit"), PluginIdIndexTest.index.withPrefix("world", 2));
+        Assertions.assertEquals(List.of("chat", "chatter"), PluginIdIndexTest.index.withPrefix("chat", 10));
+        Assertions.assertEquals(List.of("chat", "chatter", "economy", "ecore"), PluginIdIndexTest.index.withPrefix("", 4));
+        Assertions.assertEquals(List.of(), PluginIdIndexTest.index.withPrefix("missing", 10));
+        Assertions.assertEquals(List.of(), PluginIdIndexTest.index.withPrefix("world", 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PluginIdIndexTest.index.withPrefix("world", -1));
+    }
+
+    @Test
+    public void similar() {
+        Assertions.assertEquals(List.of("world"), PluginIdIndexTest.index.similar("world", 0));
+        Assertions.assertEquals(List.of("world"), PluginIdIndexTest.index.similar("wrold", 1));
+        Assertions.assertEquals(List.of("chatter"), PluginIdIndexTest.index.similar("chtater", 1));
+        Assertions.assertEquals(List.of("economy", "ecore"), PluginIdIndexTest.index.similar("ecomy", 2));
+        Assertions.assertEquals(List.of("sponge", "spongeapi"), PluginIdIndexTest.index.similar("sponge", 3));
+        Assertions.assertEquals(List.of(), PluginIdIndexTest.index.similar("xyz", 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PluginIdIndexTest.index.similar("world", -1));
+    }
+
+    @Test
+    public void suggest() {
+        Assertions.assertEquals(List.of("chat"), PluginIdIndexTest.index.suggest("caht", 5));
+        Assertions.assertEquals(List.of("chat"), PluginIdIndexTest.index.suggest("cht", 5));
+        Assertions.assertEquals(List.of("worldedit"), PluginIdIndexTest.index.suggest("wroldedti", 5));
+        Assertions.assertEquals(List.of("worldedit"), PluginIdIndexTest.index.suggest("worldedti", 1));
+        Assertions.assertEquals(List.of(), PluginIdIndexTest.index.suggest("worldedti", 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PluginIdIndexTest.index.suggest("world", -1));
+    }
+}
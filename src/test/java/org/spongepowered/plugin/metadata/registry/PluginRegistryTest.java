@@ -0,0 +1,137 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginContributor;
+import org.spongepowered.plugin.metadata.model.PluginEntrypoints;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class PluginRegistryTest {
+
+    private static final InheritableMetadata global = InheritableMetadata.builder()
+            .version(new DefaultArtifactVersion("1.0"))
+            .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+            .license("MIT")
+            .build();
+
+    private static StandardPluginMetadata plugin(final String id, final InheritableMetadata override) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .entrypoints(new PluginEntrypoints(List.of("org.example." + id + ".Main"), List.of(), List.of()))
+                .global(PluginRegistryTest.global)
+                .override(override)
+                .build();
+    }
+
+    private static List<String> ids(final Collection<? extends PluginMetadata> plugins) {
+        return plugins.stream().map(PluginMetadata::id).toList();
+    }
+
+    private static MetadataContainer first() {
+        return new MetadataContainer(PluginRegistryTest.global, List.of(
+                PluginRegistryTest.plugin("core", InheritableMetadata.builder()
+                        .contributors(List.of(new PluginContributor("Alice", (String) null)))
+                        .properties(Map.of("mixins", "core.mixins.json"))
+                        .build()),
+                PluginRegistryTest.plugin("library", InheritableMetadata.builder().license("Apache-2.0").build())
+        ));
+    }
+
+    private static MetadataContainer second() {
+        return new MetadataContainer(PluginRegistryTest.global, List.of(
+                PluginRegistryTest.plugin("addon", InheritableMetadata.builder()
+                        .loader(new PluginLoaderSpecification("java_custom", VersionRange.createFromVersion("1.0")))
+                        .contributors(List.of(new PluginContributor("Alice", (String) null)))
+                        .build())
+        ));
+    }
+
+    @Test
+    public void registerIndexes() {
+        final PluginRegistry registry = new PluginRegistry();
+        final MetadataContainer first = PluginRegistryTest.first(), second = PluginRegistryTest.second();
+        registry.register(first);
+        registry.register(second);
+
+        Assertions.assertEquals(3, registry.size());
+        Assertions.assertEquals(List.of("core", "library", "addon"), PluginRegistryTest.ids(registry.plugins()));
+        Assertions.assertSame(second, registry.container("addon").orElseThrow());
+        Assertions.assertEquals(List.of("core", "library"), PluginRegistryTest.ids(registry.byLoader("java_plain")));
+        Assertions.assertEquals(List.of("addon"), PluginRegistryTest.ids(registry.byLoader("java_custom")));
+        Assertions.assertEquals(List.of("library"), PluginRegistryTest.ids(registry.byEntrypoint("org.example.library.Main")));
+        Assertions.assertEquals(List.of("core", "addon"), PluginRegistryTest.ids(registry.byLicense("MIT")));
+        Assertions.assertEquals(List.of("core", "addon"), PluginRegistryTest.ids(registry.byContributor("Alice")));
+        Assertions.assertEquals(List.of("core"), PluginRegistryTest.ids(registry.byProperty("mixins")));
+        Assertions.assertEquals(List.of(), PluginRegistryTest.ids(registry.byLicense("GPL")));
+    }
+
+    @Test
+    public void registerIsAtomic() {
+        final PluginRegistry registry = new PluginRegistry();
+        final MetadataContainer first = PluginRegistryTest.first();
+        registry.register(first);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.register(first));
+        // An equal but distinct container clashes on its ids and is not mistaken for the registered one
+        final MetadataContainer copy = PluginRegistryTest.first();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.register(copy));
+        Assertions.assertFalse(registry.unregister(copy));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.register(new MetadataContainer(PluginRegistryTest.global, List.of(
+                PluginRegistryTest.plugin("fresh", InheritableMetadata.none()),
+                PluginRegistryTest.plugin("core", InheritableMetadata.none())
+        ))));
+        Assertions.assertTrue(registry.plugin("fresh").isEmpty());
+        Assertions.assertEquals(1, registry.containers().size());
+    }
+
+    @Test
+    public void unregisterClearsIndexes() {
+        final PluginRegistry registry = new PluginRegistry();
+        final MetadataContainer first = PluginRegistryTest.first(), second = PluginRegistryTest.second();
+        registry.register(first);
+        registry.register(second);
+
+        Assertions.assertTrue(registry.unregister(first));
+        Assertions.assertFalse(registry.unregister(first));
+        Assertions.assertEquals(List.of("addon"), PluginRegistryTest.ids(registry.plugins()));
+        Assertions.assertEquals(List.of(), PluginRegistryTest.ids(registry.byLoader("java_plain")));
+        Assertions.assertEquals(List.of("addon"), PluginRegistryTest.ids(registry.byContributor("Alice")));
+        Assertions.assertTrue(registry.container("core").isEmpty());
+        Assertions.assertEquals(List.of(second), List.copyOf(registry.containers()));
+    }
+}
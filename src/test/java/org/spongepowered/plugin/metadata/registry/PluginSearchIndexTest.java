@@ -0,0 +1,145 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class PluginSearchIndexTest {
+
+    private static final InheritableMetadata global = InheritableMetadata.builder()
+            .version(new DefaultArtifactVersion("1.0"))
+            .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+            .build();
+
+    private static PluginMetadata plugin(final String id, final String name, final String description) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(PluginSearchIndexTest.global)
+                .override(InheritableMetadata.builder().name(name).description(description).build())
+                .build();
+    }
+
+    private static List<String> ids(final List<PluginSearchIndex.Result> results) {
+        return results.stream().map(result -> result.plugin().id()).toList();
+    }
+
+    @Test
+    public void exactMatchesScoreHigher() {
+        final PluginSearchIndex index = new PluginSearchIndex();
+        index.add(PluginSearchIndexTest.plugin("chatter", "Chatter", "Talks"));
+        index.add(PluginSearchIndexTest.plugin("chat", "Chat", "Talks"));
+        index.add(PluginSearchIndexTest.plugin("economy", "Economy", "Money"));
+
+        Assertions.assertEquals(List.of("chat", "chatter"), PluginSearchIndexTest.ids(index.search("chat", 10)));
+        Assertions.assertEquals(List.of("chat"), PluginSearchIndexTest.ids(index.search("CHAT", 1)));
+        Assertions.assertEquals(List.of("chatter"), PluginSearchIndexTest.ids(index.search("chatt", 10)));
+        Assertions.assertEquals(List.of(), index.search("chat", 0));
+        Assertions.assertEquals(List.of("chat", "chatter"), PluginSearchIndexTest.ids(index.search("chat", Integer.MAX_VALUE)));
+        Assertions.assertEquals(List.of(), index.search(" -- ", 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.search("chat", -1));
+    }
+
+    @Test
+    public void everyTermMustMatch() {
+        final PluginSearchIndex index = new PluginSearchIndex();
+        index.add(PluginSearchIndexTest.plugin("worldedit", "World Edit", "Edits the world"));
+        index.add(PluginSearchIndexTest.plugin("worldguard", "World Guard", "Guards regions"));
+        index.add(PluginSearchIndexTest.plugin("regions", "Regions", "Claims land"));
+
+        Assertions.assertEquals(List.of("worldedit"), PluginSearchIndexTest.ids(index.search("world edit", 10)));
+        Assertions.assertEquals(List.of("worldguard"), PluginSearchIndexTest.ids(index.search("guard, regions", 10)));
+        Assertions.assertEquals(Set.of("worldedit", "worldguard"), Set.copyOf(PluginSearchIndexTest.ids(index.search("world", 10))));
+        Assertions.assertEquals(List.of(), index.search("world land", 10));
+        Assertions.assertEquals(List.of(), index.search("missing", 10));
+    }
+
+    @Test
+    public void addReplacesById() {
+        final PluginSearchIndex index = new PluginSearchIndex();
+        Assertions.assertTrue(index.add(PluginSearchIndexTest.plugin("chat", "Chat", "Talks")).isEmpty());
+        Assertions.assertEquals("Chat", index.add(PluginSearchIndexTest.plugin("chat", "Messages", "Sends mail"))
+                .flatMap(PluginMetadata::name).orElseThrow());
+
+        Assertions.assertEquals(1, index.size());
+        Assertions.assertEquals(List.of(), index.search("talks", 10));
+        Assertions.assertEquals(List.of("chat"), PluginSearchIndexTest.ids(index.search("mail", 10)));
+        Assertions.assertTrue(index.remove("chat").isPresent());
+        Assertions.assertTrue(index.remove("chat").isEmpty());
+        Assertions.assertEquals(0, index.size());
+        Assertions.assertEquals(List.of(), index.search("mail", 10));
+    }
+
+    @Test
+    public void removeRelocatesPostings() {
+        final PluginSearchIndex index = new PluginSearchIndex();
+        final List<String> remaining = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            // Every plugin shares the "common" posting list, every third plugin also shares "third"
+            index.add(PluginSearchIndexTest.plugin("plugin" + i, "Plugin " + i, i % 3 == 0 ? "common third" : "common"));
+            remaining.add("plugin" + i);
+        }
+        // Removing from the front and middle moves the last postings into the freed positions
+        for (int i = 0; i < 40; i += 4) {
+            Assertions.assertTrue(index.remove("plugin" + i).isPresent());
+            remaining.remove("plugin" + i);
+        }
+        Assertions.assertEquals(Set.copyOf(remaining), Set.copyOf(PluginSearchIndexTest.ids(index.search("common", 100))));
+        Assertions.assertEquals(remaining.stream().filter(id -> Integer.parseInt(id.substring(6)) % 3 == 0).collect(Collectors.toSet()),
+                Set.copyOf(PluginSearchIndexTest.ids(index.search("common third", 100))));
+
+        // Relocated postings must still be removable, and freed slots reused
+        for (final String id : List.copyOf(remaining)) {
+            if (Integer.parseInt(id.substring(6)) % 2 == 1) {
+                Assertions.assertTrue(index.remove(id).isPresent());
+                remaining.remove(id);
+            }
+        }
+        for (int i = 40; i < 60; i++) {
+            index.add(PluginSearchIndexTest.plugin("plugin" + i, "Plugin " + i, "common"));
+            remaining.add("plugin" + i);
+        }
+        Assertions.assertEquals(remaining.size(), index.size());
+        Assertions.assertEquals(Set.copyOf(remaining), Set.copyOf(PluginSearchIndexTest.ids(index.search("common", 100))));
+        for (final String id : remaining) {
+            // The exact id term outscores the ids it prefixes
+            Assertions.assertEquals(id, index.search("common " + id, 1).get(0).plugin().id());
+            Assertions.assertTrue(index.remove(id).isPresent());
+        }
+        Assertions.assertEquals(0, index.size());
+        Assertions.assertEquals(List.of(), index.search("common", 100));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.registry;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+public class SnapshotRegistryTest {
+
+    private static final InheritableMetadata global = InheritableMetadata.builder()
+            .version(new DefaultArtifactVersion("1.0"))
+            .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+            .license("MIT")
+            .build();
+
+    private static MetadataContainer container(final String... ids) {
+        final List<StandardPluginMetadata> plugins = new ArrayList<>();
+        for (final String id : ids) {
+            plugins.add(StandardPluginMetadata.builder().id(id).global(SnapshotRegistryTest.global).build());
+        }
+        return new MetadataContainer(SnapshotRegistryTest.global, plugins);
+    }
+
+    private static Set<String> ids(final RegistrySnapshot snapshot) {
+        return snapshot.plugins().stream().map(StandardPluginMetadata::id).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void snapshotsAreStable() {
+        final SnapshotRegistry registry = new SnapshotRegistry();
+        final MetadataContainer first = SnapshotRegistryTest.container("core", "library");
+        final RegistrySnapshot before = registry.register(first);
+        final RegistrySnapshot after = registry.replace(first, SnapshotRegistryTest.container("core", "addon"));
+
+        Assertions.assertEquals(Set.of("core", "library"), SnapshotRegistryTest.ids(before));
+        Assertions.assertEquals(Set.of("core", "addon"), SnapshotRegistryTest.ids(after));
+        Assertions.assertEquals(2, after.byLicense("MIT").size());
+        Assertions.assertEquals(2, before.byLoader("java_plain").size());
+        Assertions.assertTrue(before.contains(first));
+        Assertions.assertFalse(after.contains(first));
+        Assertions.assertEquals(2, after.generation());
+        Assertions.assertSame(after, registry.snapshot());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.unregister(first));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.register(SnapshotRegistryTest.container("addon")));
+        Assertions.assertSame(after, registry.snapshot());
+    }
+
+    @Test
+    public void concurrentRegistrationsRetry() throws Exception {
+        final SnapshotRegistry registry = new SnapshotRegistry();
+        final int threads = 8, perThread = 200;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        registry.register(SnapshotRegistryTest.container("plugin_" + thread + "_" + i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Every change is published exactly once, whichever writer had to retry
+        final RegistrySnapshot snapshot = registry.snapshot();
+        Assertions.assertEquals(threads * perThread, snapshot.generation());
+        Assertions.assertEquals(threads * perThread, snapshot.size());
+        Assertions.assertEquals(threads * perThread, snapshot.containers().size());
+        Assertions.assertEquals(threads * perThread, snapshot.byLicense("MIT").size());
+    }
+}
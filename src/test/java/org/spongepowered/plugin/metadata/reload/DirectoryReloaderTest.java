@@ -0,0 +1,204 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.reload;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+
+public class DirectoryReloaderTest {
+
+    private static final long TIMEOUT = 10;
+
+    private static String metadata(final String... plugins) {
+        final StringBuilder builder = new StringBuilder("{\"global\":{\"loader\":{\"name\":\"java_plain\",\"version\":\"1.0\"},"
+                + "\"license\":\"MIT\"},\"plugins\":[");
+        for (int i = 0; i < plugins.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(String.format("{\"id\":\"%s\",\"version\":\"%s\",\"entrypoints\":[\"org.example.Main\"]}", plugins[i],
+                    plugins[i + 1]));
+        }
+        return builder.append("]}").toString();
+    }
+
+    // Writes the file elsewhere first so that the watched directory never sees it half written
+    private static void jar(final Path staging, final Path directory, final String name, final String... plugins) throws IOException {
+        final Path jar = staging.resolve(name);
+        try (final OutputStream out = Files.newOutputStream(jar); final JarOutputStream jarOut = new JarOutputStream(out)) {
+            jarOut.putNextEntry(new JarEntry("META-INF/sponge_plugins.json"));
+            jarOut.write(DirectoryReloaderTest.metadata(plugins).getBytes(StandardCharsets.UTF_8));
+            jarOut.closeEntry();
+        }
+        Files.move(jar, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void metadata(final Path staging, final Path directory, final String... plugins) throws IOException {
+        final Path file = Files.writeString(staging.resolve("sponge_plugins.json"), DirectoryReloaderTest.metadata(plugins));
+        Files.move(file, directory.resolve("sponge_plugins.json"), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static List<PluginDelta> next(final BlockingQueue<List<PluginDelta>> deltas) throws InterruptedException {
+        final List<PluginDelta> next = deltas.poll(DirectoryReloaderTest.TIMEOUT, TimeUnit.SECONDS);
+        Assertions.assertNotNull(next, "No change was reported");
+        return next;
+    }
+
+    private static void assertDelta(final PluginDelta delta, final PluginDelta.Change change, final String id, final String version,
+            final Path file) {
+        Assertions.assertEquals(change, delta.change());
+        Assertions.assertEquals(id, delta.id());
+        Assertions.assertEquals(version, delta.plugin().version().toString());
+        Assertions.assertEquals(file, delta.file());
+    }
+
+    @Test
+    public void reportChanges(final @TempDir Path directory, final @TempDir Path staging) throws IOException, InterruptedException {
+        DirectoryReloaderTest.jar(staging, directory, "base.jar", "base", "1.0");
+
+        final BlockingQueue<List<PluginDelta>> deltas = new LinkedBlockingQueue<>();
+        final BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+        try (final DirectoryReloader reloader = DirectoryReloader.builder()
+                .directory(directory)
+                .debounce(Duration.ofMillis(200))
+                .listener(deltas::add)
+                .errorHandler((file, error) -> errors.add(error))
+                .build()) {
+            final List<PluginDelta> initial = reloader.start();
+            Assertions.assertEquals(1, initial.size());
+            DirectoryReloaderTest.assertDelta(initial.getFirst(), PluginDelta.Change.ADDED, "base", "1.0", directory.resolve("base.jar"));
+
+            // Created
+            DirectoryReloaderTest.jar(staging, directory, "mod-1.0.jar", "mod", "1.0");
+            List<PluginDelta> next = DirectoryReloaderTest.next(deltas);
+            Assertions.assertEquals(1, next.size());
+            DirectoryReloaderTest.assertDelta(next.getFirst(), PluginDelta.Change.ADDED, "mod", "1.0", directory.resolve("mod-1.0.jar"));
+
+            // Replaced by another file in the same burst
+            DirectoryReloaderTest.jar(staging, directory, "mod-1.1.jar", "mod", "1.1");
+            Files.delete(directory.resolve("mod-1.0.jar"));
+            next = DirectoryReloaderTest.next(deltas);
+            Assertions.assertEquals(1, next.size());
+            DirectoryReloaderTest.assertDelta(next.getFirst(), PluginDelta.Change.CHANGED, "mod", "1.1", directory.resolve("mod-1.1.jar"));
+            Assertions.assertEquals("1.0", next.getFirst().previous().orElseThrow().version().toString());
+
+            // Modified
+            DirectoryReloaderTest.metadata(staging, directory, "extra", "1.0");
+            next = DirectoryReloaderTest.next(deltas);
+            Assertions.assertEquals(1, next.size());
+            DirectoryReloaderTest.assertDelta(next.getFirst(), PluginDelta.Change.ADDED, "extra", "1.0",
+                    directory.resolve("sponge_plugins.json"));
+            DirectoryReloaderTest.metadata(staging, directory, "extra", "2.0", "other", "1.0");
+            next = DirectoryReloaderTest.next(deltas);
+            Assertions.assertEquals(2, next.size());
+            DirectoryReloaderTest.assertDelta(next.get(0), PluginDelta.Change.CHANGED, "extra", "2.0", directory.resolve("sponge_plugins.json"));
+            DirectoryReloaderTest.assertDelta(next.get(1), PluginDelta.Change.ADDED, "other", "1.0", directory.resolve("sponge_plugins.json"));
+
+            // Deleted
+            Files.delete(directory.resolve("sponge_plugins.json"));
+            next = DirectoryReloaderTest.next(deltas);
+            Assertions.assertEquals(Set.of("extra", "other"), next.stream().map(PluginDelta::id).collect(Collectors.toSet()));
+            Assertions.assertTrue(next.stream().allMatch(delta -> delta.change() == PluginDelta.Change.REMOVED));
+
+            Assertions.assertEquals(Set.of("base", "mod"), reloader.plugins().keySet());
+            Assertions.assertTrue(errors.isEmpty());
+        }
+    }
+
+    @Test
+    public void reportDuplicates(final @TempDir Path directory, final @TempDir Path staging) throws IOException, InterruptedException {
+        DirectoryReloaderTest.jar(staging, directory, "first.jar", "mod", "1.0");
+
+        final BlockingQueue<List<PluginDelta>> deltas = new LinkedBlockingQueue<>();
+        final BlockingQueue<Path> errors = new LinkedBlockingQueue<>();
+        try (final DirectoryReloader reloader = DirectoryReloader.builder()
+                .directory(directory)
+                .debounce(Duration.ofMillis(200))
+                .listener(deltas::add)
+                .errorHandler((file, error) -> {
+                    if (error instanceof IllegalStateException) {
+                        errors.add(file);
+                    }
+                })
+                .build()) {
+            reloader.start();
+
+            // The first declaration is kept
+            DirectoryReloaderTest.jar(staging, directory, "second.jar", "mod", "2.0", "other", "1.0");
+            Assertions.assertEquals(directory.resolve("second.jar"), errors.poll(DirectoryReloaderTest.TIMEOUT, TimeUnit.SECONDS));
+            final List<PluginDelta> next = DirectoryReloaderTest.next(deltas);
+            Assertions.assertEquals(1, next.size());
+            DirectoryReloaderTest.assertDelta(next.getFirst(), PluginDelta.Change.ADDED, "other", "1.0", directory.resolve("second.jar"));
+            Assertions.assertEquals("1.0", reloader.plugins().get("mod").version().toString());
+
+            // Until it goes away
+            Files.delete(directory.resolve("first.jar"));
+            final List<PluginDelta> moved = DirectoryReloaderTest.next(deltas);
+            Assertions.assertEquals(1, moved.size());
+            DirectoryReloaderTest.assertDelta(moved.getFirst(), PluginDelta.Change.CHANGED, "mod", "2.0", directory.resolve("second.jar"));
+            Assertions.assertTrue(errors.isEmpty());
+        }
+    }
+
+    @Test
+    public void flushLongBursts(final @TempDir Path directory, final @TempDir Path staging) throws IOException, InterruptedException {
+        final BlockingQueue<List<PluginDelta>> deltas = new LinkedBlockingQueue<>();
+        try (final DirectoryReloader reloader = DirectoryReloader.builder()
+                .directory(directory)
+                .debounce(Duration.ofSeconds(2))
+                .maxDebounce(Duration.ofMillis(500))
+                .listener(deltas::add)
+                .build()) {
+            reloader.start();
+
+            // Events keep coming faster than the debounce period, the maximum still flushes them
+            final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(DirectoryReloaderTest.TIMEOUT);
+            List<PluginDelta> next = null;
+            for (int i = 0; next == null && System.nanoTime() < end; i++) {
+                DirectoryReloaderTest.metadata(staging, directory, "mod", "1." + i);
+                next = deltas.poll(100, TimeUnit.MILLISECONDS);
+            }
+            Assertions.assertNotNull(next, "The burst was never flushed");
+            Assertions.assertEquals("mod", next.getFirst().id());
+        }
+    }
+}
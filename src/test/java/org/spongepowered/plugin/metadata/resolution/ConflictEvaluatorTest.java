@@ -0,0 +1,105 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.List;
+
+public class ConflictEvaluatorTest {
+
+    private static PluginMetadata plugin(final String id, final String version, final PluginConflict... conflicts) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(InheritableMetadata.builder()
+                        .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+                        .build())
+                .override(InheritableMetadata.builder()
+                        .version(new DefaultArtifactVersion(version))
+                        .conflicts(List.of(conflicts))
+                        .build())
+                .build();
+    }
+
+    private static PluginConflict conflict(final String id, final String range, final boolean fatal) {
+        return new PluginConflict(id, VersionRange.createFromVersion(range), fatal, (String) null);
+    }
+
+    private static List<String> targets(final List<ConflictResult> results) {
+        return results.stream().map(result -> result.target().id() + " " + result.target().version()).toList();
+    }
+
+    @Test
+    public void evaluateMatchesRanges() {
+        final ConflictReport report = ConflictEvaluator.evaluate(List.of(
+                ConflictEvaluatorTest.plugin("strict", "1.0",
+                        ConflictEvaluatorTest.conflict("rival", "[2.0,3.0)", true),
+                        ConflictEvaluatorTest.conflict("other", "(,1.0],[5.0,)", false)),
+                ConflictEvaluatorTest.plugin("rival", "2.5"),
+                ConflictEvaluatorTest.plugin("other", "3.0")
+        ));
+
+        Assertions.assertTrue(report.hasFatal());
+        Assertions.assertEquals(List.of("rival 2.5"), ConflictEvaluatorTest.targets(report.fatal()));
+        Assertions.assertTrue(report.warnings().isEmpty());
+    }
+
+    @Test
+    public void evaluateIgnoresInvalidRange() {
+        final ConflictReport report = ConflictEvaluator.evaluate(List.of(
+                ConflictEvaluatorTest.plugin("strict", "1.0", ConflictEvaluatorTest.conflict("rival", "[2.0", true)),
+                ConflictEvaluatorTest.plugin("rival", "2.0")
+        ));
+        Assertions.assertTrue(report.isEmpty());
+    }
+
+    @Test
+    public void addAndRemoveReevaluate() {
+        final ConflictEvaluator evaluator = new ConflictEvaluator();
+        final PluginMetadata strict = ConflictEvaluatorTest.plugin("strict", "1.0", ConflictEvaluatorTest.conflict("rival", "[2.0,)", false));
+        final PluginMetadata oldRival = ConflictEvaluatorTest.plugin("rival", "1.0");
+        final PluginMetadata newRival = ConflictEvaluatorTest.plugin("rival", "2.0");
+
+        evaluator.add(strict);
+        evaluator.add(oldRival);
+        Assertions.assertTrue(evaluator.report().isEmpty());
+
+        evaluator.replace(oldRival, newRival);
+        Assertions.assertEquals(List.of("rival 2.0"), ConflictEvaluatorTest.targets(evaluator.report().warnings()));
+
+        evaluator.remove(newRival);
+        Assertions.assertTrue(evaluator.report().isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> evaluator.remove(newRival));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> evaluator.add(strict));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.List;
+
+public class LoaderDispatcherTest {
+
+    private static final LoaderDispatcher dispatcher = LoaderDispatcher.builder()
+            .loader("java_plain", new DefaultArtifactVersion("1.5"))
+            .loader("kotlin", new DefaultArtifactVersion("2.0"))
+            .build();
+
+    private static PluginLoaderSpecification loader(final String name, final String range) {
+        return new PluginLoaderSpecification(name, VersionRange.createFromVersion(range));
+    }
+
+    private static PluginMetadata plugin(final String id, final PluginLoaderSpecification loader) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(InheritableMetadata.builder().version(new DefaultArtifactVersion("1.0")).loader(loader).build())
+                .build();
+    }
+
+    private static List<String> ids(final List<PluginMetadata> plugins) {
+        return plugins.stream().map(PluginMetadata::id).toList();
+    }
+
+    @Test
+    public void accepts() {
+        Assertions.assertTrue(LoaderDispatcherTest.dispatcher.accepts(LoaderDispatcherTest.loader("java_plain", "[1.0,2.0)")));
+        Assertions.assertTrue(LoaderDispatcherTest.dispatcher.accepts(LoaderDispatcherTest.loader("java_plain", "1.0")));
+        Assertions.assertFalse(LoaderDispatcherTest.dispatcher.accepts(LoaderDispatcherTest.loader("java_plain", "[2.0,)")));
+        Assertions.assertTrue(LoaderDispatcherTest.dispatcher.accepts(LoaderDispatcherTest.loader("kotlin", "[2.0,)")));
+        Assertions.assertFalse(LoaderDispatcherTest.dispatcher.accepts(LoaderDispatcherTest.loader("scala", "1.0")));
+        // Cached checks give the same answer
+        Assertions.assertFalse(LoaderDispatcherTest.dispatcher.accepts(LoaderDispatcherTest.loader("java_plain", "[2.0,)")));
+    }
+
+    @Test
+    public void dispatch() {
+        final LoaderDispatch dispatch = LoaderDispatcherTest.dispatcher.dispatch(List.of(
+                LoaderDispatcherTest.plugin("first", LoaderDispatcherTest.loader("java_plain", "[1.0,2.0)")),
+                LoaderDispatcherTest.plugin("kotlin", LoaderDispatcherTest.loader("kotlin", "[2.0,)")),
+                LoaderDispatcherTest.plugin("newer", LoaderDispatcherTest.loader("kotlin", "[3.0,)")),
+                LoaderDispatcherTest.plugin("scala", LoaderDispatcherTest.loader("scala", "1.0")),
+                LoaderDispatcherTest.plugin("second", LoaderDispatcherTest.loader("java_plain", "1.0"))
+        ));
+        Assertions.assertEquals(List.of("java_plain", "kotlin"), List.copyOf(dispatch.partitions().keySet()));
+        Assertions.assertEquals(List.of("first", "second"), LoaderDispatcherTest.ids(dispatch.plugins("java_plain")));
+        Assertions.assertEquals(List.of("kotlin"), LoaderDispatcherTest.ids(dispatch.plugins("kotlin")));
+        Assertions.assertEquals(List.of(), dispatch.plugins("scala"));
+        Assertions.assertEquals(List.of("newer", "scala"), LoaderDispatcherTest.ids(dispatch.rejected()));
+
+        final LoaderDispatch empty = LoaderDispatcherTest.dispatcher.dispatch(List.of());
+        Assertions.assertEquals(List.of(), empty.plugins("java_plain"));
+        Assertions.assertEquals(List.of(), empty.rejected());
+    }
+
+    @Test
+    public void rejectDuplicateLoaders() {
+        final LoaderDispatcher.Builder builder = LoaderDispatcher.builder().loader("java_plain", new DefaultArtifactVersion("1.0"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.loader("java_plain", new DefaultArtifactVersion("2.0")));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.resolution;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginConflict;
+import org.spongepowered.plugin.metadata.model.PluginDependency;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class VersionSolverTest {
+
+    private static PluginMetadata plugin(final String id, final String version, final String loader, final List<PluginConflict> conflicts,
+            final PluginDependency... dependencies) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .global(InheritableMetadata.builder()
+                        .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion(loader)))
+                        .build())
+                .override(InheritableMetadata.builder()
+                        .version(new DefaultArtifactVersion(version))
+                        .dependencies(List.of(dependencies))
+                        .conflicts(conflicts)
+                        .build())
+                .build();
+    }
+
+    private static PluginMetadata plugin(final String id, final String version, final PluginDependency... dependencies) {
+        return VersionSolverTest.plugin(id, version, "1.0", List.of(), dependencies);
+    }
+
+    private static PluginDependency requires(final String id, final String range) {
+        return new PluginDependency(id, VersionRange.createFromVersion(range), PluginDependency.LoadOrder.AFTER, false);
+    }
+
+    private static Map<String, String> versions(final Map<String, PluginMetadata> selection) {
+        return selection.values().stream().collect(Collectors.toMap(PluginMetadata::id, plugin -> plugin.version().toString()));
+    }
+
+    @Test
+    public void solvePrefersNewest() {
+        final VersionSolver solver = VersionSolver.builder()
+                .add(VersionSolverTest.plugin("library", "1.0"))
+                .add(VersionSolverTest.plugin("library", "2.0"))
+                .add(VersionSolverTest.plugin("app", "1.0", VersionSolverTest.requires("library", "1.0")))
+                .add(VersionSolverTest.plugin("unused", "1.0"))
+                .build();
+
+        Assertions.assertEquals(List.of("2.0", "1.0"), solver.versions("library").stream().map(p -> p.version().toString()).toList());
+        final Map<String, PluginMetadata> selection = solver.solve(List.of("app"));
+        Assertions.assertEquals(List.of("app", "library"), List.copyOf(selection.keySet()));
+        Assertions.assertEquals(Map.of("app", "1.0", "library", "2.0"), VersionSolverTest.versions(selection));
+    }
+
+    @Test
+    public void solveBacktracks() {
+        final VersionSolver solver = VersionSolver.builder()
+                .add(VersionSolverTest.plugin("app", "2.0", VersionSolverTest.requires("ghost", "1.0")))
+                .add(VersionSolverTest.plugin("app", "1.0", VersionSolverTest.requires("first", "1.0"), VersionSolverTest.requires("second", "1.0")))
+                .add(VersionSolverTest.plugin("first", "2.0", VersionSolverTest.requires("shared", "[2.0,)")))
+                .add(VersionSolverTest.plugin("first", "1.0", VersionSolverTest.requires("shared", "[1.0,2.0)")))
+                .add(VersionSolverTest.plugin("second", "1.0", VersionSolverTest.requires("shared", "[1.0,2.0)")))
+                .add(VersionSolverTest.plugin("shared", "1.0"))
+                .add(VersionSolverTest.plugin("shared", "2.0"))
+                .build();
+
+        Assertions.assertEquals(Map.of("app", "1.0", "first", "1.0", "second", "1.0", "shared", "1.0"),
+                VersionSolverTest.versions(solver.solve(List.of("app"))));
+    }
+
+    @Test
+    public void solveAvoidsFatalConflicts() {
+        final VersionSolver solver = VersionSolver.builder()
+                .add(VersionSolverTest.plugin("app", "1.0", VersionSolverTest.requires("first", "1.0"), VersionSolverTest.requires("second", "1.0")))
+                .add(VersionSolverTest.plugin("first", "1.0"))
+                .add(VersionSolverTest.plugin("second", "2.0", "1.0",
+                        List.of(new PluginConflict("first", VersionRange.createFromVersion("[1.0,)"), true, (String) null))))
+                .add(VersionSolverTest.plugin("second", "1.5", "1.0",
+                        List.of(new PluginConflict("first", VersionRange.createFromVersion("[1.0,)"), false, (String) null))))
+                .build();
+
+        Assertions.assertEquals(Map.of("app", "1.0", "first", "1.0", "second", "1.5"),
+                VersionSolverTest.versions(solver.solve(List.of("app"))));
+    }
+
+    @Test
+    public void solveIgnoresUnselectedOptional() {
+        final VersionSolver solver = VersionSolver.builder()
+                .add(VersionSolverTest.plugin("app", "1.0",
+                        new PluginDependency("extra", VersionRange.createFromVersion("[2.0,)"), PluginDependency.LoadOrder.AFTER, true)))
+                .add(VersionSolverTest.plugin("extra", "1.0"))
+                .build();
+
+        Assertions.assertEquals(Map.of("app", "1.0"), VersionSolverTest.versions(solver.solve(List.of("app"))));
+        Assertions.assertThrows(UnsatisfiableSelectionException.class, () -> solver.solve(List.of("app", "extra")));
+    }
+
+    @Test
+    public void reportUnsatisfiableCore() {
+        final VersionSolver solver = VersionSolver.builder()
+                .add(VersionSolverTest.plugin("app", "1.0", VersionSolverTest.requires("library", "[3.0,)")))
+                .add(VersionSolverTest.plugin("library", "1.0"))
+                .add(VersionSolverTest.plugin("library", "2.0"))
+                .build();
+
+        final UnsatisfiableSelectionException exception = Assertions.assertThrows(UnsatisfiableSelectionException.class,
+                () -> solver.solve(List.of("app")));
+        Assertions.assertTrue(exception.core().stream().anyMatch(incompatibility -> incompatibility.kind() == Incompatibility.Kind.DEPENDENCY
+                && incompatibility.id().equals("library")));
+    }
+
+    @Test
+    public void reportMissingWithSuggestions() {
+        final VersionSolver solver = VersionSolver.builder()
+                .add(VersionSolverTest.plugin("library", "1.0"))
+                .build();
+
+        final UnsatisfiableSelectionException exception = Assertions.assertThrows(UnsatisfiableSelectionException.class,
+                () -> solver.solve(List.of("libary")));
+        Assertions.assertTrue(exception.core().stream().anyMatch(incompatibility -> incompatibility.kind() == Incompatibility.Kind.MISSING));
+        Assertions.assertEquals(List.of("library"), exception.suggestions().get("libary"));
+        Assertions.assertTrue(exception.getMessage().contains("did you mean 'library'"));
+    }
+
+    @Test
+    public void checkLoaders() {
+        final VersionSolver solver = VersionSolver.builder()
+                .add(VersionSolverTest.plugin("app", "2.0", "[2.0,)", List.of()))
+                .add(VersionSolverTest.plugin("app", "1.0", "[1.0,2.0)", List.of()))
+                .loader("java_plain", new DefaultArtifactVersion("1.5"))
+                .build();
+        Assertions.assertEquals(Map.of("app", "1.0"), VersionSolverTest.versions(solver.solve(List.of("app"))));
+
+        final VersionSolver strict = VersionSolver.builder()
+                .add(VersionSolverTest.plugin("app", "2.0", "[2.0,)", List.of()))
+                .loader("java_plain", new DefaultArtifactVersion("1.5"))
+                .build();
+        final UnsatisfiableSelectionException exception = Assertions.assertThrows(UnsatisfiableSelectionException.class,
+                () -> strict.solve(List.of("app")));
+        Assertions.assertTrue(exception.core().stream().anyMatch(incompatibility -> incompatibility.kind() == Incompatibility.Kind.LOADER));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of plugin-meta, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.metadata.verification;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.plugin.metadata.builtin.InheritableMetadata;
+import org.spongepowered.plugin.metadata.builtin.MetadataContainer;
+import org.spongepowered.plugin.metadata.builtin.StandardPluginMetadata;
+import org.spongepowered.plugin.metadata.model.PluginEntrypoints;
+import org.spongepowered.plugin.metadata.model.PluginLoaderSpecification;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+public class EntrypointVerifierTest {
+
+    private static final byte[] CLASS_HEADER = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 65};
+
+    private static final InheritableMetadata global = InheritableMetadata.builder()
+            .version(new DefaultArtifactVersion("1.0"))
+            .loader(new PluginLoaderSpecification("java_plain", VersionRange.createFromVersion("1.0")))
+            .build();
+
+    private static StandardPluginMetadata plugin(final String id, final String main, final String... server) {
+        return StandardPluginMetadata.builder()
+                .id(id)
+                .entrypoints(new PluginEntrypoints(List.of(main), List.of(server), List.of()))
+                .global(EntrypointVerifierTest.global)
+                .build();
+    }
+
+    private static Path jar(final Path directory, final boolean multiRelease, final Map<String, byte[]> entries) throws IOException {
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (multiRelease) {
+            manifest.getMainAttributes().put(Attributes.Name.MULTI_RELEASE, "true");
+        }
+        final Path jar = directory.resolve("plugin.jar");
+        try (final OutputStream out = Files.newOutputStream(jar); final JarOutputStream jarOut = new JarOutputStream(out, manifest)) {
+            for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                jarOut.putNextEntry(new JarEntry(entry.getKey()));
+                jarOut.write(entry.getValue());
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    @Test
+    public void reportProblems(final @TempDir Path directory) throws IOException {
+        final Path jar = EntrypointVerifierTest.jar(directory, false, Map.of(
+                "org/example/Main.class", EntrypointVerifierTest.CLASS_HEADER,
+                "org/example/Server.class", EntrypointVerifierTest.CLASS_HEADER,
+                "org/example/Broken.class", "not a class".getBytes(StandardCharsets.UTF_8),
+                "org/example/Short.class", new byte[] {(byte) 0xCA, (byte) 0xFE}
+        ));
+        final MetadataContainer container = new MetadataContainer(EntrypointVerifierTest.global, List.of(
+                EntrypointVerifierTest.plugin("example", "org.example.Main", "org.example.Server", "org.example.Main"),
+                EntrypointVerifierTest.plugin("broken", "org.example.Broken", "org.example.Short", "org.example.Missing"),
+                EntrypointVerifierTest.plugin("copy", "org.example.Main")
+        ));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final EntrypointReport report = EntrypointVerifier.verify(jar, container, executor);
+            Assertions.assertFalse(report.valid());
+            Assertions.assertEquals(List.of(
+                    new EntrypointProblem("copy", "org.example.Main", EntrypointProblem.Reason.DUPLICATE),
+                    new EntrypointProblem("broken", "org.example.Broken", EntrypointProblem.Reason.MALFORMED),
+                    new EntrypointProblem("broken", "org.example.Short", EntrypointProblem.Reason.MALFORMED),
+                    new EntrypointProblem("broken", "org.example.Missing", EntrypointProblem.Reason.MISSING)
+            ), report.problems());
+            Assertions.assertEquals("example", report.owner("org.example.Main").orElseThrow());
+            Assertions.assertEquals("broken", report.owner("org.example.Missing").orElseThrow());
+            Assertions.assertTrue(report.owner("org.example.Other").isEmpty());
+
+            // The calling thread gives the same report
+            Assertions.assertEquals(report, EntrypointVerifier.verify(jar, container));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void resolveVersionedEntries(final @TempDir Path directory) throws IOException {
+        final Path jar = EntrypointVerifierTest.jar(directory, true, Map.of(
+                "META-INF/versions/17/org/example/Main.class", EntrypointVerifierTest.CLASS_HEADER
+        ));
+        final MetadataContainer container = new MetadataContainer(EntrypointVerifierTest.global, List.of(
+                EntrypointVerifierTest.plugin("example", "org.example.Main")));
+        Assertions.assertTrue(EntrypointVerifier.verify(jar, container).valid());
+    }
+
+    @Test
+    public void rejectUnreadableJar(final @TempDir Path directory) throws IOException {
+        final Path jar = Files.writeString(directory.resolve("plugin.jar"), "not a jar");
+        final MetadataContainer container = new MetadataContainer(EntrypointVerifierTest.global, List.of(
+                EntrypointVerifierTest.plugin("example", "org.example.Main")));
+        Assertions.assertThrows(IOException.class, () -> EntrypointVerifier.verify(jar, container));
+    }
+}